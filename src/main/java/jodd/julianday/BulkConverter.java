@@ -0,0 +1,339 @@
+package jodd.julianday;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Converts timestamp columns of delimited text, line by line, e.g. big log extracts.
+ * <p>
+ * Each converted column has its input and output {@link ColumnFormat}; other columns are copied as they are.
+ * Lines are read in chunks, and chunks are converted on a number of threads. Converted chunks are written
+ * in the order they were read, so the output has the same lines as the input, in the same order.
+ * <p>
+ * This class is also the command line entry point of the library jar, see {@link #main(String[])}.
+ */
+public class BulkConverter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final char delimiter;
+    private final int threads;
+    private final int chunkSize;
+    private ColumnFormat[] from = new ColumnFormat[0];
+    private ColumnFormat[] to = new ColumnFormat[0];
+
+    /**
+     * Creates converter of columns separated by given delimiter, converting chunks of given number of lines
+     * on given number of threads.
+     */
+    public BulkConverter(final char delimiter, final int threads, final int chunkSize) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.delimiter = delimiter;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Adds conversion of the column of given index, starting from 0.
+     */
+    public BulkConverter column(final int index, final ColumnFormat inputFormat, final ColumnFormat outputFormat) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Column index must not be negative: " + index);
+        }
+        if (index >= this.from.length) {
+            this.from = Arrays.copyOf(this.from, index + 1);
+            this.to = Arrays.copyOf(this.to, index + 1);
+        }
+        this.from[index] = inputFormat;
+        this.to[index] = outputFormat;
+        return this;
+    }
+
+    // <editor-fold desc="Conversion">
+
+    /**
+     * Converts all the lines of the input and writes them to the output. Returns the number of converted lines.
+     * Throws {@link IllegalArgumentException} with the line number, if a value can not be parsed.
+     */
+    public long convert(final BufferedReader in, final WritableByteChannel out) throws IOException {
+        final ExecutorService executor = this.threads == 1 ? null : Executors.newFixedThreadPool(this.threads, r -> {
+            final Thread thread = new Thread(r, "julian-day-converter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        long lines = 0;
+        try {
+            String[] chunk = new String[this.chunkSize];
+            int size = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                chunk[size++] = line;
+                if (size == this.chunkSize) {
+                    this.submit(executor, pending, chunk, size, lines + 1, out);
+                    lines += size;
+                    chunk = new String[this.chunkSize];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                this.submit(executor, pending, chunk, size, lines + 1, out);
+                lines += size;
+            }
+            while (!pending.isEmpty()) {
+                write(out, pending.poll());
+            }
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Submits the chunk for conversion. When enough chunks are in progress, the oldest one is written first,
+     * so the number of chunks held in memory stays bounded.
+     */
+    private void submit(
+            final ExecutorService executor, final Deque<Future<byte[]>> pending,
+            final String[] chunk, final int size, final long firstLine, final WritableByteChannel out) throws IOException {
+        if (executor == null) {
+            write(out, this.convertChunk(chunk, size, firstLine));
+            return;
+        }
+        pending.add(executor.submit(() -> this.convertChunk(chunk, size, firstLine)));
+        if (pending.size() > this.threads * 2) {
+            write(out, pending.poll());
+        }
+    }
+
+    private static void write(final WritableByteChannel out, final Future<byte[]> future) throws IOException {
+        try {
+            write(out, future.get());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void write(final WritableByteChannel out, final byte[] bytes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Converts lines of the chunk and encodes them, so the encoding also runs in parallel.
+     */
+    byte[] convertChunk(final String[] chunk, final int size, final long firstLine) {
+        final StringBuilder out = new StringBuilder(size * 64);
+        for (int i = 0; i < size; i++) {
+            try {
+                this.convertLine(chunk[i], out);
+            }
+            catch (final RuntimeException e) {
+                throw new IllegalArgumentException("Line " + (firstLine + i) + ": " + e.getMessage(), e);
+            }
+            out.append('\n');
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void convertLine(final String line, final StringBuilder out) {
+        int start = 0;
+        for (int column = 0; ; column++) {
+            int end = line.indexOf(this.delimiter, start);
+            if (end == -1) {
+                end = line.length();
+            }
+            if (column < this.from.length && this.from[column] != null) {
+                final JulianDay jd = this.from[column].parse(line.substring(start, end).trim());
+                this.to[column].format(jd, out);
+            } else {
+                out.append(line, start, end);
+            }
+            if (end == line.length()) {
+                return;
+            }
+            out.append(this.delimiter);
+            start = end + 1;
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Command line">
+
+    private static final String USAGE = String.join("\n",
+            "Usage: java -jar julian-day.jar [options] [file...]",
+            "Converts timestamp columns of delimited text files (or the standard input) to the standard output.",
+            "",
+            "Options:",
+            "  -c, --column <n>:<from>:<to>  converts column n (starting from 1) from one format to another",
+            "  -d, --delimiter <char>        column delimiter, default is tab; use \\t for tab",
+            "  -t, --threads <n>             number of threads, default is the number of processors",
+            "  -s, --chunk <n>               number of lines converted at once, default is 8192",
+            "  -o, --output <file>           writes to the file instead of the standard output",
+            "  -h, --help                    prints this help",
+            "",
+            "Formats: unix (milliseconds), iso (Gregorian date time), jd, mjd, julian (Julian calendar date time)",
+            "");
+
+    /**
+     * Command line entry point.
+     */
+    public static void main(final String[] args) {
+        final int status = run(args, System.in, new FileOutputStream(FileDescriptor.out), System.err);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs the command line conversion and returns the exit status: 0 on success, 1 when the conversion fails,
+     * and 2 on invalid arguments. Rows per second are reported on the error stream.
+     */
+    static int run(final String[] args, final InputStream stdin, final OutputStream stdout, final PrintStream stderr) {
+        char delimiter = '\t';
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = 8192;
+        String output = null;
+        final List<String> columns = new ArrayList<>();
+        final List<String> files = new ArrayList<>();
+        final BulkConverter converter;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                switch (arg) {
+                    case "-h":
+                    case "--help":
+                        stderr.print(USAGE);
+                        return 0;
+                    case "-c":
+                    case "--column":
+                        columns.add(value(args, ++i, arg));
+                        break;
+                    case "-d":
+                    case "--delimiter":
+                        final String d = value(args, ++i, arg);
+                        if (!d.equals("\\t") && d.length() != 1) {
+                            throw new IllegalArgumentException("Delimiter must be a single character: " + d);
+                        }
+                        delimiter = d.equals("\\t") ? '\t' : d.charAt(0);
+                        break;
+                    case "-t":
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i, arg));
+                        break;
+                    case "-s":
+                    case "--chunk":
+                        chunkSize = Integer.parseInt(value(args, ++i, arg));
+                        break;
+                    case "-o":
+                    case "--output":
+                        output = value(args, ++i, arg);
+                        break;
+                    default:
+                        if (arg.startsWith("-") && arg.length() > 1) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        files.add(arg);
+                }
+            }
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("No column to convert");
+            }
+            converter = new BulkConverter(delimiter, threads, chunkSize);
+            for (final String column : columns) {
+                final String[] parts = column.split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Column must be given as <n>:<from>:<to>: " + column);
+                }
+                converter.column(Integer.parseInt(parts[0]) - 1, ColumnFormat.of(parts[1]), ColumnFormat.of(parts[2]));
+            }
+        }
+        catch (final IllegalArgumentException e) {
+            stderr.println(e.getMessage());
+            stderr.print(USAGE);
+            return 2;
+        }
+
+        try {
+            final long start = System.nanoTime();
+            long lines = 0;
+            try (WritableByteChannel out = output == null
+                    ? Channels.newChannel(stdout)
+                    : FileChannel.open(Paths.get(output), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                if (files.isEmpty()) {
+                    lines += converter.convert(reader(stdin), out);
+                }
+                for (final String file : files) {
+                    try (BufferedReader in = reader(new FileInputStream(file))) {
+                        lines += converter.convert(in, out);
+                    }
+                }
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            stderr.printf(Locale.ROOT, "Converted %d rows in %.3f s (%.0f rows/s)%n", lines, seconds, lines / Math.max(seconds, 1e-9));
+            return 0;
+        }
+        catch (final IllegalArgumentException | IOException e) {
+            stderr.println(e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String value(final String[] args, final int index, final String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + option);
+        }
+        return args[index];
+    }
+
+    private static BufferedReader reader(final InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // </editor-fold>
+}
@@ -0,0 +1,313 @@
+package jodd.julianday;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.floorDiv;
+import static jodd.julianday.JulianDayFunctions.gregorianMonthLength;
+import static jodd.julianday.JulianDayFunctions.jdnToGregorianDate;
+import static jodd.julianday.JulianDayFunctions.jdnToJulianDate;
+import static jodd.julianday.JulianDayFunctions.julianMillis;
+import static jodd.julianday.JulianDayFunctions.julianMonthLength;
+
+/**
+ * Cursor that steps through dates by a fixed amount of time.
+ * <p>
+ * The calendar fields (both Gregorian and Julian) are calculated only once, when the cursor is created.
+ * Each step then increments the fields and carries the overflow to the next field, so no floating
+ * point calculation and no allocation happens while iterating. Objects like {@link LocalDateTime},
+ * {@link JulianDateTime} or {@link JulianDay} are created only when asked for.
+ * <p>
+ * Cursor is mutable and not thread-safe.
+ */
+public class CalendarCursor {
+
+    private static final int MILLIS_IN_HOUR = 3_600_000;
+    private static final int MILLIS_IN_HALF_DAY = 43_200_000;
+    private static final double MILLIS_IN_DAY = 86_400_000.0;
+
+    /**
+     * Steps longer than this are not carried day by day, the date is calculated again instead.
+     */
+    private static final int MAX_CARRY_DAYS = 366;
+
+    private final int stepDays;
+    private final int stepHours;
+    private final int stepMinutes;
+    private final int stepSeconds;
+    private final int stepMillis;
+
+    private int jdn;
+    private int year;
+    private int month;
+    private int dayOfMonth;
+    private int julianYear;
+    private int julianMonth;
+    private int julianDayOfMonth;
+    private int hour;
+    private int minute;
+    private int second;
+    private int millisecond;
+
+    /**
+     * Creates a cursor positioned at the given Julian Day, that advances by given step.
+     * The step must be positive and expressible in whole milliseconds.
+     */
+    public CalendarCursor(final JulianDay start, final long step, final TimeUnit unit) {
+        final long millis = unit.toMillis(step);
+        if (millis <= 0 || unit.convert(millis, TimeUnit.MILLISECONDS) != step) {
+            throw new IllegalArgumentException("Step must be a positive number of milliseconds: " + step + " " + unit);
+        }
+        final long days = millis / 86_400_000L;
+        if (days > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Step is too large: " + step + " " + unit);
+        }
+        this.stepDays = (int) days;
+        this.stepHours = (int) (millis / MILLIS_IN_HOUR % 24);
+        this.stepMinutes = (int) (millis / 60_000 % 60);
+        this.stepSeconds = (int) (millis / 1_000 % 60);
+        this.stepMillis = (int) (millis % 1_000);
+
+        // exact time of the civil day, rounded to the millisecond, with the carry to the next day
+        final long civilMillis = julianMillis(start.day(), start.time()) + MILLIS_IN_HALF_DAY;
+        this.jdn = (int) floorDiv(civilMillis, JulianDayFunctions.MILLIS_IN_DAY);
+        final int millisOfDay = (int) (civilMillis - this.jdn * JulianDayFunctions.MILLIS_IN_DAY);
+        this.hour = millisOfDay / MILLIS_IN_HOUR;
+        this.minute = millisOfDay / 60_000 % 60;
+        this.second = millisOfDay / 1_000 % 60;
+        this.millisecond = millisOfDay % 1_000;
+        this.resetDate();
+    }
+
+    /**
+     * Creates a cursor positioned at the given Julian Day, that advances by given step.
+     */
+    public static CalendarCursor of(final JulianDay start, final long step, final TimeUnit unit) {
+        return new CalendarCursor(start, step, unit);
+    }
+
+    // <editor-fold desc="Stepping">
+
+    /**
+     * Moves the cursor for one step forward.
+     */
+    public CalendarCursor advance() {
+        int carry = 0;
+
+        this.millisecond += this.stepMillis;
+        if (this.millisecond >= 1000) {
+            this.millisecond -= 1000;
+            carry = 1;
+        }
+        this.second += this.stepSeconds + carry;
+        carry = 0;
+        if (this.second >= 60) {
+            this.second -= 60;
+            carry = 1;
+        }
+        this.minute += this.stepMinutes + carry;
+        carry = 0;
+        if (this.minute >= 60) {
+            this.minute -= 60;
+            carry = 1;
+        }
+        this.hour += this.stepHours + carry;
+        carry = 0;
+        if (this.hour >= 24) {
+            this.hour -= 24;
+            carry = 1;
+        }
+
+        final int days = this.stepDays + carry;
+        if (days != 0) {
+            this.advanceDays(days);
+        }
+        return this;
+    }
+
+    /**
+     * Moves the cursor for given number of steps forward.
+     */
+    public CalendarCursor advance(final long steps) {
+        for (long i = 0; i < steps; i++) {
+            this.advance();
+        }
+        return this;
+    }
+
+    private void advanceDays(final int days) {
+        this.jdn += days;
+
+        if (days > MAX_CARRY_DAYS) {
+            this.resetDate();
+            return;
+        }
+
+        this.dayOfMonth += days;
+        int length;
+        while (this.dayOfMonth > (length = gregorianMonthLength(this.year, this.month))) {
+            this.dayOfMonth -= length;
+            if (++this.month > 12) {
+                this.month = 1;
+                this.year++;
+            }
+        }
+
+        this.julianDayOfMonth += days;
+        while (this.julianDayOfMonth > (length = julianMonthLength(this.julianYear, this.julianMonth))) {
+            this.julianDayOfMonth -= length;
+            if (++this.julianMonth > 12) {
+                this.julianMonth = 1;
+                this.julianYear++;
+            }
+        }
+    }
+
+    /**
+     * Calculates both calendar dates of the current Julian Day Number from scratch.
+     */
+    private void resetDate() {
+        final long g = jdnToGregorianDate(this.jdn);
+        this.year = PackedDateTime.year(g);
+        this.month = PackedDateTime.month(g);
+        this.dayOfMonth = PackedDateTime.dayOfMonth(g);
+
+        final long j = jdnToJulianDate(this.jdn);
+        this.julianYear = PackedDateTime.year(j);
+        this.julianMonth = PackedDateTime.month(j);
+        this.julianDayOfMonth = PackedDateTime.dayOfMonth(j);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Fields">
+
+    /**
+     * Returns the Gregorian year.
+     */
+    public int getYear() {
+        return this.year;
+    }
+
+    /**
+     * Returns the Gregorian month, from 1 to 12.
+     */
+    public int getMonthValue() {
+        return this.month;
+    }
+
+    /**
+     * Returns the Gregorian day of month.
+     */
+    public int getDayOfMonth() {
+        return this.dayOfMonth;
+    }
+
+    /**
+     * Returns the Julian calendar year.
+     */
+    public int getJulianYear() {
+        return this.julianYear;
+    }
+
+    /**
+     * Returns the Julian calendar month, from 1 to 12.
+     */
+    public int getJulianMonthValue() {
+        return this.julianMonth;
+    }
+
+    /**
+     * Returns the Julian calendar day of month.
+     */
+    public int getJulianDayOfMonth() {
+        return this.julianDayOfMonth;
+    }
+
+    public int getHour() {
+        return this.hour;
+    }
+
+    public int getMinute() {
+        return this.minute;
+    }
+
+    public int getSecond() {
+        return this.second;
+    }
+
+    public int getMillisecond() {
+        return this.millisecond;
+    }
+
+    /**
+     * Returns Julian Day Number (JDN) of the current civil day.
+     */
+    public int julianDayNumber() {
+        return this.jdn;
+    }
+
+    /**
+     * Returns integer part of the current Julian Day.
+     */
+    public int day() {
+        return this.millisOfDay() >= MILLIS_IN_HALF_DAY ? this.jdn : this.jdn - 1;
+    }
+
+    /**
+     * Returns the fraction part of the current Julian Day, in [0.0, 1.0) range.
+     */
+    public double time() {
+        final int millis = this.millisOfDay();
+        if (millis >= MILLIS_IN_HALF_DAY) {
+            return (millis - MILLIS_IN_HALF_DAY) / MILLIS_IN_DAY;
+        }
+        return (millis + MILLIS_IN_HALF_DAY) / MILLIS_IN_DAY;
+    }
+
+    /**
+     * Returns milliseconds elapsed since the civil midnight.
+     */
+    private int millisOfDay() {
+        return this.hour * MILLIS_IN_HOUR + this.minute * 60_000 + this.second * 1_000 + this.millisecond;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="TO converters">
+
+    /**
+     * Returns the current Julian Day.
+     */
+    public JulianDay toJulianDay() {
+        return new JulianDay(this.day(), this.time());
+    }
+
+    /**
+     * Returns the current position as a precise day value.
+     */
+    public DayValue toDayValue() {
+        return new DayValue(this.day(), this.time());
+    }
+
+    /**
+     * Returns the current Gregorian calendar date.
+     */
+    public LocalDateTime toGregorianDate() {
+        return LocalDateTime.of(this.year, this.month, this.dayOfMonth, this.hour, this.minute, this.second, this.millisecond * 1_000_000);
+    }
+
+    /**
+     * Returns the current Julian calendar date.
+     */
+    public JulianDateTime toJulianDate() {
+        return new JulianDateTime(this.julianYear, this.julianMonth, this.julianDayOfMonth, this.hour, this.minute, this.second, this.millisecond);
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarCursor{" + this.toGregorianDate() + '}';
+    }
+
+    // </editor-fold>
+}
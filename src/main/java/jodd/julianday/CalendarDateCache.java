@@ -0,0 +1,261 @@
+package jodd.julianday;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static jodd.julianday.JulianDayFunctions.jdnToGregorianDate;
+import static jodd.julianday.JulianDayFunctions.jdnToJulianDate;
+
+/**
+ * Bounded cache of calendar dates by Julian Day Number, for timestamps that cluster around a small set of days.
+ * Dates are stored packed as {@link PackedDateTime} at midnight, in both the Gregorian and the Julian calendar;
+ * the time of day is still calculated from the fraction of each Julian Day.
+ * <p>
+ * The cache is set-associative: each day maps to a set of a few entries, so a lookup checks only these.
+ * Within a set, the victim is chosen by a CLOCK with small frequency counters: each hit increments the counter
+ * of the entry, and the clock hand decrements counters until it finds an entry that was not used since.
+ * As in TinyLFU, a new day replaces the victim only if it was used more often recently. Usage is estimated
+ * by a small count-min sketch of all the lookups, that is halved periodically, so the cache adapts when
+ * the set of frequent days shifts. Frequently used days survive scans over days that are used only once.
+ * <p>
+ * The cache is thread-safe and lock-free. Entries are immutable, and reads never wait. Concurrent misses may
+ * overwrite each other's entries, and counters and the sketch may lose updates; these are benign data races,
+ * that only cost a recalculation.
+ * <p>
+ * When the cache is {@link #install(CalendarDateCache) installed}, conversions of {@link JulianDay}
+ * to calendar fields go through it.
+ */
+public class CalendarDateCache {
+
+    private static final int WAYS = 8;
+    private static final byte MAX_FREQUENCY = 3;
+    private static final byte MAX_SKETCH_COUNT = 15;
+
+    /**
+     * Globally installed cache, or {@code null}.
+     */
+    private static volatile CalendarDateCache installed;
+
+    private static final class Entry {
+        final long jdn;
+        final long gregorian;
+        final long julian;
+
+        Entry(final long jdn) {
+            this.jdn = jdn;
+            this.gregorian = jdnToGregorianDate(jdn);
+            this.julian = jdnToJulianDate(jdn);
+        }
+    }
+
+    private final int setMask;
+    private final Entry[] entries;
+    private final byte[] frequencies;
+    private final byte[] hands;
+
+    private final byte[] sketch;
+    private final int sketchShift;
+    private final int sketchResetThreshold;
+    private int sketchAdditions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates cache of at least given number of days. The capacity is rounded up to a power of two.
+     */
+    public CalendarDateCache(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int sets = 1;
+        while (sets * WAYS < capacity) {
+            sets <<= 1;
+        }
+        this.setMask = sets - 1;
+        this.entries = new Entry[sets * WAYS];
+        this.frequencies = new byte[sets * WAYS];
+        this.hands = new byte[sets];
+
+        final int sketchSize = sets * WAYS * 16;
+        this.sketch = new byte[sketchSize];
+        this.sketchShift = 64 - Integer.numberOfTrailingZeros(sketchSize);
+        this.sketchResetThreshold = sets * WAYS * 10;
+    }
+
+    // <editor-fold desc="Global">
+
+    /**
+     * Installs the cache for all the conversions of Julian Days to calendar fields.
+     */
+    public static void install(final CalendarDateCache cache) {
+        installed = cache;
+    }
+
+    /**
+     * Removes the installed cache, so conversions calculate dates again.
+     */
+    public static void uninstall() {
+        installed = null;
+    }
+
+    /**
+     * Returns the installed cache or {@code null}.
+     */
+    public static CalendarDateCache installed() {
+        return installed;
+    }
+
+    // </editor-fold>
+
+    /**
+     * Returns the Gregorian date of the Julian Day Number, packed as {@link PackedDateTime}.
+     */
+    public long gregorianDate(final long jdn) {
+        return this.entry(jdn).gregorian;
+    }
+
+    /**
+     * Returns the Julian calendar date of the Julian Day Number, packed as {@link PackedDateTime}.
+     */
+    public long julianDate(final long jdn) {
+        return this.entry(jdn).julian;
+    }
+
+    private Entry entry(final long jdn) {
+        this.record(jdn);
+        // consecutive days map to different sets
+        final int base = ((int) jdn & this.setMask) * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            final Entry entry = this.entries[i];
+            if (entry != null && entry.jdn == jdn) {
+                if (this.frequencies[i] < MAX_FREQUENCY) {
+                    this.frequencies[i]++;
+                }
+                this.hits.increment();
+                return entry;
+            }
+        }
+        this.misses.increment();
+        final Entry entry = new Entry(jdn);
+        this.admit(base, entry);
+        return entry;
+    }
+
+    /**
+     * Puts the entry into the set, moving the clock hand of the set to the first free or unused entry.
+     */
+    private void admit(final int base, final Entry entry) {
+        final int set = base / WAYS;
+        int hand = this.hands[set];
+        while (true) {
+            final int i = base + hand;
+            hand = (hand + 1) & (WAYS - 1);
+            final Entry victim = this.entries[i];
+            if (victim == null || this.frequencies[i] <= 0) {
+                this.hands[set] = (byte) hand;
+                if (victim != null) {
+                    if (this.estimate(entry.jdn) <= this.estimate(victim.jdn)) {
+                        return;
+                    }
+                    this.evictions.increment();
+                }
+                this.entries[i] = entry;
+                this.frequencies[i] = 1;
+                return;
+            }
+            this.frequencies[i]--;
+        }
+    }
+
+    // <editor-fold desc="Frequency sketch">
+
+    private int sketchIndex1(final long jdn) {
+        return (int) ((jdn * 0x9E3779B97F4A7C15L) >>> this.sketchShift);
+    }
+
+    private int sketchIndex2(final long jdn) {
+        return (int) ((jdn * 0xC2B2AE3D27D4EB4FL) >>> this.sketchShift);
+    }
+
+    /**
+     * Counts the lookup of the day. After enough lookups all the counts are halved, so old usage fades out.
+     */
+    private void record(final long jdn) {
+        final byte[] sketch = this.sketch;
+        final int i1 = this.sketchIndex1(jdn);
+        final int i2 = this.sketchIndex2(jdn);
+        if (sketch[i1] < MAX_SKETCH_COUNT) {
+            sketch[i1]++;
+        }
+        if (sketch[i2] < MAX_SKETCH_COUNT) {
+            sketch[i2]++;
+        }
+        if (++this.sketchAdditions >= this.sketchResetThreshold) {
+            this.sketchAdditions = 0;
+            for (int i = 0; i < sketch.length; i++) {
+                sketch[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent lookups of the day.
+     */
+    private int estimate(final long jdn) {
+        return Math.min(this.sketch[this.sketchIndex1(jdn)], this.sketch[this.sketchIndex2(jdn)]);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Metrics">
+
+    /**
+     * Returns the number of days the cache holds at most.
+     */
+    public int capacity() {
+        return this.entries.length;
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to all the lookups, or 0 when there was no lookup.
+     */
+    public double hitRate() {
+        final long hits = this.hits.sum();
+        final long total = hits + this.misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Resets the metrics, but keeps the cached days.
+     */
+    public void resetMetrics() {
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return "CalendarDateCache{" +
+                "capacity=" + this.capacity() +
+                ", hits=" + this.hits() +
+                ", misses=" + this.misses() +
+                ", evictions=" + this.evictions() +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package jodd.julianday;
+
+import java.util.Objects;
+
+/**
+ * Date and time in any {@link CalendarSystem}.
+ * <p>
+ * Date is converted between calendars through the Julian Day Number, the time of day is kept as it is.
+ * For conversions of many dates use the bulk methods of the {@link CalendarSystem} instead, on packed dates.
+ */
+public class CalendarDateTime {
+    private final CalendarSystem calendar;
+    private final int year;
+    private final int month;
+    private final int day;
+    private final int hour;
+    private final int minute;
+    private final int second;
+    private final int millisecond;
+
+    public CalendarDateTime(final CalendarSystem calendar, final int year, final int month, final int day, final int hour, final int minute, final int second, final int millisecond) {
+        this.calendar = calendar;
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.millisecond = millisecond;
+    }
+
+    /**
+     * Creates the date at midnight. Throws an exception if the date does not exist in the calendar.
+     */
+    public static CalendarDateTime of(final CalendarSystem calendar, final int year, final int month, final int day) {
+        if (!calendar.isValid(year, month, day)) {
+            throw new IllegalArgumentException("Invalid " + calendar.name() + " date: " + year + "-" + month + "-" + day);
+        }
+        return new CalendarDateTime(calendar, year, month, day, 0, 0, 0, 0);
+    }
+
+    public CalendarSystem getCalendar() {
+        return this.calendar;
+    }
+
+    public int getYear() {
+        return this.year;
+    }
+
+    public int getMonthValue() {
+        return this.month;
+    }
+
+    public int getDayOfMonth() {
+        return this.day;
+    }
+
+    public int getHour() {
+        return this.hour;
+    }
+
+    public int getMinute() {
+        return this.minute;
+    }
+
+    public int getSecond() {
+        return this.second;
+    }
+
+    public int getMillisecond() {
+        return this.millisecond;
+    }
+
+    /**
+     * Returns the Julian Day Number of the date.
+     */
+    public int julianDayNumber() {
+        return this.calendar.toJdn(this.year, this.month, this.day);
+    }
+
+    /**
+     * Returns the date packed as a single {@code long}, with time set to midnight, see {@link PackedDateTime}.
+     */
+    public long toPackedDate() {
+        return PackedDateTime.of(this.year, this.month, this.day);
+    }
+
+    /**
+     * Converts this date to another calendar, keeping the time of day.
+     */
+    public CalendarDateTime withCalendar(final CalendarSystem target) {
+        final long date = target.fromJdn(this.julianDayNumber());
+        return new CalendarDateTime(target,
+                PackedDateTime.year(date), PackedDateTime.month(date), PackedDateTime.dayOfMonth(date),
+                this.hour, this.minute, this.second, this.millisecond);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CalendarDateTime that = (CalendarDateTime) o;
+        return this.calendar == that.calendar &&
+                this.year == that.year &&
+                this.month == that.month &&
+                this.day == that.day &&
+                this.hour == that.hour &&
+                this.minute == that.minute &&
+                this.second == that.second &&
+                this.millisecond == that.millisecond;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.year, this.month, this.day, this.hour, this.minute, this.second, this.millisecond);
+    }
+
+    @Override
+    public String toString() {
+        return this.year +
+                "-" + pad0(this.month) +
+                "-" + pad0(this.day) +
+                "T" + pad0(this.hour) +
+                ":" + pad0(this.minute) +
+                ":" + pad0(this.second) +
+                "." + pad00(this.millisecond) +
+                "[" + this.calendar.name() + "]";
+    }
+
+    static String pad0(final int value) {
+        return value < 10 ? "0" + value : String.valueOf(value);
+    }
+
+    static String pad00(final int value) {
+        return value < 10 ? "00" + value : value < 100 ? "0" + value : String.valueOf(value);
+    }
+}
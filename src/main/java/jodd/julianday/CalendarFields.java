@@ -0,0 +1,169 @@
+package jodd.julianday;
+
+import java.time.DayOfWeek;
+
+import static jodd.julianday.JulianDayFunctions.J1970_MILLIS;
+import static jodd.julianday.JulianDayFunctions.MILLIS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.julianMillis;
+import static jodd.julianday.JulianDayFunctions.julianMillisToGregorian;
+import static jodd.julianday.JulianDayFunctions.julianMillisToJulian;
+
+/**
+ * Calendar fields of a Julian Day, calculated all at once, see {@link JulianDay#fields()}.
+ * Reading many fields from the snapshot costs a single conversion, while each
+ * field accessor of the {@link JulianDay} converts it again.
+ * Dates and time are stored packed as {@link PackedDateTime}.
+ * <p>
+ * All fields are final, so instances may be safely shared between threads, even without synchronization.
+ */
+public class CalendarFields {
+
+    private final long gregorian;
+    private final long julian;
+    private final long unixMillis;
+    private final int civilJdn;
+
+    CalendarFields(final JulianDay jd) {
+        final long julianMillis = julianMillis(jd.day(), jd.time());
+        this.gregorian = julianMillisToGregorian(julianMillis);
+        this.julian = julianMillisToJulian(julianMillis);
+        this.unixMillis = julianMillis - J1970_MILLIS;
+        this.civilJdn = (int) Math.floorDiv(julianMillis + MILLIS_IN_DAY / 2, MILLIS_IN_DAY);
+    }
+
+    // <editor-fold desc="Gregorian calendar">
+
+    /**
+     * Returns the year in the Gregorian calendar.
+     */
+    public int gregorianYear() {
+        return PackedDateTime.year(this.gregorian);
+    }
+
+    /**
+     * Returns the month in the Gregorian calendar, from 1 to 12.
+     */
+    public int month() {
+        return PackedDateTime.month(this.gregorian);
+    }
+
+    /**
+     * Returns the day of month in the Gregorian calendar.
+     */
+    public int dayOfMonth() {
+        return PackedDateTime.dayOfMonth(this.gregorian);
+    }
+
+    /**
+     * Returns the day of the year in the Gregorian calendar, starting from 1.
+     */
+    public int dayOfYear() {
+        return JulianDayNumber.dayOfYear(this.civilJdn);
+    }
+
+    /**
+     * Returns the Gregorian calendar date and time packed as {@link PackedDateTime}.
+     */
+    public long toGregorianFields() {
+        return this.gregorian;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Julian calendar">
+
+    /**
+     * Returns the year in the Julian calendar.
+     */
+    public int julianYear() {
+        return PackedDateTime.year(this.julian);
+    }
+
+    /**
+     * Returns the month in the Julian calendar, from 1 to 12.
+     */
+    public int julianMonth() {
+        return PackedDateTime.month(this.julian);
+    }
+
+    /**
+     * Returns the day of month in the Julian calendar.
+     */
+    public int julianDayOfMonth() {
+        return PackedDateTime.dayOfMonth(this.julian);
+    }
+
+    /**
+     * Returns the Julian calendar date and time packed as {@link PackedDateTime}.
+     */
+    public long toJulianFields() {
+        return this.julian;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Day and time">
+
+    /**
+     * Returns the day of the week. It is the same in both Gregorian and Julian calendars.
+     */
+    public DayOfWeek dayOfWeek() {
+        return DayOfWeek.of(JulianDayNumber.dayOfWeek(this.civilJdn));
+    }
+
+    /**
+     * Returns the ISO week-based year.
+     */
+    public int isoWeekBasedYear() {
+        return JulianDayNumber.isoWeekBasedYear(this.civilJdn);
+    }
+
+    /**
+     * Returns the ISO week of the week-based year, from 1 to 53.
+     */
+    public int isoWeekOfWeekBasedYear() {
+        return JulianDayNumber.isoWeekOfWeekBasedYear(this.civilJdn);
+    }
+
+    /**
+     * Returns the hour of the civil day.
+     */
+    public int hour() {
+        return PackedDateTime.hour(this.gregorian);
+    }
+
+    /**
+     * Returns the minute of the hour.
+     */
+    public int minute() {
+        return PackedDateTime.minute(this.gregorian);
+    }
+
+    /**
+     * Returns the second of the minute.
+     */
+    public int second() {
+        return PackedDateTime.second(this.gregorian);
+    }
+
+    /**
+     * Returns the millisecond of the second.
+     */
+    public int millisecond() {
+        return PackedDateTime.millisecond(this.gregorian);
+    }
+
+    /**
+     * Returns Unix time in milliseconds.
+     */
+    public long unixMilliseconds() {
+        return this.unixMillis;
+    }
+
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return PackedDateTime.toString(this.gregorian);
+    }
+}
@@ -0,0 +1,113 @@
+package jodd.julianday;
+
+/**
+ * Calendar system that converts dates to and from the Julian Day Number (JDN).
+ * <p>
+ * The JDN is the pivot between calendars: any date may be converted to any other calendar
+ * by converting it to the JDN first. Implementations use integer arithmetic and precomputed
+ * tables only. Dates are given as year, month and day, or packed in a single {@code long}
+ * by {@link PackedDateTime}, so bulk conversions do not allocate. The meaning
+ * of the "month" depends on the calendar, e.g. it is the week for {@link #ISO_WEEK}.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface CalendarSystem {
+
+    /**
+     * Proleptic Gregorian calendar, with the astronomical year numbering.
+     */
+    CalendarSystem GREGORIAN = new GregorianCalendarSystem();
+
+    /**
+     * Proleptic Julian calendar, with the astronomical year numbering.
+     */
+    CalendarSystem JULIAN = new JulianCalendarSystem();
+
+    /**
+     * Tabular Islamic (Hijri) calendar, with the civil (Friday) epoch and the most common
+     * 30-year cycle of leap years: 2, 5, 7, 10, 13, 16, 18, 21, 24, 26 and 29.
+     * It may differ by a day or two from the calendars based on the observation of the moon.
+     */
+    CalendarSystem ISLAMIC = new IslamicCalendarSystem();
+
+    /**
+     * Hebrew calendar. Months are numbered in the order of the civil year, from Tishrei (1)
+     * to Elul (12 or 13); in leap years the month 6 is Adar I and month 7 is Adar II.
+     */
+    CalendarSystem HEBREW = new HebrewCalendarSystem();
+
+    /**
+     * ISO week date: the "year" is the week-based year, the "month" is the week (from 1 to 53)
+     * and the "day" is the day of the week, from 1 (Monday) to 7 (Sunday).
+     */
+    CalendarSystem ISO_WEEK = new IsoWeekCalendarSystem();
+
+    /**
+     * Returns the name of the calendar.
+     */
+    String name();
+
+    /**
+     * Converts date to the Julian Day Number.
+     */
+    int toJdn(int year, int month, int day);
+
+    /**
+     * Converts Julian Day Number to the packed date of this calendar, with time set to midnight.
+     */
+    long fromJdn(int jdn);
+
+    /**
+     * Returns the number of months in the year.
+     */
+    int monthsInYear(int year);
+
+    /**
+     * Returns the number of days in the month.
+     */
+    int monthLength(int year, int month);
+
+    /**
+     * Converts packed date to the Julian Day Number. Time fields of the packed value are ignored.
+     */
+    default int toJdn(final long date) {
+        return this.toJdn(PackedDateTime.year(date), PackedDateTime.month(date), PackedDateTime.dayOfMonth(date));
+    }
+
+    /**
+     * Converts packed date of this calendar to the packed date of the target calendar.
+     */
+    default long convert(final long date, final CalendarSystem target) {
+        return target.fromJdn(this.toJdn(date));
+    }
+
+    /**
+     * Returns {@code true} if the date exists in this calendar.
+     */
+    default boolean isValid(final int year, final int month, final int day) {
+        return month >= 1 && month <= this.monthsInYear(year)
+                && day >= 1 && day <= this.monthLength(year, month);
+    }
+
+    // <editor-fold desc="Bulk">
+
+    /**
+     * Converts Julian Day Numbers to packed dates of this calendar.
+     */
+    default void fromJdn(final int[] jdns, final long[] out) {
+        for (int i = 0; i < jdns.length; i++) {
+            out[i] = this.fromJdn(jdns[i]);
+        }
+    }
+
+    /**
+     * Converts packed dates of this calendar to Julian Day Numbers.
+     */
+    default void toJdn(final long[] dates, final int[] out) {
+        for (int i = 0; i < dates.length; i++) {
+            out[i] = this.toJdn(dates[i]);
+        }
+    }
+
+    // </editor-fold>
+}
@@ -0,0 +1,322 @@
+package jodd.julianday;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.lang.StrictMath.cos;
+import static jodd.julianday.JulianDayFunctions.floor;
+
+/**
+ * Ephemeris tabulated as Chebyshev polynomials over consecutive segments of equal length, keyed by Julian Day,
+ * like the JPL development ephemerides. Each segment holds the same number of coefficients for each component,
+ * e.g. for the x, y and z coordinate.
+ * <p>
+ * The segment of a Julian Day is found with integer arithmetic on the day and only the fraction is added as
+ * double, so the normalized time within the segment has the same precision for any date. The last used segment
+ * is remembered, so monotonic queries mostly skip the lookup. Polynomials are evaluated with the Clenshaw
+ * recurrence, directly from the coefficients, which may be in a memory-mapped file.
+ * <p>
+ * Instances are thread-safe. The remembered segment is only a hint that is always checked before use.
+ */
+public class ChebyshevEphemeris {
+
+    /**
+     * Function that gives the value of a component at a Julian Day, used to fit the ephemeris.
+     */
+    @FunctionalInterface
+    public interface ComponentFunction {
+        double value(int component, int day, double time);
+    }
+
+    private static final int MAGIC = 0x4A444345;    // "JDCE"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+
+    private final int startDay;
+    private final double startTime;
+    private final int segmentDays;
+    private final int segmentCount;
+    private final int components;
+    private final int coefficients;
+    private final DoubleBuffer data;
+
+    /**
+     * Index of the last used segment. Reads and writes of an int are atomic, and the value is checked,
+     * so concurrent queries may only miss the hint.
+     */
+    private int lastSegment;
+
+    private ChebyshevEphemeris(
+            final int startDay, final double startTime, final int segmentDays, final int segmentCount,
+            final int components, final int coefficients, final DoubleBuffer data) {
+        if (segmentDays <= 0 || segmentCount <= 0 || components <= 0 || coefficients <= 0) {
+            throw new IllegalArgumentException("Invalid ephemeris layout");
+        }
+        if (startTime < 0 || startTime >= 1) {
+            throw new IllegalArgumentException("Start time must be in [0, 1): " + startTime);
+        }
+        if (data.remaining() != (long) segmentCount * components * coefficients) {
+            throw new IllegalArgumentException("Expected " + (long) segmentCount * components * coefficients + " coefficients, got " + data.remaining());
+        }
+        this.startDay = startDay;
+        this.startTime = startTime;
+        this.segmentDays = segmentDays;
+        this.segmentCount = segmentCount;
+        this.components = components;
+        this.coefficients = coefficients;
+        this.data = data;
+    }
+
+    /**
+     * Creates ephemeris from coefficients, ordered by segment, then by component.
+     * The first segment starts at given Julian Day.
+     */
+    public static ChebyshevEphemeris of(
+            final int startDay, final double startTime, final int segmentDays,
+            final int components, final int coefficients, final double[] data) {
+        final int perSegment = components * coefficients;
+        if (perSegment <= 0 || data.length % perSegment != 0) {
+            throw new IllegalArgumentException("Number of coefficients is not a multiple of " + perSegment);
+        }
+        return new ChebyshevEphemeris(startDay, startTime, segmentDays, data.length / perSegment, components, coefficients, DoubleBuffer.wrap(data));
+    }
+
+    /**
+     * Fits the function with Chebyshev polynomials of given number of coefficients, interpolating it
+     * at the Chebyshev nodes of each segment.
+     */
+    public static ChebyshevEphemeris fit(
+            final int startDay, final double startTime, final int segmentDays, final int segmentCount,
+            final int components, final int coefficients, final ComponentFunction function) {
+        final double[] data = new double[segmentCount * components * coefficients];
+        final double[] values = new double[coefficients];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            for (int component = 0; component < components; component++) {
+                for (int j = 0; j < coefficients; j++) {
+                    final double x = cos(Math.PI * (j + 0.5) / coefficients);
+                    final double local = (x + 1) / 2 * segmentDays;
+                    final double whole = floor(local);
+                    double time = startTime + (local - whole);
+                    int day = startDay + segment * segmentDays + (int) whole;
+                    if (time >= 1) {
+                        day++;
+                        time -= 1;
+                    }
+                    values[j] = function.value(component, day, time);
+                }
+                final int offset = (segment * components + component) * coefficients;
+                for (int k = 0; k < coefficients; k++) {
+                    double sum = 0;
+                    for (int j = 0; j < coefficients; j++) {
+                        sum += values[j] * cos(Math.PI * k * (j + 0.5) / coefficients);
+                    }
+                    data[offset + k] = (k == 0 ? 1.0 : 2.0) * sum / coefficients;
+                }
+            }
+        }
+        return new ChebyshevEphemeris(startDay, startTime, segmentDays, segmentCount, components, coefficients, DoubleBuffer.wrap(data));
+    }
+
+    // <editor-fold desc="Files">
+
+    /**
+     * Maps the ephemeris file into memory. Coefficients are read from the file as they are used.
+     */
+    public static ChebyshevEphemeris load(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an ephemeris file: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported ephemeris file version: " + buffer.getInt(4));
+            }
+            final int startDay = buffer.getInt(8);
+            final int segmentDays = buffer.getInt(12);
+            final double startTime = buffer.getDouble(16);
+            final int segmentCount = buffer.getInt(24);
+            final int components = buffer.getInt(28);
+            final int coefficients = buffer.getInt(32);
+            buffer.position(HEADER_SIZE);
+            try {
+                return new ChebyshevEphemeris(startDay, startTime, segmentDays, segmentCount, components, coefficients, buffer.slice().asDoubleBuffer());
+            }
+            catch (final IllegalArgumentException e) {
+                throw new IOException("Invalid ephemeris file " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes the ephemeris to a file, in the format read by {@link #load(Path)}:
+     * a header of 40 bytes followed by big-endian coefficients.
+     */
+    public void save(final Path path) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION)
+                .putInt(this.startDay).putInt(this.segmentDays).putDouble(this.startTime)
+                .putInt(this.segmentCount).putInt(this.components).putInt(this.coefficients);
+        header.clear();
+
+        final DoubleBuffer source = this.data.duplicate();
+        final ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, header);
+            while (source.hasRemaining()) {
+                chunk.clear();
+                while (source.hasRemaining() && chunk.remaining() >= Double.BYTES) {
+                    chunk.putDouble(source.get());
+                }
+                chunk.flip();
+                write(channel, chunk);
+            }
+        }
+    }
+
+    private static void write(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Evaluation">
+
+    /**
+     * Returns the value of the component at given Julian Day.
+     * Throws {@link IllegalArgumentException} if the day is not covered by the ephemeris.
+     */
+    public double value(final int component, final int day, final double time) {
+        final int segment = this.segmentOf(day, time);
+        return this.clenshaw(this.offsetOf(segment, component), this.normalized(segment, day, time));
+    }
+
+    public double value(final int component, final JulianDay jd) {
+        return this.value(component, jd.day(), jd.time());
+    }
+
+    public double value(final int component, final DayValue jd) {
+        return this.value(component, jd.day(), jd.time());
+    }
+
+    /**
+     * Writes values of all the components at given Julian Day to the output array.
+     */
+    public void values(final int day, final double time, final double[] out) {
+        final int segment = this.segmentOf(day, time);
+        final double x = this.normalized(segment, day, time);
+        for (int component = 0; component < this.components; component++) {
+            out[component] = this.clenshaw(this.offsetOf(segment, component), x);
+        }
+    }
+
+    /**
+     * Writes values of the component at given Julian Days to the output array.
+     * Sorted days are the fastest, as the segment changes only at segment boundaries.
+     */
+    public void values(final int component, final int[] days, final double[] times, final double[] out) {
+        for (int i = 0; i < days.length; i++) {
+            final int segment = this.segmentOf(days[i], times[i]);
+            out[i] = this.clenshaw(this.offsetOf(segment, component), this.normalized(segment, days[i], times[i]));
+        }
+    }
+
+    /**
+     * Returns the segment that covers the Julian Day, trying the last used segment first.
+     */
+    int segmentOf(final int day, final double time) {
+        final int last = this.lastSegment;
+        final double fromLast = (day - (this.startDay + last * this.segmentDays)) + (time - this.startTime);
+        if (fromLast >= 0 && fromLast < this.segmentDays) {
+            return last;
+        }
+        final double fromStart = (day - this.startDay) + (time - this.startTime);
+        final int segment = (int) floor(fromStart / this.segmentDays);
+        if (fromStart < 0 || segment >= this.segmentCount) {
+            if (fromStart == (double) this.segmentCount * this.segmentDays) {
+                // the end of the last segment is still covered
+                return this.segmentCount - 1;
+            }
+            throw new IllegalArgumentException("Julian Day is not covered by the ephemeris: " + day + " + " + time);
+        }
+        this.lastSegment = segment;
+        return segment;
+    }
+
+    /**
+     * Returns time within the segment, normalized to [-1, 1]. Days are subtracted as integers,
+     * only the fractions are added as doubles.
+     */
+    private double normalized(final int segment, final int day, final double time) {
+        final double inSegment = (day - (this.startDay + segment * this.segmentDays)) + (time - this.startTime);
+        return 2 * inSegment / this.segmentDays - 1;
+    }
+
+    private int offsetOf(final int segment, final int component) {
+        return (segment * this.components + component) * this.coefficients;
+    }
+
+    /**
+     * Evaluates the Chebyshev series with the Clenshaw recurrence.
+     */
+    private double clenshaw(final int offset, final double x) {
+        final DoubleBuffer c = this.data;
+        final double x2 = 2 * x;
+        double b1 = 0;
+        double b2 = 0;
+        for (int k = this.coefficients - 1; k >= 1; k--) {
+            final double b = x2 * b1 - b2 + c.get(offset + k);
+            b2 = b1;
+            b1 = b;
+        }
+        return c.get(offset) + x * b1 - b2;
+    }
+
+    // </editor-fold>
+
+    public int segmentDays() {
+        return this.segmentDays;
+    }
+
+    public int segmentCount() {
+        return this.segmentCount;
+    }
+
+    public int components() {
+        return this.components;
+    }
+
+    public int coefficients() {
+        return this.coefficients;
+    }
+
+    /**
+     * Returns the start of the first segment.
+     */
+    public JulianDay start() {
+        return JulianDay.of(this.startDay, this.startTime);
+    }
+
+    /**
+     * Returns the end of the last segment.
+     */
+    public JulianDay end() {
+        return JulianDay.of(this.startDay + this.segmentCount * this.segmentDays, this.startTime);
+    }
+
+    @Override
+    public String toString() {
+        return "ChebyshevEphemeris{" +
+                "start=" + this.start() +
+                ", segmentDays=" + this.segmentDays +
+                ", segmentCount=" + this.segmentCount +
+                ", components=" + this.components +
+                ", coefficients=" + this.coefficients +
+                '}';
+    }
+}
@@ -0,0 +1,408 @@
+package jodd.julianday;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+
+import static jodd.julianday.JulianDayFunctions.NANOS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.hmsj;
+
+/**
+ * Text formats of a timestamp column, used by the {@link BulkConverter}.
+ * <p>
+ * Each format parses the text to a {@link JulianDay} and formats it back. Dates are written with millisecond
+ * precision, Julian Day values with 9 decimal places, which is about 0.1 millisecond.
+ * <p>
+ * Each format has also a fixed-width binary form, see {@link #recordSize()}. Numbers are written
+ * in the byte order of the buffer.
+ */
+public enum ColumnFormat {
+
+    /**
+     * Unix time in milliseconds. Binary form is a {@code long}.
+     */
+    UNIX("unix", 8) {
+        @Override
+        public JulianDay parse(final String text) {
+            return JulianDay.ofUnixMilliseconds(Long.parseLong(text));
+        }
+
+        @Override
+        public void format(final JulianDay jd, final StringBuilder out) {
+            out.append(jd.toUnixMilliseconds());
+        }
+
+        @Override
+        public JulianDay read(final ByteBuffer in) {
+            return JulianDay.ofUnixMilliseconds(in.getLong());
+        }
+
+        @Override
+        public void write(final JulianDay jd, final ByteBuffer out) {
+            out.putLong(jd.toUnixMilliseconds());
+        }
+    },
+
+    /**
+     * ISO-8601 date and time in the Gregorian calendar, e.g. {@code 2017-01-07T03:24:00.000}.
+     * Parsed values may be dates only, or have an offset, e.g. {@code Z}; values without an offset are in UTC.
+     * Binary form is a {@code long} of {@link PackedDateTime packed} Gregorian fields.
+     */
+    ISO("iso", 8) {
+        @Override
+        public JulianDay parse(final String text) {
+            if (hasOffset(text)) {
+                return JulianDay.ofInstant(OffsetDateTime.parse(text).toInstant());
+            }
+            return parseDateTime(text, CalendarSystem.GREGORIAN);
+        }
+
+        @Override
+        public void format(final JulianDay jd, final StringBuilder out) {
+            appendPacked(out, jd.toGregorianFields(), 'T');
+        }
+
+        @Override
+        public JulianDay read(final ByteBuffer in) {
+            return ofPacked(in.getLong(), CalendarSystem.GREGORIAN);
+        }
+
+        @Override
+        public void write(final JulianDay jd, final ByteBuffer out) {
+            out.putLong(jd.toGregorianFields());
+        }
+    },
+
+    /**
+     * Julian Day, e.g. {@code 2457760.641666667}. Binary form is an {@code int} day and a {@code double} fraction.
+     */
+    JD("jd", 12) {
+        @Override
+        public JulianDay parse(final String text) {
+            return JulianDay.of(parseDayValue(text));
+        }
+
+        @Override
+        public void format(final JulianDay jd, final StringBuilder out) {
+            appendDayValue(out, jd.day(), jd.time());
+        }
+
+        @Override
+        public JulianDay read(final ByteBuffer in) {
+            return new JulianDay(in.getInt(), readFraction(in));
+        }
+
+        @Override
+        public void write(final JulianDay jd, final ByteBuffer out) {
+            out.putInt(jd.day()).putDouble(jd.time());
+        }
+    },
+
+    /**
+     * Modified Julian Day, e.g. {@code 57760.141666667}. Binary form is an {@code int} day and a {@code double} fraction.
+     */
+    MJD("mjd", 12) {
+        @Override
+        public JulianDay parse(final String text) {
+            return JulianDay.ofModifiedJulianDay(parseDayValue(text));
+        }
+
+        @Override
+        public void format(final JulianDay jd, final StringBuilder out) {
+            final DayValue value = jd.valueAsModifiedJulianDay();
+            appendDayValue(out, value.day(), value.time());
+        }
+
+        @Override
+        public JulianDay read(final ByteBuffer in) {
+            return JulianDay.ofModifiedJulianDay(new DayValue(in.getInt(), readFraction(in)));
+        }
+
+        @Override
+        public void write(final JulianDay jd, final ByteBuffer out) {
+            final DayValue value = jd.valueAsModifiedJulianDay();
+            out.putInt(value.day()).putDouble(value.time());
+        }
+    },
+
+    /**
+     * Date and time in the Julian calendar, as written by {@link JulianDateTime#toString()},
+     * e.g. {@code 2016-12-25J03:24:00.000}. Binary form is a {@code long} of {@link PackedDateTime packed} Julian fields.
+     */
+    JULIAN("julian", 8) {
+        @Override
+        public JulianDay parse(final String text) {
+            return parseDateTime(text, CalendarSystem.JULIAN);
+        }
+
+        @Override
+        public void format(final JulianDay jd, final StringBuilder out) {
+            appendPacked(out, jd.toJulianFields(), 'J');
+        }
+
+        @Override
+        public JulianDay read(final ByteBuffer in) {
+            return ofPacked(in.getLong(), CalendarSystem.JULIAN);
+        }
+
+        @Override
+        public void write(final JulianDay jd, final ByteBuffer out) {
+            out.putLong(jd.toJulianFields());
+        }
+    };
+
+    private final String id;
+    private final int recordSize;
+
+    ColumnFormat(final String id, final int recordSize) {
+        this.id = id;
+        this.recordSize = recordSize;
+    }
+
+    /**
+     * Returns the short name of the format, as used on the command line.
+     */
+    public String id() {
+        return this.id;
+    }
+
+    /**
+     * Returns the number of bytes of the binary form.
+     */
+    public int recordSize() {
+        return this.recordSize;
+    }
+
+    /**
+     * Returns the format of given short name.
+     */
+    public static ColumnFormat of(final String id) {
+        for (final ColumnFormat format : values()) {
+            if (format.id.equalsIgnoreCase(id)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown format: " + id);
+    }
+
+    /**
+     * Parses the text to Julian Day. Throws {@link IllegalArgumentException} (or a subclass)
+     * if the text is not valid.
+     */
+    public abstract JulianDay parse(String text);
+
+    /**
+     * Appends formatted Julian Day to the output.
+     */
+    public abstract void format(JulianDay jd, StringBuilder out);
+
+    /**
+     * Reads Julian Day from the binary form, advancing the buffer position by {@link #recordSize()}.
+     */
+    public abstract JulianDay read(ByteBuffer in);
+
+    /**
+     * Writes Julian Day in the binary form, advancing the buffer position by {@link #recordSize()}.
+     */
+    public abstract void write(JulianDay jd, ByteBuffer out);
+
+    // <editor-fold desc="Day values">
+
+    private static final double FRACTION_DIGITS = 1e9;
+
+    /**
+     * Parses decimal number as integer and fraction parts, without losing the precision of the fraction.
+     */
+    static DayValue parseDayValue(final String text) {
+        final int dot = text.indexOf('.');
+        if (text.startsWith("-") || text.indexOf('e') != -1 || text.indexOf('E') != -1) {
+            final BigDecimal value = new BigDecimal(text);
+            final BigDecimal day = value.setScale(0, RoundingMode.FLOOR);
+            return new DayValue(day.intValueExact(), value.subtract(day).doubleValue());
+        }
+        if (dot == -1) {
+            return new DayValue(Integer.parseInt(text), 0);
+        }
+        final int day = dot == 0 ? 0 : Integer.parseInt(text.substring(0, dot));
+        return new DayValue(day, Double.parseDouble(text.substring(dot)));
+    }
+
+    /**
+     * Reads the fraction of a binary day value, that must be in [0, 1) range, as written by {@link #write(JulianDay, ByteBuffer)}.
+     */
+    private static double readFraction(final ByteBuffer in) {
+        final double time = in.getDouble();
+        if (!(time >= 0 && time < 1)) {
+            throw new IllegalArgumentException("Fraction must be in [0, 1): " + time);
+        }
+        return time;
+    }
+
+    /**
+     * Appends day value with fixed number of decimal places.
+     */
+    static void appendDayValue(final StringBuilder out, final int day, final double time) {
+        long fraction = Math.round(time * FRACTION_DIGITS);
+        long integer = day;
+        if (fraction == (long) FRACTION_DIGITS) {
+            integer++;
+            fraction = 0;
+        }
+        if (integer < 0 && fraction > 0) {
+            // the fraction is positive, while the decimal value is negative
+            out.append('-').append(-(integer + 1));
+            fraction = (long) FRACTION_DIGITS - fraction;
+        } else {
+            out.append(integer);
+        }
+        out.append('.');
+        for (long digits = (long) FRACTION_DIGITS / 10; digits > fraction && digits > 1; digits /= 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Dates">
+
+    private static boolean hasOffset(final String text) {
+        final int time = Math.max(text.indexOf('T'), text.indexOf(' '));
+        if (time == -1) {
+            return false;
+        }
+        final char last = text.charAt(text.length() - 1);
+        return last == 'Z' || text.indexOf('+', time) != -1 || text.indexOf('-', time) != -1;
+    }
+
+    /**
+     * Parses {@code [-]yyyy-MM-dd[(T|J| )HH:mm[:ss[.fraction]]]} without creating intermediate objects.
+     * Fraction of the second may have up to nine digits.
+     */
+    static JulianDay parseDateTime(final String text, final CalendarSystem calendar) {
+        final int length = text.length();
+        if (length == 0) {
+            throw invalid(text);
+        }
+        int i = text.charAt(0) == '-' ? 1 : 0;
+        final int yearEnd = text.indexOf('-', i);
+        if (yearEnd == -1) {
+            throw invalid(text);
+        }
+        final int year = Integer.parseInt(text.substring(0, yearEnd));
+        i = yearEnd + 1;
+        final int month = digits(text, i, 2);
+        expect(text, i + 2, '-');
+        final int day = digits(text, i + 3, 2);
+        i += 5;
+
+        long nanoOfDay = 0;
+        if (i < length) {
+            final char separator = text.charAt(i);
+            if (separator != 'T' && separator != 'J' && separator != ' ') {
+                throw invalid(text);
+            }
+            final int hour = digits(text, i + 1, 2);
+            expect(text, i + 3, ':');
+            final int minute = digits(text, i + 4, 2);
+            i += 6;
+            int second = 0;
+            long nano = 0;
+            if (i < length) {
+                expect(text, i, ':');
+                second = digits(text, i + 1, 2);
+                i += 3;
+                if (i < length) {
+                    expect(text, i, '.');
+                    final int fractionDigits = length - i - 1;
+                    if (fractionDigits < 1 || fractionDigits > 9) {
+                        throw invalid(text);
+                    }
+                    nano = digits(text, i + 1, fractionDigits);
+                    for (int d = fractionDigits; d < 9; d++) {
+                        nano *= 10;
+                    }
+                }
+            }
+            if (hour > 23 || minute > 59 || second > 59) {
+                throw invalid(text);
+            }
+            nanoOfDay = ((hour * 60 + minute) * 60 + second) * 1_000_000_000L + nano;
+        }
+
+        if (!calendar.isValid(year, month, day)) {
+            throw invalid(text);
+        }
+        final int jdn = calendar.toJdn(year, month, day);
+        // the civil day starts at the midnight before the noon of its JDN
+        return new JulianDay(jdn - 1, 0.5 + nanoOfDay / (double) NANOS_IN_DAY);
+    }
+
+    /**
+     * Converts packed date time of given calendar.
+     */
+    static JulianDay ofPacked(final long packed, final CalendarSystem calendar) {
+        final int year = PackedDateTime.year(packed);
+        final int month = PackedDateTime.month(packed);
+        final int day = PackedDateTime.dayOfMonth(packed);
+        if (!calendar.isValid(year, month, day)) {
+            throw new IllegalArgumentException("Invalid date time: " + PackedDateTime.toString(packed));
+        }
+        final double time = hmsj(
+                PackedDateTime.hour(packed), PackedDateTime.minute(packed),
+                PackedDateTime.second(packed), PackedDateTime.millisecond(packed));
+        return new JulianDay(calendar.toJdn(year, month, day) - 1, 0.5 + time);
+    }
+
+    private static int digits(final String text, final int from, final int count) {
+        if (from + count > text.length()) {
+            throw invalid(text);
+        }
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw invalid(text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void expect(final String text, final int index, final char c) {
+        if (index >= text.length() || text.charAt(index) != c) {
+            throw invalid(text);
+        }
+    }
+
+    private static IllegalArgumentException invalid(final String text) {
+        return new IllegalArgumentException("Invalid date time: " + text);
+    }
+
+    /**
+     * Appends packed date time as {@code yyyy-MM-dd?HH:mm:ss.SSS}, with given date and time separator.
+     */
+    static void appendPacked(final StringBuilder out, final long packed, final char separator) {
+        out.append(PackedDateTime.year(packed)).append('-');
+        append2(out, PackedDateTime.month(packed)).append('-');
+        append2(out, PackedDateTime.dayOfMonth(packed)).append(separator);
+        append2(out, PackedDateTime.hour(packed)).append(':');
+        append2(out, PackedDateTime.minute(packed)).append(':');
+        append2(out, PackedDateTime.second(packed)).append('.');
+        final int millisecond = PackedDateTime.millisecond(packed);
+        if (millisecond < 100) {
+            out.append(millisecond < 10 ? "00" : "0");
+        }
+        out.append(millisecond);
+    }
+
+    private static StringBuilder append2(final StringBuilder out, final int value) {
+        if (value < 10) {
+            out.append('0');
+        }
+        return out.append(value);
+    }
+
+    // </editor-fold>
+}
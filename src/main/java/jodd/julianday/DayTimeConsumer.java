@@ -0,0 +1,14 @@
+package jodd.julianday;
+
+/**
+ * Consumer of day values given as integer and fraction parts.
+ * Used to iterate day values without creating {@link JulianDay} instances.
+ */
+@FunctionalInterface
+public interface DayTimeConsumer {
+
+    /**
+     * Accepts the integer part and the fraction part of a day value.
+     */
+    void accept(int day, double time);
+}
@@ -0,0 +1,276 @@
+package jodd.julianday;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Epoch of a day count, given as the Julian Day when the count is 0. Converts Julian Days to the day count
+ * and back, with offset arithmetic on the integer day and the fraction: integer days are added exactly
+ * and the fractions once, with a single rounding. No intermediate {@link JulianDay} is created, and
+ * primitive and bulk forms create no object at all.
+ * <p>
+ * Built-in epochs are registered by their names. More epochs may be registered with {@link #register(String, int, double)},
+ * and then found with {@link #of(String)}.
+ */
+public class Epoch {
+
+    private static final Map<String, Epoch> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Julian Day (JD) itself, the day count since noon of -4712-01-01 in the Julian calendar.
+     */
+    public static final Epoch JULIAN_DAY = register("JD", 0, 0);
+
+    /**
+     * Reduced Julian Day (RJD), JD − 2400000.
+     */
+    public static final Epoch REDUCED_JULIAN_DAY = register("RJD", 2400000, 0);
+
+    /**
+     * Modified Julian Day (MJD), JD − 2400000.5, starting at midnight of 1858-11-17.
+     */
+    public static final Epoch MODIFIED_JULIAN_DAY = register("MJD", 2400000, 0.5);
+
+    /**
+     * Truncated Julian Day (TJD), JD − 2440000.5, starting at midnight of 1968-05-24.
+     */
+    public static final Epoch TRUNCATED_JULIAN_DAY = register("TJD", 2440000, 0.5);
+
+    /**
+     * Days since J2000.0, JD − 2451545.0, the noon of 2000-01-01 in Terrestrial Time.
+     */
+    public static final Epoch J2000 = register("J2000", 2451545, 0);
+
+    /**
+     * Days since the GPS epoch, JD − 2444244.5, the midnight of 1980-01-06.
+     */
+    public static final Epoch GPS = register("GPS", 2444244, 0.5);
+
+    /**
+     * OLE Automation date, JD − 2415018.5, days since the midnight of 1899-12-30. It is also the Excel serial date
+     * in the 1900 date system from 1900-03-01 on; Excel counts the non-existing 1900-02-29 before that.
+     */
+    public static final Epoch OLE_AUTOMATION = register("OLE", 2415018, 0.5);
+
+    /**
+     * CNES Julian Day, JD − 2433282.5, days since the midnight of 1950-01-01.
+     */
+    public static final Epoch CNES = register("CNES", 2433282, 0.5);
+
+    /**
+     * Dublin Julian Day (DJD), JD − 2415020.0, days since the noon of 1899-12-31.
+     */
+    public static final Epoch DUBLIN = register("DJD", 2415020, 0);
+
+    private final String name;
+    private final int day;
+    private final double time;
+
+    private Epoch(final String name, final int day, final double time) {
+        this.name = name;
+        this.day = day;
+        this.time = time;
+    }
+
+    // <editor-fold desc="Registry">
+
+    /**
+     * Registers new epoch, given as the Julian Day when the day count is 0. The fraction must be in [0, 1) range.
+     * Names are case-insensitive and must be unique.
+     */
+    public static Epoch register(final String name, final int day, final double time) {
+        if (!(time >= 0 && time < 1)) {
+            throw new IllegalArgumentException("Epoch time must be in [0, 1): " + time);
+        }
+        final Epoch epoch = new Epoch(name, day, time);
+        if (REGISTRY.putIfAbsent(key(name), epoch) != null) {
+            throw new IllegalArgumentException("Epoch already registered: " + name);
+        }
+        return epoch;
+    }
+
+    /**
+     * Registers new epoch at given Julian Day, see {@link #register(String, int, double)}.
+     */
+    public static Epoch register(final String name, final JulianDay jd) {
+        return register(name, jd.day(), jd.time());
+    }
+
+    /**
+     * Returns registered epoch of given name.
+     */
+    public static Epoch of(final String name) {
+        final Epoch epoch = REGISTRY.get(key(name));
+        if (epoch == null) {
+            throw new IllegalArgumentException("Unknown epoch: " + name);
+        }
+        return epoch;
+    }
+
+    /**
+     * Returns all the registered epochs.
+     */
+    public static Collection<Epoch> registered() {
+        return Collections.unmodifiableList(new ArrayList<>(REGISTRY.values()));
+    }
+
+    private static String key(final String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Single values">
+
+    /**
+     * Returns the day count of this epoch at given Julian Day.
+     */
+    public DayValue valueOf(final JulianDay jd) {
+        return new DayValue(this.dayOf(jd.day(), jd.time()), this.timeOf(jd.time()));
+    }
+
+    /**
+     * Returns the Julian Day of the day count of this epoch.
+     */
+    public JulianDay toJulianDay(final DayValue value) {
+        return this.toJulianDay(value.day(), value.time());
+    }
+
+    /**
+     * Returns the Julian Day of the day count of this epoch, given as integer and fraction parts.
+     * The fraction does not have to be normalized.
+     */
+    public JulianDay toJulianDay(final int day, final double time) {
+        return new JulianDay(this.julianDayOf(day, time), this.julianTimeOf(day, time));
+    }
+
+    /**
+     * Returns the Julian Day of the day count of this epoch.
+     */
+    public JulianDay toJulianDay(final double value) {
+        return this.toJulianDay(DayValue.of(value));
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Primitives">
+
+    /**
+     * Returns the integer part of the day count of this epoch at given Julian Day.
+     * The Julian Day fraction must be normalized, as it is in {@link JulianDay}.
+     */
+    public int dayOf(final int jdDay, final double jdTime) {
+        final double time = jdTime - this.time;
+        // borrowing a day may round up to the next day
+        return time < 0 && time + 1 < 1 ? jdDay - this.day - 1 : jdDay - this.day;
+    }
+
+    /**
+     * Returns the fraction of the day count of this epoch at given Julian Day fraction, in [0, 1) range.
+     */
+    public double timeOf(final double jdTime) {
+        final double time = jdTime - this.time;
+        if (time < 0) {
+            final double borrowed = time + 1;
+            return borrowed < 1 ? borrowed : 0;
+        }
+        return time;
+    }
+
+    /**
+     * Returns the integer part of the Julian Day of the day count of this epoch, given as integer and fraction parts.
+     * The fraction does not have to be normalized.
+     */
+    public int julianDayOf(final int day, final double time) {
+        final int timeDays = (int) time;
+        final double sum = (time - timeDays) + this.time;
+        final int days = this.day + day + timeDays;
+        if (sum < 0) {
+            return sum + 1 < 1 ? days - 1 : days;
+        }
+        return sum >= 1 ? days + 1 : days;
+    }
+
+    /**
+     * Returns the fraction of the Julian Day of the day count of this epoch, given as integer and fraction parts,
+     * in [0, 1) range.
+     */
+    public double julianTimeOf(final int day, final double time) {
+        final double sum = (time - (int) time) + this.time;
+        if (sum < 0) {
+            final double borrowed = sum + 1;
+            return borrowed < 1 ? borrowed : 0;
+        }
+        return sum >= 1 ? sum - 1 : sum;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Bulk">
+
+    /**
+     * Converts Julian Days to day counts of this epoch, writing results to the output arrays,
+     * that may be the input arrays.
+     */
+    public void valuesOf(final int[] jdDays, final double[] jdTimes, final int[] outDays, final double[] outTimes) {
+        for (int i = 0; i < jdDays.length; i++) {
+            final int day = jdDays[i];
+            final double time = jdTimes[i];
+            outDays[i] = this.dayOf(day, time);
+            outTimes[i] = this.timeOf(time);
+        }
+    }
+
+    /**
+     * Converts day counts of this epoch to Julian Days, writing results to the output arrays,
+     * that may be the input arrays.
+     */
+    public void toJulianDays(final int[] days, final double[] times, final int[] outJdDays, final double[] outJdTimes) {
+        for (int i = 0; i < days.length; i++) {
+            final int day = days[i];
+            final double time = times[i];
+            outJdDays[i] = this.julianDayOf(day, time);
+            outJdTimes[i] = this.julianTimeOf(day, time);
+        }
+    }
+
+    /**
+     * Converts day counts of this epoch to day counts of another epoch, writing results to the output arrays,
+     * that may be the input arrays.
+     */
+    public void convert(final Epoch target, final int[] days, final double[] times, final int[] outDays, final double[] outTimes) {
+        for (int i = 0; i < days.length; i++) {
+            final int day = days[i];
+            final double time = times[i];
+            final int jdDay = this.julianDayOf(day, time);
+            final double jdTime = this.julianTimeOf(day, time);
+            outDays[i] = target.dayOf(jdDay, jdTime);
+            outTimes[i] = target.timeOf(jdTime);
+        }
+    }
+
+    // </editor-fold>
+
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Returns the Julian Day when the day count of this epoch is 0.
+     */
+    public JulianDay julianDay() {
+        return new JulianDay(this.day, this.time);
+    }
+
+    @Override
+    public String toString() {
+        return "Epoch{" +
+                "name=" + this.name +
+                ", jd=" + this.day + " + " + this.time +
+                '}';
+    }
+}
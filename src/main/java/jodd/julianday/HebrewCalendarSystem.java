@@ -0,0 +1,218 @@
+package jodd.julianday;
+
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
+
+/**
+ * Hebrew calendar, driven by the precomputed table of new years.
+ * <p>
+ * The start of a year is defined by the molad (mean conjunction) of Tishrei and the postponement
+ * rules (dehiyyot). Calculating it is the expensive part, so the starts of years from 4000 to 7000 AM
+ * (240 to 3240 CE) are precomputed; other years are calculated on the fly. The length of the year
+ * defines the lengths of Cheshvan and Kislev; months of each of the six possible year lengths are
+ * kept in the table as well.
+ */
+final class HebrewCalendarSystem implements CalendarSystem {
+
+    /**
+     * Julian Day Number of 1 Tishrei 1 AM: October 7, 3761 BCE in the Julian calendar.
+     */
+    static final int EPOCH_JDN = 347998;
+
+    private static final int TABLE_FIRST_YEAR = 4000;
+    private static final int TABLE_LAST_YEAR = 7000;
+
+    /**
+     * Starts (JDN of 1 Tishrei) of years in the table, including the year after the last one.
+     */
+    private static final int[] YEAR_STARTS = new int[TABLE_LAST_YEAR - TABLE_FIRST_YEAR + 2];
+
+    /**
+     * Days from the start of the year to the start of each month, for each kind of the year:
+     * deficient, regular and complete; common and leap. The last element is the length of the year.
+     */
+    private static final int[][] MONTH_STARTS = new int[6][];
+
+    static {
+        for (int i = 0; i < YEAR_STARTS.length; i++) {
+            YEAR_STARTS[i] = computeYearStart(TABLE_FIRST_YEAR + i);
+        }
+        for (int kind = 0; kind < 6; kind++) {
+            final boolean leap = kind >= 3;
+            final int months = leap ? 13 : 12;
+            final int[] starts = new int[months + 1];
+            for (int m = 1; m <= months; m++) {
+                starts[m] = starts[m - 1] + monthLengthOfKind(leap, kind % 3, m);
+            }
+            MONTH_STARTS[kind] = starts;
+        }
+    }
+
+    // <editor-fold desc="Year">
+
+    /**
+     * Returns {@code true} if the year is a leap year (has 13 months), in the 19-year Metonic cycle.
+     */
+    static boolean isLeap(final int year) {
+        return floorMod(7 * year + 1, 19) < 7;
+    }
+
+    /**
+     * Returns the number of days from the epoch to the molad of Tishrei of the given year,
+     * postponed when the molad is on Sunday, Wednesday or Friday. Time is counted in parts,
+     * 1080 parts per hour.
+     */
+    private static long elapsedDays(final long year) {
+        final long monthsElapsed = floorDiv(235 * year - 234, 19);
+        final long parts = 12084 + 13753 * monthsElapsed;
+        long days = monthsElapsed * 29 + floorDiv(parts, 25920);
+        if (floorMod(3 * (days + 1), 7) < 3) {
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * Returns the additional postponement, so the length of the year is always valid.
+     */
+    private static long newYearDelay(final long year) {
+        final long previous = elapsedDays(year - 1);
+        final long present = elapsedDays(year);
+        final long next = elapsedDays(year + 1);
+        if (next - present == 356) {
+            return 2;
+        }
+        if (present - previous == 382) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static int computeYearStart(final int year) {
+        return (int) (EPOCH_JDN + elapsedDays(year) + newYearDelay(year));
+    }
+
+    /**
+     * Returns the Julian Day Number of 1 Tishrei of the given year.
+     */
+    static int yearStart(final int year) {
+        if (year >= TABLE_FIRST_YEAR && year <= TABLE_LAST_YEAR + 1) {
+            return YEAR_STARTS[year - TABLE_FIRST_YEAR];
+        }
+        return computeYearStart(year);
+    }
+
+    /**
+     * Returns the number of days in the year: 353, 354 or 355 in common years, and 383, 384 or 385 in leap years.
+     */
+    static int yearLength(final int year) {
+        return yearStart(year + 1) - yearStart(year);
+    }
+
+    private static int[] monthStarts(final int year, final int yearLength) {
+        return MONTH_STARTS[(isLeap(year) ? 3 : 0) + yearLength % 10 - 3];
+    }
+
+    // </editor-fold>
+
+    /**
+     * Returns the length of the month in the year of the given kind: 0 for deficient,
+     * 1 for regular and 2 for complete year.
+     */
+    private static int monthLengthOfKind(final boolean leap, final int kind, final int month) {
+        // in common years there is no Adar I
+        final int m = !leap && month >= 6 ? month + 1 : month;
+        switch (m) {
+            case 2:
+                // Cheshvan
+                return kind == 2 ? 30 : 29;
+            case 3:
+                // Kislev
+                return kind == 0 ? 29 : 30;
+            case 1:
+            case 5:
+            case 6:
+            case 8:
+            case 10:
+            case 12:
+                return 30;
+            default:
+                return 29;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "Hebrew";
+    }
+
+    @Override
+    public int toJdn(final int year, final int month, final int day) {
+        final int start = yearStart(year);
+        final int[] monthStarts = monthStarts(year, yearStart(year + 1) - start);
+        return start + monthStarts[month - 1] + day - 1;
+    }
+
+    @Override
+    public long fromJdn(final int jdn) {
+        // mean year is 35975351 / 98496 days
+        int year = (int) floorDiv((jdn - (long) EPOCH_JDN) * 98496, 35975351) + 1;
+        while (yearStart(year + 1) <= jdn) {
+            year++;
+        }
+        while (yearStart(year) > jdn) {
+            year--;
+        }
+        final int start = yearStart(year);
+        return fromDayOfYear(year, monthStarts(year, yearStart(year + 1) - start), jdn - start);
+    }
+
+    private static long fromDayOfYear(final int year, final int[] monthStarts, final int dayOfYear) {
+        int month = 1;
+        while (monthStarts[month] <= dayOfYear) {
+            month++;
+        }
+        return PackedDateTime.of(year, month, dayOfYear - monthStarts[month - 1] + 1);
+    }
+
+    @Override
+    public int monthsInYear(final int year) {
+        return isLeap(year) ? 13 : 12;
+    }
+
+    @Override
+    public int monthLength(final int year, final int month) {
+        final int[] monthStarts = monthStarts(year, yearLength(year));
+        return monthStarts[month] - monthStarts[month - 1];
+    }
+
+    /**
+     * Converts Julian Day Numbers to packed dates. Consecutive values usually fall in the same year,
+     * so the bounds of the last year are reused.
+     */
+    @Override
+    public void fromJdn(final int[] jdns, final long[] out) {
+        int year = 0;
+        int start = 0;
+        int end = 0;
+        int[] monthStarts = null;
+        for (int i = 0; i < jdns.length; i++) {
+            final int jdn = jdns[i];
+            if (jdn < start || jdn >= end) {
+                final long date = this.fromJdn(jdn);
+                out[i] = date;
+                year = PackedDateTime.year(date);
+                start = yearStart(year);
+                end = yearStart(year + 1);
+                monthStarts = monthStarts(year, end - start);
+                continue;
+            }
+            out[i] = fromDayOfYear(year, monthStarts, jdn - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.name();
+    }
+}
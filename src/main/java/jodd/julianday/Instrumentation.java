@@ -0,0 +1,389 @@
+package jodd.julianday;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional runtime instrumentation of the {@link JulianDay} conversions and arithmetic.
+ * <p>
+ * Instrumentation is disabled by default and is enabled with the system property
+ * {@code jodd.julianday.instrumentation=true}, that is read once. When disabled, all the hooks
+ * are constant-folded by the JIT and cost nothing.
+ * <p>
+ * When enabled, every call is counted, and the latency of sampled calls (one in
+ * {@code jodd.julianday.instrumentation.sampleRate} calls, 16 by default or when the value
+ * is not positive) is recorded in
+ * a log-linear histogram. Slow sampled calls (at least {@code jodd.julianday.instrumentation.slowNanos}
+ * nanoseconds, 100 microseconds by default) and calls that lose precision are reported
+ * to the {@link Listener}, e.g. to emit JFR events on Java 11+. Collected metrics are
+ * exported with the {@link #snapshot()}.
+ */
+public class Instrumentation {
+
+    /**
+     * Julian Days stored as a single double lose the millisecond precision above this value.
+     */
+    public static final double MILLISECOND_EXACT_LIMIT = 1 << 25;
+
+    static final boolean ENABLED = Boolean.getBoolean("jodd.julianday.instrumentation");
+
+    private static final int DEFAULT_SAMPLE_RATE = 16;
+    private static final int SAMPLE_RATE = sampleRateOf(Integer.getInteger("jodd.julianday.instrumentation.sampleRate"));
+    private static final long SLOW_NANOS = Long.getLong("jodd.julianday.instrumentation.slowNanos", 100_000L);
+
+    /**
+     * Value returned by {@link #start()} for calls that are not sampled.
+     */
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final Metrics[] METRICS = ENABLED ? newMetrics() : null;
+
+    private static volatile Listener listener;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Instrumented operations.
+     */
+    public enum Operation {
+        OF_DOUBLE,
+        OF_BIG_DECIMAL,
+        OF_JULIAN_DATE,
+        OF_GREGORIAN_DATE,
+        OF_UNIX_MILLISECONDS,
+        OF_UNIX_MICROS,
+        OF_UNIX_NANOS,
+        OF_EPOCH_SECOND,
+        OF_INSTANT,
+        OF_CALENDAR_DATE,
+        OF_EPOCH_DOUBLE,
+        TO_BIG_DECIMAL,
+        TO_JULIAN_DATE,
+        TO_GREGORIAN_DATE,
+        TO_LOCAL_DATE_TIME,
+        TO_CALENDAR_DATE,
+        TO_UNIX_MILLISECONDS,
+        TO_UNIX_MICROS,
+        TO_UNIX_NANOS,
+        TO_EPOCH_SECOND,
+        TO_INSTANT,
+        ADD,
+        SUBTRACT
+    }
+
+    /**
+     * Listener of notable calls. It is invoked on the calling thread, so it must be fast.
+     */
+    public interface Listener {
+
+        /**
+         * Invoked for sampled calls that took longer than the threshold.
+         */
+        void onSlowCall(Operation operation, long nanos);
+
+        /**
+         * Invoked when the input value can not be represented with the millisecond precision.
+         */
+        void onPrecisionLoss(Operation operation, double value);
+    }
+
+    /**
+     * Returns {@code true} if instrumentation is enabled.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Sets the listener of notable calls, or {@code null} to remove it.
+     */
+    public static void setListener(final Listener listener) {
+        Instrumentation.listener = listener;
+    }
+
+    /**
+     * Returns the sample rate of the system property. Missing and non-positive values fall back
+     * to the default, so a mistyped tuning option never breaks the conversions.
+     */
+    static int sampleRateOf(final Integer value) {
+        return value != null && value > 0 ? value : DEFAULT_SAMPLE_RATE;
+    }
+
+    // <editor-fold desc="Hooks">
+
+    /**
+     * Marks the start of an instrumented call.
+     */
+    static long start() {
+        if (!ENABLED) {
+            return 0;
+        }
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of an instrumented call.
+     */
+    static void stop(final Operation operation, final long start) {
+        if (!ENABLED) {
+            return;
+        }
+        final Metrics metrics = METRICS[operation.ordinal()];
+        metrics.calls.increment();
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        final long nanos = System.nanoTime() - start;
+        metrics.record(nanos);
+        if (nanos >= SLOW_NANOS) {
+            metrics.slowCalls.increment();
+            final Listener listener = Instrumentation.listener;
+            if (listener != null) {
+                listener.onSlowCall(operation, nanos);
+            }
+        }
+    }
+
+    /**
+     * Checks if the double value of Julian Day is precise enough.
+     */
+    static void checkPrecision(final Operation operation, final double value) {
+        if (!ENABLED) {
+            return;
+        }
+        if (Math.abs(value) < MILLISECOND_EXACT_LIMIT) {
+            return;
+        }
+        METRICS[operation.ordinal()].precisionLosses.increment();
+        final Listener listener = Instrumentation.listener;
+        if (listener != null) {
+            listener.onPrecisionLoss(operation, value);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Snapshot">
+
+    /**
+     * Returns the current values of all metrics. Returns an empty snapshot when disabled.
+     */
+    public static Snapshot snapshot() {
+        final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        if (ENABLED) {
+            for (final Operation operation : Operation.values()) {
+                stats.put(operation, METRICS[operation.ordinal()].snapshot());
+            }
+        }
+        return new Snapshot(stats);
+    }
+
+    /**
+     * Resets all metrics.
+     */
+    public static void reset() {
+        if (ENABLED) {
+            for (int i = 0; i < METRICS.length; i++) {
+                METRICS[i] = new Metrics();
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of metrics of all operations.
+     */
+    public static class Snapshot {
+        private final Map<Operation, OperationStats> stats;
+
+        Snapshot(final Map<Operation, OperationStats> stats) {
+            this.stats = Collections.unmodifiableMap(stats);
+        }
+
+        /**
+         * Returns statistics of all operations.
+         */
+        public Map<Operation, OperationStats> stats() {
+            return this.stats;
+        }
+
+        /**
+         * Returns statistics of an operation.
+         */
+        public OperationStats get(final Operation operation) {
+            final OperationStats stats = this.stats.get(operation);
+            return stats != null ? stats : OperationStats.EMPTY;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot" + this.stats;
+        }
+    }
+
+    /**
+     * Immutable statistics of a single operation.
+     */
+    public static class OperationStats {
+        static final OperationStats EMPTY = new OperationStats(0, 0, 0, 0, 0, new long[Histogram.BUCKETS]);
+
+        private final long calls;
+        private final long sampled;
+        private final long sampledNanos;
+        private final long slowCalls;
+        private final long precisionLosses;
+        private final long[] histogram;
+
+        OperationStats(final long calls, final long sampled, final long sampledNanos, final long slowCalls, final long precisionLosses, final long[] histogram) {
+            this.calls = calls;
+            this.sampled = sampled;
+            this.sampledNanos = sampledNanos;
+            this.slowCalls = slowCalls;
+            this.precisionLosses = precisionLosses;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Returns the total number of calls.
+         */
+        public long calls() {
+            return this.calls;
+        }
+
+        /**
+         * Returns the number of calls which latency was recorded.
+         */
+        public long sampled() {
+            return this.sampled;
+        }
+
+        /**
+         * Returns the mean latency of sampled calls, in nanoseconds.
+         */
+        public double meanNanos() {
+            return this.sampled == 0 ? 0 : (double) this.sampledNanos / this.sampled;
+        }
+
+        /**
+         * Returns the latency percentile of sampled calls, in nanoseconds, as the lower bound
+         * of the histogram bucket. The percentile is given in range [0, 100].
+         */
+        public long percentileNanos(final double percentile) {
+            long total = 0;
+            for (final long count : this.histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long cumulative = 0;
+            for (int i = 0; i < this.histogram.length; i++) {
+                cumulative += this.histogram[i];
+                if (cumulative >= rank) {
+                    return Histogram.lowerBound(i);
+                }
+            }
+            return Histogram.lowerBound(this.histogram.length - 1);
+        }
+
+        /**
+         * Returns the number of sampled calls that were slow.
+         */
+        public long slowCalls() {
+            return this.slowCalls;
+        }
+
+        /**
+         * Returns the number of calls that lost precision.
+         */
+        public long precisionLosses() {
+            return this.precisionLosses;
+        }
+
+        @Override
+        public String toString() {
+            return "{calls=" + this.calls +
+                    ", sampled=" + this.sampled +
+                    ", mean=" + this.meanNanos() +
+                    ", p50=" + this.percentileNanos(50) +
+                    ", p99=" + this.percentileNanos(99) +
+                    ", slow=" + this.slowCalls +
+                    ", precisionLosses=" + this.precisionLosses +
+                    '}';
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Metrics">
+
+    private static Metrics[] newMetrics() {
+        final Metrics[] metrics = new Metrics[Operation.values().length];
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = new Metrics();
+        }
+        return metrics;
+    }
+
+    private static class Metrics {
+        final LongAdder calls = new LongAdder();
+        final LongAdder sampled = new LongAdder();
+        final LongAdder sampledNanos = new LongAdder();
+        final LongAdder slowCalls = new LongAdder();
+        final LongAdder precisionLosses = new LongAdder();
+        final AtomicLongArray histogram = new AtomicLongArray(Histogram.BUCKETS);
+
+        void record(final long nanos) {
+            this.sampled.increment();
+            this.sampledNanos.add(nanos);
+            this.histogram.incrementAndGet(Histogram.bucketOf(nanos));
+        }
+
+        OperationStats snapshot() {
+            final long[] histogram = new long[Histogram.BUCKETS];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = this.histogram.get(i);
+            }
+            return new OperationStats(this.calls.sum(), this.sampled.sum(), this.sampledNanos.sum(),
+                    this.slowCalls.sum(), this.precisionLosses.sum(), histogram);
+        }
+    }
+
+    /**
+     * Log-linear histogram layout, in the style of HDR histogram: each power of two
+     * is split into 8 linear sub-buckets, so the relative error is at most 12.5%.
+     */
+    static class Histogram {
+        static final int SUB_BUCKET_BITS = 3;
+        static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        static int bucketOf(final long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) Math.max(value, 0);
+            }
+            final int exponent = 63 - Long.numberOfLeadingZeros(value);
+            final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long lowerBound(final int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final int subBucket = bucket % SUB_BUCKETS;
+            return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        }
+    }
+
+    // </editor-fold>
+}
@@ -0,0 +1,337 @@
+package jodd.julianday;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static jodd.julianday.JulianDayFunctions.compare;
+
+/**
+ * Static index of Julian Day intervals that answers stabbing (which intervals contain a point)
+ * and overlap (which intervals overlap a range) queries in {@code O(log n + k)} time,
+ * for {@code k} reported intervals.
+ * <p>
+ * Intervals are half-open, as {@link JulianDayInterval}, and endpoints are kept exactly, as the
+ * integer and fraction parts of the Julian Day, so the index gives the same results as
+ * {@link JulianDayInterval#contains(JulianDay)} and {@link JulianDayInterval#overlaps(JulianDayInterval)}.
+ * <p>
+ * The index is a centered interval tree, stored in primitive arrays. Each node holds the intervals
+ * that contain its center, ordered both by start and by end, so a stabbing query walks a single
+ * path from the root and stops scanning a node at the first interval that does not contain the point.
+ * An overlap query is a stabbing query of the range start, plus a binary search in all intervals sorted
+ * by start, for the intervals that start within the range.
+ * Queries report the ids of intervals, that is their positions in the input.
+ */
+public class IntervalIndex {
+
+    // intervals, sorted by start
+    private final int[] startDays;
+    private final double[] startTimes;
+    private final int[] endDays;
+    private final double[] endTimes;
+    private final int[] ids;
+
+    // tree nodes
+    private final int[] centerDays;
+    private final double[] centerTimes;
+    private final int[] lefts;
+    private final int[] rights;
+    private final int[] offsets;
+    private final int[] counts;
+    private int nodeCount;
+    private final int root;
+
+    // intervals of the nodes, as indexes of the sorted intervals
+    private final int[] byStart;
+    private final int[] byEnd;
+
+    private IntervalIndex(final int[] startDays, final double[] startTimes, final int[] endDays, final double[] endTimes, final int[] ids) {
+        final int n = startDays.length;
+        this.startDays = startDays;
+        this.startTimes = startTimes;
+        this.endDays = endDays;
+        this.endTimes = endTimes;
+        this.ids = ids;
+
+        this.centerDays = new int[n];
+        this.centerTimes = new double[n];
+        this.lefts = new int[n];
+        this.rights = new int[n];
+        this.offsets = new int[n];
+        this.counts = new int[n];
+        this.byStart = new int[n];
+        this.byEnd = new int[n];
+
+        final int[] starts = new int[n];
+        Arrays.setAll(starts, i -> i);
+        final int[] ends = JulianDaySort.sortOrder(endDays, endTimes);
+        this.root = this.build(starts, ends, 0);
+    }
+
+    /**
+     * Builds index of the intervals. The id of an interval is its position in the list.
+     */
+    public static IntervalIndex of(final List<JulianDayInterval> intervals) {
+        final int n = intervals.size();
+        final int[] startDays = new int[n];
+        final double[] startTimes = new double[n];
+        final int[] endDays = new int[n];
+        final double[] endTimes = new double[n];
+        int i = 0;
+        for (final JulianDayInterval interval : intervals) {
+            startDays[i] = interval.start().day();
+            startTimes[i] = interval.start().time();
+            endDays[i] = interval.end().day();
+            endTimes[i] = interval.end().time();
+            i++;
+        }
+
+        final int[] order = JulianDaySort.sortOrder(startDays, startTimes);
+        JulianDaySort.apply(order, startDays, startTimes);
+        JulianDaySort.apply(order, endDays, endTimes);
+        return new IntervalIndex(startDays, startTimes, endDays, endTimes, order);
+    }
+
+    /**
+     * Builds index from intervals given as integer and fraction parts of Julian Days, already sorted by start.
+     * Fractions must be in [0, 1) range, as in {@link JulianDay}.
+     * The id of an interval is its position in the arrays. Arrays are copied.
+     */
+    public static IntervalIndex ofSorted(final int[] startDays, final double[] startTimes, final int[] endDays, final double[] endTimes) {
+        final int n = startDays.length;
+        if (startTimes.length != n || endDays.length != n || endTimes.length != n) {
+            throw new IllegalArgumentException("Array lengths differ");
+        }
+        for (int i = 0; i < n; i++) {
+            if (!isFraction(startTimes[i]) || !isFraction(endTimes[i])) {
+                throw new IllegalArgumentException("Fraction out of [0, 1) range at: " + i);
+            }
+            if (i > 0 && compare(startDays[i - 1], startTimes[i - 1], startDays[i], startTimes[i]) > 0) {
+                throw new IllegalArgumentException("Intervals are not sorted at: " + i);
+            }
+            if (compare(startDays[i], startTimes[i], endDays[i], endTimes[i]) > 0) {
+                throw new IllegalArgumentException("Start is after the end at: " + i);
+            }
+        }
+        final int[] ids = new int[n];
+        Arrays.setAll(ids, i -> i);
+        return new IntervalIndex(startDays.clone(), startTimes.clone(), endDays.clone(), endTimes.clone(), ids);
+    }
+
+    private static boolean isFraction(final double time) {
+        return time >= 0 && time < 1;
+    }
+
+    /**
+     * Builds the subtree of the intervals, given as indexes ordered by start and by end.
+     * The center is the start of the median interval, so both subtrees have at most half the intervals
+     * and the node holds at least one.
+     */
+    private int build(final int[] starts, final int[] ends, final int offset) {
+        final int n = starts.length;
+        if (n == 0) {
+            return -1;
+        }
+        final int median = starts[n >>> 1];
+        final int centerDay = this.startDays[median];
+        final double centerTime = this.startTimes[median];
+
+        int leftCount = 0;
+        int rightCount = 0;
+        for (final int i : starts) {
+            final int side = this.side(i, centerDay, centerTime);
+            if (side < 0) {
+                leftCount++;
+            } else if (side > 0) {
+                rightCount++;
+            }
+        }
+        final int count = n - leftCount - rightCount;
+
+        // stable partition keeps both orders in the subtrees
+        final int[] leftStarts = new int[leftCount];
+        final int[] rightStarts = new int[rightCount];
+        int left = 0;
+        int right = 0;
+        int node = offset;
+        for (final int i : starts) {
+            final int side = this.side(i, centerDay, centerTime);
+            if (side < 0) {
+                leftStarts[left++] = i;
+            } else if (side > 0) {
+                rightStarts[right++] = i;
+            } else {
+                this.byStart[node++] = i;
+            }
+        }
+        final int[] leftEnds = new int[leftCount];
+        final int[] rightEnds = new int[rightCount];
+        left = 0;
+        right = 0;
+        node = offset + count;
+        for (final int i : ends) {
+            final int side = this.side(i, centerDay, centerTime);
+            if (side < 0) {
+                leftEnds[left++] = i;
+            } else if (side > 0) {
+                rightEnds[right++] = i;
+            } else {
+                this.byEnd[--node] = i;
+            }
+        }
+
+        final int index = this.nodeCount++;
+        this.centerDays[index] = centerDay;
+        this.centerTimes[index] = centerTime;
+        this.offsets[index] = offset;
+        this.counts[index] = count;
+        this.lefts[index] = this.build(leftStarts, leftEnds, offset + count);
+        this.rights[index] = this.build(rightStarts, rightEnds, offset + count + leftCount);
+        return index;
+    }
+
+    /**
+     * Returns -1 if the interval ends before the center, 1 if it starts after it and 0 if it contains it,
+     * including the end.
+     */
+    private int side(final int i, final int centerDay, final double centerTime) {
+        if (compare(this.endDays[i], this.endTimes[i], centerDay, centerTime) < 0) {
+            return -1;
+        }
+        return compare(this.startDays[i], this.startTimes[i], centerDay, centerTime) > 0 ? 1 : 0;
+    }
+
+    /**
+     * Returns the number of indexed intervals.
+     */
+    public int size() {
+        return this.ids.length;
+    }
+
+    // <editor-fold desc="Queries">
+
+    /**
+     * Reports ids of all intervals that contain given Julian Day.
+     */
+    public void stab(final JulianDay jd, final IntConsumer consumer) {
+        this.stab(jd.day(), jd.time(), false, consumer);
+    }
+
+    /**
+     * Returns ids of all intervals that contain given Julian Day.
+     */
+    public int[] stab(final JulianDay jd) {
+        final IntCollector collector = new IntCollector();
+        this.stab(jd, collector);
+        return collector.toArray();
+    }
+
+    /**
+     * Reports ids of all intervals that overlap the range from start (inclusive) to end (exclusive),
+     * the same as {@link JulianDayInterval#overlaps(JulianDayInterval)}.
+     */
+    public void overlapping(final JulianDay start, final JulianDay end, final IntConsumer consumer) {
+        final int order = start.compareTo(end);
+        if (order > 0) {
+            throw new IllegalArgumentException("Start is after the end");
+        }
+        if (order == 0) {
+            // an empty range overlaps the intervals that contain it, without starting at it
+            this.stab(start.day(), start.time(), true, consumer);
+            return;
+        }
+        this.stab(start.day(), start.time(), false, consumer);
+
+        final int endDay = end.day();
+        final double endTime = end.time();
+        for (int i = this.startsAfter(start.day(), start.time()); i < this.ids.length; i++) {
+            if (compare(this.startDays[i], this.startTimes[i], endDay, endTime) >= 0) {
+                break;
+            }
+            consumer.accept(this.ids[i]);
+        }
+    }
+
+    /**
+     * Returns ids of all intervals that overlap the given interval.
+     */
+    public int[] overlapping(final JulianDayInterval interval) {
+        final IntCollector collector = new IntCollector();
+        this.overlapping(interval.start(), interval.end(), collector);
+        return collector.toArray();
+    }
+
+    /**
+     * Reports intervals that contain the point, walking from the root towards the center equal to the point.
+     * Nodes are scanned from the intervals that start first, or end last, so the scan stops at the first
+     * interval that does not contain the point. With {@code strict}, intervals starting at the point are skipped.
+     */
+    private void stab(final int day, final double time, final boolean strict, final IntConsumer consumer) {
+        int node = this.root;
+        while (node != -1) {
+            final int from = this.offsets[node];
+            final int to = from + this.counts[node];
+            final int side = compare(day, time, this.centerDays[node], this.centerTimes[node]);
+            if (side < 0) {
+                // all intervals of the node end at or after the center
+                for (int j = from; j < to; j++) {
+                    final int i = this.byStart[j];
+                    final int order = compare(this.startDays[i], this.startTimes[i], day, time);
+                    if (order > 0 || (strict && order == 0)) {
+                        break;
+                    }
+                    consumer.accept(this.ids[i]);
+                }
+                node = this.lefts[node];
+            } else {
+                // all intervals of the node start at or before the center
+                for (int j = from; j < to; j++) {
+                    final int i = this.byEnd[j];
+                    if (compare(this.endDays[i], this.endTimes[i], day, time) <= 0) {
+                        break;
+                    }
+                    if (!strict || compare(this.startDays[i], this.startTimes[i], day, time) < 0) {
+                        consumer.accept(this.ids[i]);
+                    }
+                }
+                node = side > 0 ? this.rights[node] : -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first interval that starts after given Julian Day.
+     */
+    private int startsAfter(final int day, final double time) {
+        int low = 0;
+        int high = this.ids.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (compare(this.startDays[middle], this.startTimes[middle], day, time) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // </editor-fold>
+
+    private static class IntCollector implements IntConsumer {
+        private int[] values = new int[8];
+        private int size;
+
+        @Override
+        public void accept(final int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package jodd.julianday;
+
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
+
+/**
+ * Tabular Islamic calendar, driven by the tables of year and month starts in the 30-year cycle.
+ */
+final class IslamicCalendarSystem implements CalendarSystem {
+
+    /**
+     * Julian Day Number of 1 Muharram 1 AH: July 16, 622 in the Julian calendar.
+     */
+    static final int EPOCH_JDN = 1948440;
+
+    private static final int CYCLE_YEARS = 30;
+    private static final int CYCLE_DAYS = 10631;
+
+    /**
+     * Days from the start of the cycle to the start of each year of the cycle.
+     */
+    private static final int[] YEAR_STARTS = new int[CYCLE_YEARS + 1];
+
+    /**
+     * Days from the start of the year to the start of each month.
+     * Months have 30 and 29 days alternately, the leap day is added to the last month.
+     */
+    private static final int[] MONTH_STARTS = new int[12];
+
+    static {
+        for (int y = 1; y <= CYCLE_YEARS; y++) {
+            YEAR_STARTS[y] = YEAR_STARTS[y - 1] + (isLeap(y) ? 355 : 354);
+        }
+        for (int m = 1; m < 12; m++) {
+            MONTH_STARTS[m] = (59 * m + 1) / 2;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the year is a leap year.
+     */
+    static boolean isLeap(final int year) {
+        return floorMod(14 + 11 * year, CYCLE_YEARS) < 11;
+    }
+
+    @Override
+    public String name() {
+        return "Islamic";
+    }
+
+    @Override
+    public int toJdn(final int year, final int month, final int day) {
+        final int cycle = floorDiv(year - 1, CYCLE_YEARS);
+        final int yearOfCycle = year - 1 - cycle * CYCLE_YEARS;
+        return EPOCH_JDN + cycle * CYCLE_DAYS + YEAR_STARTS[yearOfCycle] + MONTH_STARTS[month - 1] + day - 1;
+    }
+
+    @Override
+    public long fromJdn(final int jdn) {
+        final int days = jdn - EPOCH_JDN;
+        final int cycle = floorDiv(days, CYCLE_DAYS);
+        final int dayOfCycle = days - cycle * CYCLE_DAYS;
+
+        int yearOfCycle = dayOfCycle / 355;
+        while (YEAR_STARTS[yearOfCycle + 1] <= dayOfCycle) {
+            yearOfCycle++;
+        }
+        final int dayOfYear = dayOfCycle - YEAR_STARTS[yearOfCycle];
+
+        int month = Math.min(11, dayOfYear * 2 / 59);
+        if (MONTH_STARTS[month] > dayOfYear) {
+            month--;
+        }
+        return PackedDateTime.of(cycle * CYCLE_YEARS + yearOfCycle + 1, month + 1, dayOfYear - MONTH_STARTS[month] + 1);
+    }
+
+    @Override
+    public int monthsInYear(final int year) {
+        return 12;
+    }
+
+    @Override
+    public int monthLength(final int year, final int month) {
+        if (month == 12 && isLeap(year)) {
+            return 30;
+        }
+        return (month & 1) == 1 ? 30 : 29;
+    }
+
+    @Override
+    public String toString() {
+        return this.name();
+    }
+}
@@ -0,0 +1,51 @@
+package jodd.julianday;
+
+import static jodd.julianday.JulianDayFunctions.gregorianYearStartJdn;
+
+/**
+ * ISO week date calendar: week-based year, week and day of the week.
+ */
+final class IsoWeekCalendarSystem implements CalendarSystem {
+
+    @Override
+    public String name() {
+        return "ISO week";
+    }
+
+    /**
+     * Returns the Julian Day Number of the Monday of the first week of the week-based year.
+     * The first week is the week that contains January 4th.
+     */
+    private static int weekYearStart(final int year) {
+        final int january4 = (int) gregorianYearStartJdn(year) + 3;
+        return january4 - JulianDayNumber.dayOfWeek(january4) + 1;
+    }
+
+    @Override
+    public int toJdn(final int year, final int week, final int dayOfWeek) {
+        return weekYearStart(year) + (week - 1) * 7 + dayOfWeek - 1;
+    }
+
+    @Override
+    public long fromJdn(final int jdn) {
+        return PackedDateTime.of(
+                JulianDayNumber.isoWeekBasedYear(jdn),
+                JulianDayNumber.isoWeekOfWeekBasedYear(jdn),
+                JulianDayNumber.dayOfWeek(jdn));
+    }
+
+    @Override
+    public int monthsInYear(final int year) {
+        return (weekYearStart(year + 1) - weekYearStart(year)) / 7;
+    }
+
+    @Override
+    public int monthLength(final int year, final int week) {
+        return 7;
+    }
+
+    @Override
+    public String toString() {
+        return this.name();
+    }
+}
@@ -0,0 +1,47 @@
+package jodd.julianday;
+
+import static java.lang.Math.floorDiv;
+import static jodd.julianday.JulianDayFunctions.jdnToJulianDate;
+import static jodd.julianday.JulianDayFunctions.julianMonthLength;
+
+/**
+ * Proleptic Julian calendar.
+ */
+final class JulianCalendarSystem implements CalendarSystem {
+
+    @Override
+    public String name() {
+        return "Julian";
+    }
+
+    /**
+     * Years are counted from March, so the leap day is the last day of the year.
+     */
+    @Override
+    public int toJdn(final int year, final int month, final int day) {
+        final long a = (14 - month) / 12;
+        final long y = year + 4800L - a;
+        final long m = month + 12 * a - 3;
+        return (int) (day + (153 * m + 2) / 5 + 365 * y + floorDiv(y, 4) - 32083);
+    }
+
+    @Override
+    public long fromJdn(final int jdn) {
+        return jdnToJulianDate(jdn);
+    }
+
+    @Override
+    public int monthsInYear(final int year) {
+        return 12;
+    }
+
+    @Override
+    public int monthLength(final int year, final int month) {
+        return julianMonthLength(year, month);
+    }
+
+    @Override
+    public String toString() {
+        return this.name();
+    }
+}
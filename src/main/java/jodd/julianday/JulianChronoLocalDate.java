@@ -0,0 +1,449 @@
+package jodd.julianday;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoLocalDateTime;
+import java.time.chrono.ChronoPeriod;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAmount;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.temporal.ValueRange;
+
+import static java.lang.Math.addExact;
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
+import static java.lang.Math.multiplyExact;
+import static jodd.julianday.JulianChronology.EPOCH_DAY_0_JDN;
+
+/**
+ * Immutable date in the {@link JulianChronology}.
+ * <p>
+ * The date is held as the year, month and day, and is mapped to the epoch day through the integer
+ * Julian Day Number. Conversions to {@link LocalDate} and {@link JulianDay} are direct shifts of the day.
+ */
+public final class JulianChronoLocalDate implements ChronoLocalDate {
+
+    private final int year;
+    private final int month;
+    private final int day;
+
+    private JulianChronoLocalDate(final int year, final int month, final int day) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+    }
+
+    // <editor-fold desc="OF Ctors">
+
+    /**
+     * Creates the date from the proleptic year, month and day.
+     */
+    public static JulianChronoLocalDate of(final int year, final int month, final int day) {
+        JulianChronology.INSTANCE.checkValidIntValue(year, ChronoField.YEAR);
+        ChronoField.MONTH_OF_YEAR.checkValidValue(month);
+        ChronoField.DAY_OF_MONTH.checkValidValue(day);
+        if (day > CalendarSystem.JULIAN.monthLength(year, month)) {
+            throw new DateTimeException("Invalid Julian date: " + year + "-" + month + "-" + day);
+        }
+        return new JulianChronoLocalDate(year, month, day);
+    }
+
+    /**
+     * Creates the date from the proleptic year and the day of the year.
+     */
+    public static JulianChronoLocalDate ofYearDay(final int year, final int dayOfYear) {
+        JulianChronology.INSTANCE.checkValidIntValue(year, ChronoField.YEAR);
+        final int length = JulianChronology.INSTANCE.isLeapYear(year) ? 366 : 365;
+        if (dayOfYear < 1 || dayOfYear > length) {
+            throw new DateTimeException("Invalid day of year " + dayOfYear + " for the year " + year);
+        }
+        return ofJdn(CalendarSystem.JULIAN.toJdn(year, 1, 1) + dayOfYear - 1);
+    }
+
+    /**
+     * Creates the date from the epoch day, the day count where 0 is 1970-01-01 in the Gregorian calendar.
+     */
+    public static JulianChronoLocalDate ofEpochDay(final long epochDay) {
+        JulianChronology.INSTANCE.range(ChronoField.EPOCH_DAY).checkValidValue(epochDay, ChronoField.EPOCH_DAY);
+        return ofJdn((int) (epochDay + EPOCH_DAY_0_JDN));
+    }
+
+    /**
+     * Creates the date of the civil day of the Julian Day.
+     */
+    public static JulianChronoLocalDate of(final JulianDay jd) {
+        return ofEpochDay(jd.julianDayNumber() - EPOCH_DAY_0_JDN);
+    }
+
+    /**
+     * Creates the date of the Julian calendar date and time.
+     */
+    public static JulianChronoLocalDate of(final JulianDateTime jdt) {
+        return of(jdt.getYear(), jdt.getMonthValue(), jdt.getDayOfMonth());
+    }
+
+    private static JulianChronoLocalDate ofJdn(final int jdn) {
+        final long date = CalendarSystem.JULIAN.fromJdn(jdn);
+        return new JulianChronoLocalDate(PackedDateTime.year(date), PackedDateTime.month(date), PackedDateTime.dayOfMonth(date));
+    }
+
+    /**
+     * Creates the date, moving the day to the last valid day of the month, if needed.
+     */
+    private static JulianChronoLocalDate resolvePreviousValid(final int year, final int month, final int day) {
+        return of(year, month, Math.min(day, CalendarSystem.JULIAN.monthLength(year, month)));
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Fields">
+
+    @Override
+    public JulianChronology getChronology() {
+        return JulianChronology.INSTANCE;
+    }
+
+    @Override
+    public JulianEra getEra() {
+        return this.year >= 1 ? JulianEra.AD : JulianEra.BC;
+    }
+
+    public int getYear() {
+        return this.year;
+    }
+
+    public int getMonthValue() {
+        return this.month;
+    }
+
+    public int getDayOfMonth() {
+        return this.day;
+    }
+
+    public int getDayOfYear() {
+        return this.julianDayNumber() - CalendarSystem.JULIAN.toJdn(this.year, 1, 1) + 1;
+    }
+
+    @Override
+    public int lengthOfMonth() {
+        return CalendarSystem.JULIAN.monthLength(this.year, this.month);
+    }
+
+    /**
+     * Returns the Julian Day Number of this date.
+     */
+    public int julianDayNumber() {
+        return CalendarSystem.JULIAN.toJdn(this.year, this.month, this.day);
+    }
+
+    @Override
+    public long toEpochDay() {
+        return this.julianDayNumber() - EPOCH_DAY_0_JDN;
+    }
+
+    private long prolepticMonth() {
+        return this.year * 12L + this.month - 1;
+    }
+
+    @Override
+    public ValueRange range(final TemporalField field) {
+        if (!(field instanceof ChronoField)) {
+            return field.rangeRefinedBy(this);
+        }
+        if (!this.isSupported(field)) {
+            throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+        switch ((ChronoField) field) {
+            case DAY_OF_MONTH:
+                return ValueRange.of(1, this.lengthOfMonth());
+            case DAY_OF_YEAR:
+                return ValueRange.of(1, this.lengthOfYear());
+            case ALIGNED_WEEK_OF_MONTH:
+                return ValueRange.of(1, this.lengthOfMonth() == 28 ? 4 : 5);
+            case YEAR_OF_ERA:
+                return this.year >= 1
+                        ? ValueRange.of(1, JulianChronology.MAX_YEAR)
+                        : ValueRange.of(1, 1 - JulianChronology.MIN_YEAR);
+            default:
+                return this.getChronology().range((ChronoField) field);
+        }
+    }
+
+    @Override
+    public long getLong(final TemporalField field) {
+        if (!(field instanceof ChronoField)) {
+            return field.getFrom(this);
+        }
+        switch ((ChronoField) field) {
+            case DAY_OF_WEEK:
+                return JulianDayNumber.dayOfWeek(this.julianDayNumber());
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                return (this.day - 1) % 7 + 1;
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                return (this.getDayOfYear() - 1) % 7 + 1;
+            case DAY_OF_MONTH:
+                return this.day;
+            case DAY_OF_YEAR:
+                return this.getDayOfYear();
+            case EPOCH_DAY:
+                return this.toEpochDay();
+            case ALIGNED_WEEK_OF_MONTH:
+                return (this.day - 1) / 7 + 1;
+            case ALIGNED_WEEK_OF_YEAR:
+                return (this.getDayOfYear() - 1) / 7 + 1;
+            case MONTH_OF_YEAR:
+                return this.month;
+            case PROLEPTIC_MONTH:
+                return this.prolepticMonth();
+            case YEAR_OF_ERA:
+                return this.year >= 1 ? this.year : 1 - this.year;
+            case YEAR:
+                return this.year;
+            case ERA:
+                return this.year >= 1 ? 1 : 0;
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Adjusting">
+
+    @Override
+    public JulianChronoLocalDate with(final TemporalAdjuster adjuster) {
+        return (JulianChronoLocalDate) ChronoLocalDate.super.with(adjuster);
+    }
+
+    @Override
+    public JulianChronoLocalDate with(final TemporalField field, final long newValue) {
+        if (!(field instanceof ChronoField)) {
+            return (JulianChronoLocalDate) ChronoLocalDate.super.with(field, newValue);
+        }
+        final ChronoField f = (ChronoField) field;
+        this.range(f).checkValidValue(newValue, f);
+        switch (f) {
+            case DAY_OF_WEEK:
+                return this.plusDays(newValue - this.getLong(ChronoField.DAY_OF_WEEK));
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                return this.plusDays(newValue - this.getLong(ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH));
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                return this.plusDays(newValue - this.getLong(ChronoField.ALIGNED_DAY_OF_WEEK_IN_YEAR));
+            case DAY_OF_MONTH:
+                return of(this.year, this.month, (int) newValue);
+            case DAY_OF_YEAR:
+                return ofYearDay(this.year, (int) newValue);
+            case EPOCH_DAY:
+                return ofEpochDay(newValue);
+            case ALIGNED_WEEK_OF_MONTH:
+                return this.plusDays((newValue - this.getLong(ChronoField.ALIGNED_WEEK_OF_MONTH)) * 7);
+            case ALIGNED_WEEK_OF_YEAR:
+                return this.plusDays((newValue - this.getLong(ChronoField.ALIGNED_WEEK_OF_YEAR)) * 7);
+            case MONTH_OF_YEAR:
+                return resolvePreviousValid(this.year, (int) newValue, this.day);
+            case PROLEPTIC_MONTH:
+                return this.plusMonths(newValue - this.prolepticMonth());
+            case YEAR_OF_ERA:
+                return resolvePreviousValid(this.year >= 1 ? (int) newValue : 1 - (int) newValue, this.month, this.day);
+            case YEAR:
+                return resolvePreviousValid((int) newValue, this.month, this.day);
+            case ERA:
+                return this.getLong(ChronoField.ERA) == newValue ? this : resolvePreviousValid(1 - this.year, this.month, this.day);
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Arithmetic">
+
+    @Override
+    public JulianChronoLocalDate plus(final TemporalAmount amount) {
+        return (JulianChronoLocalDate) ChronoLocalDate.super.plus(amount);
+    }
+
+    @Override
+    public JulianChronoLocalDate plus(final long amountToAdd, final TemporalUnit unit) {
+        if (!(unit instanceof ChronoUnit)) {
+            return (JulianChronoLocalDate) ChronoLocalDate.super.plus(amountToAdd, unit);
+        }
+        switch ((ChronoUnit) unit) {
+            case DAYS:
+                return this.plusDays(amountToAdd);
+            case WEEKS:
+                return this.plusDays(multiplyExact(amountToAdd, 7));
+            case MONTHS:
+                return this.plusMonths(amountToAdd);
+            case YEARS:
+                return this.plusYears(amountToAdd);
+            case DECADES:
+                return this.plusYears(multiplyExact(amountToAdd, 10));
+            case CENTURIES:
+                return this.plusYears(multiplyExact(amountToAdd, 100));
+            case MILLENNIA:
+                return this.plusYears(multiplyExact(amountToAdd, 1000));
+            case ERAS:
+                return this.with(ChronoField.ERA, addExact(this.getLong(ChronoField.ERA), amountToAdd));
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    @Override
+    public JulianChronoLocalDate minus(final TemporalAmount amount) {
+        return (JulianChronoLocalDate) ChronoLocalDate.super.minus(amount);
+    }
+
+    @Override
+    public JulianChronoLocalDate minus(final long amountToSubtract, final TemporalUnit unit) {
+        return (JulianChronoLocalDate) ChronoLocalDate.super.minus(amountToSubtract, unit);
+    }
+
+    public JulianChronoLocalDate plusDays(final long days) {
+        return days == 0 ? this : ofEpochDay(addExact(this.toEpochDay(), days));
+    }
+
+    public JulianChronoLocalDate plusMonths(final long months) {
+        if (months == 0) {
+            return this;
+        }
+        final long monthCount = addExact(this.prolepticMonth(), months);
+        final int newYear = JulianChronology.INSTANCE.checkValidIntValue(floorDiv(monthCount, 12), ChronoField.YEAR);
+        return resolvePreviousValid(newYear, (int) floorMod(monthCount, 12) + 1, this.day);
+    }
+
+    public JulianChronoLocalDate plusYears(final long years) {
+        if (years == 0) {
+            return this;
+        }
+        final int newYear = JulianChronology.INSTANCE.checkValidIntValue(addExact(this.year, years), ChronoField.YEAR);
+        return resolvePreviousValid(newYear, this.month, this.day);
+    }
+
+    @Override
+    public long until(final Temporal endExclusive, final TemporalUnit unit) {
+        final JulianChronoLocalDate end = this.getChronology().date(endExclusive);
+        if (!(unit instanceof ChronoUnit)) {
+            return unit.between(this, end);
+        }
+        switch ((ChronoUnit) unit) {
+            case DAYS:
+                return end.toEpochDay() - this.toEpochDay();
+            case WEEKS:
+                return (end.toEpochDay() - this.toEpochDay()) / 7;
+            case MONTHS:
+                return this.monthsUntil(end);
+            case YEARS:
+                return this.monthsUntil(end) / 12;
+            case DECADES:
+                return this.monthsUntil(end) / 120;
+            case CENTURIES:
+                return this.monthsUntil(end) / 1200;
+            case MILLENNIA:
+                return this.monthsUntil(end) / 12000;
+            case ERAS:
+                return end.getLong(ChronoField.ERA) - this.getLong(ChronoField.ERA);
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    /**
+     * Returns the number of whole months until the end date.
+     */
+    private long monthsUntil(final JulianChronoLocalDate end) {
+        final long start32 = this.prolepticMonth() * 32 + this.day;
+        final long end32 = end.prolepticMonth() * 32 + end.day;
+        return (end32 - start32) / 32;
+    }
+
+    @Override
+    public ChronoPeriod until(final ChronoLocalDate endDateExclusive) {
+        final JulianChronoLocalDate end = this.getChronology().date(endDateExclusive);
+        long totalMonths = end.prolepticMonth() - this.prolepticMonth();
+        int days = end.day - this.day;
+        if (totalMonths > 0 && days < 0) {
+            totalMonths--;
+            days = (int) (end.toEpochDay() - this.plusMonths(totalMonths).toEpochDay());
+        } else if (totalMonths < 0 && days > 0) {
+            totalMonths++;
+            days -= end.lengthOfMonth();
+        }
+        return this.getChronology().period(Math.toIntExact(totalMonths / 12), (int) (totalMonths % 12), days);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="TO converters">
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoLocalDateTime<JulianChronoLocalDate> atTime(final LocalTime localTime) {
+        return (ChronoLocalDateTime<JulianChronoLocalDate>) ChronoLocalDate.super.atTime(localTime);
+    }
+
+    /**
+     * Converts this date to the date in the Gregorian calendar.
+     */
+    public LocalDate toLocalDate() {
+        return LocalDate.ofEpochDay(this.toEpochDay());
+    }
+
+    /**
+     * Converts this date to the Julian Day at the midnight that starts the day.
+     */
+    public JulianDay toJulianDay() {
+        return new JulianDay(this.julianDayNumber() - 1, 0.5);
+    }
+
+    /**
+     * Converts this date to the Julian calendar date and time at midnight.
+     */
+    public JulianDateTime toJulianDateTime() {
+        return new JulianDateTime(this.year, this.month, this.day, 0, 0, 0, 0);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="equals & hashCode" defaultstate="collapsed">
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final JulianChronoLocalDate that = (JulianChronoLocalDate) o;
+        return this.year == that.year &&
+                this.month == that.month &&
+                this.day == that.day;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.getChronology().getId().hashCode() ^ ((this.year << 11) + (this.month << 6) + this.day);
+    }
+
+    /**
+     * Returns the date in the {@code java.time} format, e.g. {@code Julian AD 2024-04-10}.
+     */
+    @Override
+    public String toString() {
+        final int yearOfEra = (int) this.getLong(ChronoField.YEAR_OF_ERA);
+        return this.getChronology() + " " + this.getEra() + " " + yearOfEra +
+                (this.month < 10 ? "-0" : "-") + this.month +
+                (this.day < 10 ? "-0" : "-") + this.day;
+    }
+
+    // </editor-fold>
+}
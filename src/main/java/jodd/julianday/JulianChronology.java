@@ -0,0 +1,177 @@
+package jodd.julianday;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.chrono.AbstractChronology;
+import java.time.chrono.ChronoLocalDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.chrono.Era;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.ValueRange;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The proleptic Julian calendar as {@code java.time} chronology.
+ * <p>
+ * Dates are mapped to the epoch day through the integer Julian Day Number, so all the {@code java.time}
+ * machinery works with Julian dates: formatting and parsing, temporal adjusters, and date arithmetic.
+ * Years are in the range from -999999 to 999999.
+ */
+public final class JulianChronology extends AbstractChronology {
+
+    /**
+     * Singleton instance of the Julian chronology.
+     */
+    public static final JulianChronology INSTANCE = new JulianChronology();
+
+    /**
+     * Julian Day Number of the epoch day 0, 1970-01-01 in the Gregorian calendar.
+     */
+    static final long EPOCH_DAY_0_JDN = 2440588;
+
+    static final int MIN_YEAR = -999_999;
+    static final int MAX_YEAR = 999_999;
+
+    private JulianChronology() {
+    }
+
+    @Override
+    public String getId() {
+        return "Julian";
+    }
+
+    /**
+     * Returns {@code null}, as there is no calendar type for the Julian calendar in the Unicode Locale Data Markup Language.
+     */
+    @Override
+    public String getCalendarType() {
+        return null;
+    }
+
+    // <editor-fold desc="Dates">
+
+    @Override
+    public JulianChronoLocalDate date(final Era era, final int yearOfEra, final int month, final int dayOfMonth) {
+        return this.date(this.prolepticYear(era, yearOfEra), month, dayOfMonth);
+    }
+
+    @Override
+    public JulianChronoLocalDate date(final int prolepticYear, final int month, final int dayOfMonth) {
+        return JulianChronoLocalDate.of(prolepticYear, month, dayOfMonth);
+    }
+
+    @Override
+    public JulianChronoLocalDate dateYearDay(final Era era, final int yearOfEra, final int dayOfYear) {
+        return this.dateYearDay(this.prolepticYear(era, yearOfEra), dayOfYear);
+    }
+
+    @Override
+    public JulianChronoLocalDate dateYearDay(final int prolepticYear, final int dayOfYear) {
+        return JulianChronoLocalDate.ofYearDay(prolepticYear, dayOfYear);
+    }
+
+    @Override
+    public JulianChronoLocalDate dateEpochDay(final long epochDay) {
+        return JulianChronoLocalDate.ofEpochDay(epochDay);
+    }
+
+    @Override
+    public JulianChronoLocalDate dateNow() {
+        return this.dateNow(Clock.systemDefaultZone());
+    }
+
+    @Override
+    public JulianChronoLocalDate dateNow(final ZoneId zone) {
+        return this.dateNow(Clock.system(zone));
+    }
+
+    @Override
+    public JulianChronoLocalDate dateNow(final Clock clock) {
+        return this.date(LocalDate.now(clock));
+    }
+
+    @Override
+    public JulianChronoLocalDate date(final TemporalAccessor temporal) {
+        if (temporal instanceof JulianChronoLocalDate) {
+            return (JulianChronoLocalDate) temporal;
+        }
+        return JulianChronoLocalDate.ofEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoLocalDateTime<JulianChronoLocalDate> localDateTime(final TemporalAccessor temporal) {
+        return (ChronoLocalDateTime<JulianChronoLocalDate>) super.localDateTime(temporal);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoZonedDateTime<JulianChronoLocalDate> zonedDateTime(final TemporalAccessor temporal) {
+        return (ChronoZonedDateTime<JulianChronoLocalDate>) super.zonedDateTime(temporal);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Years and eras">
+
+    /**
+     * Returns {@code true} if the proleptic year is a leap year: every fourth year, without exceptions.
+     */
+    @Override
+    public boolean isLeapYear(final long prolepticYear) {
+        return (prolepticYear & 3) == 0;
+    }
+
+    @Override
+    public int prolepticYear(final Era era, final int yearOfEra) {
+        if (!(era instanceof JulianEra)) {
+            throw new ClassCastException("Era must be JulianEra");
+        }
+        return era == JulianEra.AD ? yearOfEra : 1 - yearOfEra;
+    }
+
+    @Override
+    public JulianEra eraOf(final int eraValue) {
+        return JulianEra.of(eraValue);
+    }
+
+    @Override
+    public List<Era> eras() {
+        return Arrays.asList(JulianEra.values());
+    }
+
+    @Override
+    public ValueRange range(final ChronoField field) {
+        switch (field) {
+            case YEAR:
+                return ValueRange.of(MIN_YEAR, MAX_YEAR);
+            case YEAR_OF_ERA:
+                return ValueRange.of(1, MAX_YEAR, 1 - MIN_YEAR);
+            case PROLEPTIC_MONTH:
+                return ValueRange.of(MIN_YEAR * 12L, MAX_YEAR * 12L + 11);
+            case EPOCH_DAY:
+                return ValueRange.of(
+                        CalendarSystem.JULIAN.toJdn(MIN_YEAR, 1, 1) - EPOCH_DAY_0_JDN,
+                        CalendarSystem.JULIAN.toJdn(MAX_YEAR, 12, 31) - EPOCH_DAY_0_JDN);
+            default:
+                return field.range();
+        }
+    }
+
+    // </editor-fold>
+
+    /**
+     * Checks the value of a field against the range of this chronology.
+     */
+    int checkValidIntValue(final long value, final ChronoField field) {
+        return this.range(field).checkValidIntValue(value, field);
+    }
+
+    @Override
+    public String toString() {
+        return this.getId();
+    }
+}
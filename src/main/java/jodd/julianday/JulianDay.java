@@ -1,19 +1,22 @@
 package jodd.julianday;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
-import static jodd.julianday.JulianDayFunctions.gregorianToJd;
+import jodd.julianday.Instrumentation.Operation;
+
+import static java.lang.StrictMath.abs;
+import static jodd.julianday.JulianDayFunctions.MICROS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.NANOS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.dayPlusMicros;
 import static jodd.julianday.JulianDayFunctions.hmsj;
-import static jodd.julianday.JulianDayFunctions.jdToGregorian;
-import static jodd.julianday.JulianDayFunctions.jdToJulian;
-import static jodd.julianday.JulianDayFunctions.jhms;
-import static jodd.julianday.JulianDayFunctions.julianDay;
-import static jodd.julianday.JulianDayFunctions.julianToJd;
+import static jodd.julianday.JulianDayFunctions.timePlusMicros;
 
-public class JulianDay {
+public class JulianDay implements Comparable<JulianDay> {
 
     /**
      * Julian Day when Reduced Julian Day (RJD) is 0.
@@ -33,13 +36,22 @@ public class JulianDay {
      */
     public static final JulianDay TRUNCATED_JULIAN_DAY_0 = new JulianDay(2440000, 0.5);
 
-    private final DayValue value;
+    /**
+     * Integer part of the Julian Day. Day and time are stored inline, so the instance
+     * is a single object; {@link DayValue} is created only when requested.
+     */
+    private final int day;
+
+    /**
+     * Fraction part of the Julian Day, in [0.0, 1.0) range.
+     */
+    private final double time;
 
     /**
      * Returns integer part of the Julian Day.
      */
     public int day() {
-        return this.value.day();
+        return this.day;
     }
 
     /**
@@ -47,7 +59,7 @@ public class JulianDay {
      * The returned value is always in [0.0, 1.0) range.
      */
     public double time() {
-        return this.value.time();
+        return this.time;
     }
 
     /**
@@ -56,10 +68,7 @@ public class JulianDay {
      * It is calculated by rounding to the nearest integer.
      */
     public int julianDayNumber() {
-        if (this.value.time() >= 0.5) {
-            return this.day() + 1;
-        }
-        return this.day();
+        return JulianDayNumber.of(this.day(), this.time());
     }
 
     /**
@@ -72,54 +81,255 @@ public class JulianDay {
         final double timeCorrected = time - timeDays;
 
         if (timeCorrected < 0) {
-            this.value = new DayValue(daysCorrected - 1, timeCorrected + 1);
+            this.day = daysCorrected - 1;
+            this.time = timeCorrected + 1;
         } else {
-            this.value = new DayValue(daysCorrected, timeCorrected);
+            this.day = daysCorrected;
+            this.time = timeCorrected;
         }
     }
 
+    // <editor-fold desc="Calendar fields">
+
+    // Fields are not memoized on the instance, so a Julian Day stays a single object of an int and a double.
+    // Each accessor converts the Julian Day again, with integer arithmetic, and the dates of repeated days
+    // are memoized by the installed CalendarDateCache. Use fields() to read many fields at once.
+
+    /**
+     * Returns all calendar fields, calculated at once. Accessors of this class are not memoized
+     * and each converts the Julian Day again, so use the returned snapshot to read many fields.
+     */
+    public CalendarFields fields() {
+        return new CalendarFields(this);
+    }
+
+    /**
+     * Returns the year in the Gregorian calendar.
+     */
+    public int gregorianYear() {
+        return PackedDateTime.year(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the month in the Gregorian calendar, from 1 to 12.
+     */
+    public int month() {
+        return PackedDateTime.month(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the day of month in the Gregorian calendar.
+     */
+    public int dayOfMonth() {
+        return PackedDateTime.dayOfMonth(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the year in the Julian calendar.
+     */
+    public int julianYear() {
+        return PackedDateTime.year(this.toJulianFields());
+    }
+
+    /**
+     * Returns the month in the Julian calendar, from 1 to 12.
+     */
+    public int julianMonth() {
+        return PackedDateTime.month(this.toJulianFields());
+    }
+
+    /**
+     * Returns the day of month in the Julian calendar.
+     */
+    public int julianDayOfMonth() {
+        return PackedDateTime.dayOfMonth(this.toJulianFields());
+    }
+
+    /**
+     * Returns the hour of the civil day.
+     */
+    public int hour() {
+        return PackedDateTime.hour(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the minute of the hour.
+     */
+    public int minute() {
+        return PackedDateTime.minute(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the second of the minute.
+     */
+    public int second() {
+        return PackedDateTime.second(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the millisecond of the second.
+     */
+    public int millisecond() {
+        return PackedDateTime.millisecond(this.toGregorianFields());
+    }
+
+    /**
+     * Returns the Gregorian calendar date and time packed as {@link PackedDateTime}, without creating any object.
+     */
+    public long toGregorianFields() {
+        return JulianDayFunctions.jdToGregorianDateTime(this);
+    }
+
+    /**
+     * Returns the Julian calendar date and time packed as {@link PackedDateTime}, without creating any object.
+     */
+    public long toJulianFields() {
+        return JulianDayFunctions.jdToJulianDateTime(this);
+    }
+
+    /**
+     * Returns the Julian Day Number of the civil day, rounded to the millisecond as the calendar fields are,
+     * so all the fields agree on the day.
+     */
+    private int civilDayNumber() {
+        return (int) JulianDayFunctions.civilJdn(this.day, this.time);
+    }
+
+    /**
+     * Returns the day of the week. It is the same in both Gregorian and Julian calendars.
+     */
+    public DayOfWeek dayOfWeek() {
+        return DayOfWeek.of(JulianDayNumber.dayOfWeek(this.civilDayNumber()));
+    }
+
+    /**
+     * Returns the day of the year in the Gregorian calendar, starting from 1.
+     */
+    public int dayOfYear() {
+        return JulianDayNumber.dayOfYear(this.civilDayNumber());
+    }
+
+    /**
+     * Returns the ISO week-based year.
+     */
+    public int isoWeekBasedYear() {
+        return JulianDayNumber.isoWeekBasedYear(this.civilDayNumber());
+    }
+
+    /**
+     * Returns the ISO week of the week-based year, from 1 to 53.
+     */
+    public int isoWeekOfWeekBasedYear() {
+        return JulianDayNumber.isoWeekOfWeekBasedYear(this.civilDayNumber());
+    }
+
+    // </editor-fold>
+
     // <editor-fold desc="Arithmetic">
 
     /**
      * Adds another Julian Day to this one.
      */
     public JulianDay add(final JulianDay jd) {
-        return new JulianDay(this.day() + jd.day(), this.time() + jd.time());
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(this.day + jd.day(), this.time + jd.time());
+        Instrumentation.stop(Operation.ADD, start);
+        return result;
     }
 
     /**
      * Adds days to this Julian Day.
      */
     public JulianDay add(final double days) {
-        return new JulianDay(this.day() + (int) days, this.time() + (days - (int) days));
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(this.day + (int) days, this.time + (days - (int) days));
+        Instrumentation.stop(Operation.ADD, start);
+        return result;
     }
 
     /**
      * Adds days to this Julian Day.
      */
     public JulianDay add(final DayValue value) {
-        return new JulianDay(this.day() + value.day(), this.time() + value.time());
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(this.day + value.day(), this.time + value.time());
+        Instrumentation.stop(Operation.ADD, start);
+        return result;
     }
 
     /**
      * Subtracts another Julian Day from this one.
      */
     public JulianDay subtract(final JulianDay jd) {
-        return new JulianDay(this.day() - jd.day(), this.time() - jd.time());
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(this.day - jd.day(), this.time - jd.time());
+        Instrumentation.stop(Operation.SUBTRACT, start);
+        return result;
     }
 
     /**
      * Subtracts days from this Julian Day.
      */
     public JulianDay subtract(final double days) {
-        return new JulianDay(this.day() - (int) days, this.time() - (days - (int) days));
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(this.day - (int) days, this.time - (days - (int) days));
+        Instrumentation.stop(Operation.SUBTRACT, start);
+        return result;
     }
 
     /**
      * Subtracts days from this Julian Day.
      */
     public JulianDay subtract(final DayValue value) {
-        return new JulianDay(this.day() - value.day(), this.time() - value.time());
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(this.day - value.day(), this.time - value.time());
+        Instrumentation.stop(Operation.SUBTRACT, start);
+        return result;
+    }
+
+    /**
+     * Adds exact duration to this Julian Day. The fraction is rounded to the microsecond,
+     * and the sum is carried into the day as an integer, see {@link JulianDuration}.
+     */
+    public JulianDay plus(final JulianDuration duration) {
+        final long start = Instrumentation.start();
+        final long micros = duration.toMicros();
+        final JulianDay result = new JulianDay(dayPlusMicros(this.day, this.time, micros), timePlusMicros(this.time, micros));
+        Instrumentation.stop(Operation.ADD, start);
+        return result;
+    }
+
+    /**
+     * Subtracts exact duration from this Julian Day, see {@link #plus(JulianDuration)}.
+     */
+    public JulianDay minus(final JulianDuration duration) {
+        final long start = Instrumentation.start();
+        final long micros = Math.negateExact(duration.toMicros());
+        final JulianDay result = new JulianDay(dayPlusMicros(this.day, this.time, micros), timePlusMicros(this.time, micros));
+        Instrumentation.stop(Operation.SUBTRACT, start);
+        return result;
+    }
+
+    /**
+     * Returns exact duration from this Julian Day to the given one, see {@link JulianDuration#between(JulianDay, JulianDay)}.
+     */
+    public JulianDuration until(final JulianDay end) {
+        return JulianDuration.between(this, end);
+    }
+
+    /**
+     * Returns a lazy range of Julian Days, from start (inclusive) to end (exclusive), with the given step.
+     * Each element is calculated as {@code start + i * step}, so there is no drift.
+     */
+    public static JulianDayRange range(final JulianDay start, final JulianDay endExclusive, final DayValue step) {
+        return new JulianDayRange(start, endExclusive, step);
+    }
+
+    /**
+     * Returns a lazy range of Julian Days, from start (inclusive) to end (exclusive), with the given step in days.
+     */
+    public static JulianDayRange range(final JulianDay start, final JulianDay endExclusive, final double step) {
+        return new JulianDayRange(start, endExclusive, DayValue.of(step));
     }
 
     // </editor-fold>
@@ -131,45 +341,121 @@ public class JulianDay {
      * <b>Warning:</b> double values are not precise enough to represent all Julian Days.
      */
     public double toDouble() {
-        return this.value.toDouble();
+        return this.day + this.time;
     }
 
     /**
      * Converts Julian Day to BigDecimal.
      */
     public BigDecimal toBigDecimal() {
-        return this.value.toBigDecimal();
+        final long start = Instrumentation.start();
+        final BigDecimal result = new BigDecimal(this.day).add(new BigDecimal(this.time));
+        Instrumentation.stop(Operation.TO_BIG_DECIMAL, start);
+        return result;
     }
 
     /**
      * Converts Julian Day to Julian calendar date.
      */
     public JulianDateTime toJulianDate() {
-        final int[] d = jdToJulian(this);
-        final int[] t = jhms(this);
-        return new JulianDateTime(d[0], d[1], d[2], t[0], t[1], t[2], t[3]);
+        final long start = Instrumentation.start();
+        final JulianDateTime result = PackedDateTime.toJulianDateTime(this.toJulianFields());
+        Instrumentation.stop(Operation.TO_JULIAN_DATE, start);
+        return result;
     }
 
     /**
-     * Converts Julian Day to Gregorian calendar date.
+     * Converts Julian Day to Gregorian calendar date, rounded to the nearest millisecond.
      */
     public LocalDateTime toGregorianDate() {
-        final int[] d = jdToGregorian(this);
-        final int[] t = jhms(this);
-        return LocalDateTime.of(d[0], d[1], d[2], t[0], t[1], t[2], t[3] * 1_000_000);
+        final long start = Instrumentation.start();
+        final LocalDateTime result = PackedDateTime.toLocalDateTime(this.toGregorianFields());
+        Instrumentation.stop(Operation.TO_GREGORIAN_DATE, start);
+        return result;
+    }
+
+    /**
+     * Converts Julian Day to Gregorian calendar date, rounded to the nearest nanosecond.
+     * Julian Day created from a local date time gives the same local date time back.
+     */
+    public LocalDateTime toLocalDateTime() {
+        final long start = Instrumentation.start();
+        final long nanos = JulianDayFunctions.civilNanos(this.time);
+        final long date = JulianDayFunctions.gregorianDateOf(nanos >= NANOS_IN_DAY ? this.day + 1 : this.day);
+        final LocalDateTime result = LocalDateTime.of(
+                LocalDate.of(PackedDateTime.year(date), PackedDateTime.month(date), PackedDateTime.dayOfMonth(date)),
+                LocalTime.ofNanoOfDay(nanos % NANOS_IN_DAY));
+        Instrumentation.stop(Operation.TO_LOCAL_DATE_TIME, start);
+        return result;
     }
 
     /**
-     * Converts Julian Day to an instant.
+     * Converts Julian Day to the date of any calendar system. The date is the civil day
+     * of the Julian Day, the same as in {@link #toGregorianDate()}.
+     */
+    public CalendarDateTime toCalendarDate(final CalendarSystem calendar) {
+        final long start = Instrumentation.start();
+        final long g = this.toGregorianFields();
+        final int jdn = CalendarSystem.GREGORIAN.toJdn(PackedDateTime.year(g), PackedDateTime.month(g), PackedDateTime.dayOfMonth(g));
+        final long date = calendar.fromJdn(jdn);
+        final CalendarDateTime result = new CalendarDateTime(calendar,
+                PackedDateTime.year(date), PackedDateTime.month(date), PackedDateTime.dayOfMonth(date),
+                PackedDateTime.hour(g), PackedDateTime.minute(g), PackedDateTime.second(g), PackedDateTime.millisecond(g));
+        Instrumentation.stop(Operation.TO_CALENDAR_DATE, start);
+        return result;
+    }
+
+    /**
+     * Converts Julian Day to an instant, rounded to the nearest nanosecond.
      */
     public Instant toInstant() {
-        return Instant.ofEpochMilli(this.toUnixMilliseconds());
+        final long start = Instrumentation.start();
+        final Instant result = Instant.ofEpochSecond(
+                JulianDayFunctions.epochSecond(this.day, this.time), JulianDayFunctions.nanoOfSecond(this.time));
+        Instrumentation.stop(Operation.TO_INSTANT, start);
+        return result;
+    }
+
+    /**
+     * Converts Julian Day to Unix time in seconds, the same as {@link Instant#getEpochSecond()}
+     * of {@link #toInstant()}.
+     */
+    public long toEpochSecond() {
+        final long start = Instrumentation.start();
+        final long result = JulianDayFunctions.epochSecond(this.day, this.time);
+        Instrumentation.stop(Operation.TO_EPOCH_SECOND, start);
+        return result;
+    }
+
+    /**
+     * Converts Julian Day to Unix time in microseconds, rounded to the nearest microsecond.
+     */
+    public long toUnixMicros() {
+        final long start = Instrumentation.start();
+        final long result = JulianDayFunctions.unixMicros(this.day, this.time);
+        Instrumentation.stop(Operation.TO_UNIX_MICROS, start);
+        return result;
+    }
+
+    /**
+     * Converts Julian Day to Unix time in nanoseconds, rounded to the nearest nanosecond.
+     * Throws {@link ArithmeticException} if the value does not fit, i.e. about 292 years away from 1970.
+     */
+    public long toUnixNanos() {
+        final long start = Instrumentation.start();
+        final long result = JulianDayFunctions.unixNanos(this.day, this.time);
+        Instrumentation.stop(Operation.TO_UNIX_NANOS, start);
+        return result;
     }
+
     /**
      * Converts Julian Day to Unix time in milliseconds.
      */
     public long toUnixMilliseconds() {
-        return JulianDayFunctions.toUnixMillis(this);
+        final long start = Instrumentation.start();
+        final long result = JulianDayFunctions.toUnixMillis(this);
+        Instrumentation.stop(Operation.TO_UNIX_MILLISECONDS, start);
+        return result;
     }
 
     /**
@@ -199,59 +485,134 @@ public class JulianDay {
      * <b>Warning:</b> double values are not precise enough to represent all Julian Days.
      */
     public static JulianDay of(final double jd) {
+        final long start = Instrumentation.start();
+        Instrumentation.checkPrecision(Operation.OF_DOUBLE, jd);
         final int integer = (int) jd;
         final double fraction = jd - (double) integer;
-        return new JulianDay(integer, fraction);
+        final JulianDay result = new JulianDay(integer, fraction);
+        Instrumentation.stop(Operation.OF_DOUBLE, start);
+        return result;
     }
 
     /**
      * Creates Julian Day from BigDecimal.
      */
     public static JulianDay of(final BigDecimal bigDecimal) {
+        final long start = Instrumentation.start();
         final double d = bigDecimal.doubleValue();
         final int integer = (int) d;
         final double fraction = bigDecimal.subtract(new BigDecimal(integer)).doubleValue();
-        return new JulianDay(integer, fraction);
+        final JulianDay result = new JulianDay(integer, fraction);
+        Instrumentation.stop(Operation.OF_BIG_DECIMAL, start);
+        return result;
     }
 
     /**
      * Creates Julian Day from Julian calendar date.
      */
     public static JulianDay ofJulianDate(final JulianDateTime jdt) {
-        final double jd = julianToJd(jdt.getYear(), jdt.getMonthValue(), jdt.getDayOfMonth());
+        final long start = Instrumentation.start();
+        final int jdn = CalendarSystem.JULIAN.toJdn(jdt.getYear(), jdt.getMonthValue(), jdt.getDayOfMonth());
         final double jt = hmsj(jdt.getHour(), jdt.getMinute(), jdt.getSecond(), jdt.getMillisecond());
-        return julianDay(jd, jt);
+        final JulianDay result = new JulianDay(jdn - 1, 0.5 + jt);
+        Instrumentation.stop(Operation.OF_JULIAN_DATE, start);
+        return result;
     }
 
     /**
      * Creates Julian Day from a Gregorian calendar date.
      */
     public static JulianDay ofGregorianDate(final LocalDateTime ldt) {
-        final double jd = gregorianToJd(ldt.getYear(), ldt.getMonthValue(), ldt.getDayOfMonth());
-        final double jt = hmsj(ldt.getHour(), ldt.getMinute(), ldt.getSecond(), ldt.getNano() / 1_000_000);
-        return julianDay(jd, jt);
+        final long start = Instrumentation.start();
+        final int jdn = CalendarSystem.GREGORIAN.toJdn(ldt.getYear(), ldt.getMonthValue(), ldt.getDayOfMonth());
+        final double jt = ldt.toLocalTime().toNanoOfDay() / (double) NANOS_IN_DAY;
+        final JulianDay result = new JulianDay(jdn - 1, 0.5 + jt);
+        Instrumentation.stop(Operation.OF_GREGORIAN_DATE, start);
+        return result;
     }
 
     /**
      * Creates Julian Day from a Gregorian calendar date.
      */
     public static JulianDay ofGregorianDate(final LocalDate ld) {
-        final double jd = gregorianToJd(ld.getYear(), ld.getMonthValue(), ld.getDayOfMonth());
-        return julianDay(jd, 0);
+        final long start = Instrumentation.start();
+        final int jdn = CalendarSystem.GREGORIAN.toJdn(ld.getYear(), ld.getMonthValue(), ld.getDayOfMonth());
+        final JulianDay result = new JulianDay(jdn - 1, 0.5);
+        Instrumentation.stop(Operation.OF_GREGORIAN_DATE, start);
+        return result;
+    }
+
+    /**
+     * Creates Julian Day from the date of any calendar system.
+     */
+    public static JulianDay ofCalendarDate(final CalendarDateTime cdt) {
+        final long start = Instrumentation.start();
+        final int jdn = cdt.julianDayNumber();
+        final double jt = hmsj(cdt.getHour(), cdt.getMinute(), cdt.getSecond(), cdt.getMillisecond());
+        // the civil day starts at the midnight before the noon of its JDN
+        final JulianDay result = new JulianDay(jdn - 1, 0.5 + jt);
+        Instrumentation.stop(Operation.OF_CALENDAR_DATE, start);
+        return result;
     }
 
     /**
      * Creates Julian Day from Unix time in milliseconds.
      */
     public static JulianDay ofUnixMilliseconds(final long milliseconds) {
-        return JulianDay.of(JulianDayFunctions.fromUnixMillis(milliseconds));
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(
+                JulianDayFunctions.dayOfUnixMillis(milliseconds), JulianDayFunctions.timeOfUnixMillis(milliseconds));
+        Instrumentation.stop(Operation.OF_UNIX_MILLISECONDS, start);
+        return result;
     }
 
     /**
-     * Creates Julian Day from an instant.
+     * Creates Julian Day from Unix time in microseconds.
+     */
+    public static JulianDay ofUnixMicros(final long micros) {
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(
+                JulianDayFunctions.dayOfUnixTime(micros, MICROS_IN_DAY), JulianDayFunctions.timeOfUnixTime(micros, MICROS_IN_DAY));
+        Instrumentation.stop(Operation.OF_UNIX_MICROS, start);
+        return result;
+    }
+
+    /**
+     * Creates Julian Day from Unix time in nanoseconds.
+     */
+    public static JulianDay ofUnixNanos(final long nanos) {
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(
+                JulianDayFunctions.dayOfUnixTime(nanos, NANOS_IN_DAY), JulianDayFunctions.timeOfUnixTime(nanos, NANOS_IN_DAY));
+        Instrumentation.stop(Operation.OF_UNIX_NANOS, start);
+        return result;
+    }
+
+    /**
+     * Creates Julian Day from Unix time in seconds and the nanosecond adjustment,
+     * the same way as {@link Instant#ofEpochSecond(long, long)}.
+     */
+    public static JulianDay ofEpochSecond(final long epochSecond, final int nanoAdjustment) {
+        final long start = Instrumentation.start();
+        final JulianDay result = new JulianDay(
+                JulianDayFunctions.dayOfEpochSecond(epochSecond, nanoAdjustment),
+                JulianDayFunctions.timeOfEpochSecond(epochSecond, nanoAdjustment));
+        Instrumentation.stop(Operation.OF_EPOCH_SECOND, start);
+        return result;
+    }
+
+    /**
+     * Creates Julian Day from an instant, keeping its nanoseconds.
      */
     public static JulianDay ofInstant(final Instant instant) {
-        return JulianDay.ofUnixMilliseconds(instant.toEpochMilli());
+        final long start = Instrumentation.start();
+        final long epochSecond = instant.getEpochSecond();
+        final int nano = instant.getNano();
+        final JulianDay result = new JulianDay(
+                JulianDayFunctions.dayOfEpochSecond(epochSecond, nano),
+                JulianDayFunctions.timeOfEpochSecond(epochSecond, nano));
+        Instrumentation.stop(Operation.OF_INSTANT, start);
+        return result;
     }
 
     /**
@@ -268,29 +629,36 @@ public class JulianDay {
     /**
      * Returns the precise value of this Julian Day.
      */
-    private DayValue value() {
-        return this.value;
+    public DayValue value() {
+        return new DayValue(this.day, this.time);
+    }
+
+    /**
+     * Returns the precise value of days since the given epoch, without creating the intermediate Julian Day.
+     */
+    public DayValue valueAs(final Epoch epoch) {
+        return epoch.valueOf(this);
     }
 
     /**
      * Returns the precise value of this Julian Day as Reduced Julian Day (RJD).
      */
     public DayValue valueAsReducedJulianDay() {
-        return this.subtract(REDUCED_JULIAN_DAY_0).value();
+        return Epoch.REDUCED_JULIAN_DAY.valueOf(this);
     }
 
     /**
      * Returns the precise value of this Julian Day as Modified Julian Day (MJD).
      */
     public DayValue valueAsModifiedJulianDay() {
-        return this.subtract(MODIFIED_JULIAN_DAY_0).value();
+        return Epoch.MODIFIED_JULIAN_DAY.valueOf(this);
     }
 
     /**
      * Returns the precise value of this Julian Day as truncated Julian Day (TJD).
      */
     public DayValue valueAsTruncatedJulianDay() {
-        return this.subtract(TRUNCATED_JULIAN_DAY_0).value();
+        return Epoch.TRUNCATED_JULIAN_DAY.valueOf(this);
     }
 
     /**
@@ -300,42 +668,61 @@ public class JulianDay {
         return new JulianDay(value.day(), value.time());
     }
 
+    /**
+     * Creates Julian Day from the precise value of days since the given epoch.
+     */
+    public static JulianDay of(final Epoch epoch, final DayValue value) {
+        return epoch.toJulianDay(value);
+    }
+
     /**
      * Creates Julian Day from the precise value of Reduced Julian Day (RJD).
      */
     public static JulianDay ofReducedJulianDay(final DayValue value) {
-        return JulianDay.REDUCED_JULIAN_DAY_0.add(value);
+        return Epoch.REDUCED_JULIAN_DAY.toJulianDay(value);
     }
 
     public static JulianDay ofReducedJulianDay(final double value) {
-        return ofReducedJulianDay(DayValue.of(value));
+        return ofEpochDouble(Epoch.REDUCED_JULIAN_DAY, value);
     }
 
     /**
      * Creates Julian Day from the precise value of Modified Julian Day (MJD).
      */
     public static JulianDay ofModifiedJulianDay(final DayValue value) {
-        return JulianDay.MODIFIED_JULIAN_DAY_0.add(value);
+        return Epoch.MODIFIED_JULIAN_DAY.toJulianDay(value);
     }
 
     public static JulianDay ofModifiedJulianDay(final double value) {
-        return ofModifiedJulianDay(DayValue.of(value));
+        return ofEpochDouble(Epoch.MODIFIED_JULIAN_DAY, value);
     }
 
     /**
      * Creates Julian Day from the precise value of truncated Julian Day (TJD).
      */
     public static JulianDay ofTruncatedJulianDay(final DayValue value) {
-        return JulianDay.TRUNCATED_JULIAN_DAY_0.add(value);
+        return Epoch.TRUNCATED_JULIAN_DAY.toJulianDay(value);
     }
 
     public static JulianDay ofTruncatedJulianDay(final double value) {
-        return ofTruncatedJulianDay(DayValue.of(value));
+        return ofEpochDouble(Epoch.TRUNCATED_JULIAN_DAY, value);
+    }
+
+    /**
+     * Creates Julian Day from the double value of days since the given epoch,
+     * that is checked for the precision loss the same as {@link #of(double)}.
+     */
+    private static JulianDay ofEpochDouble(final Epoch epoch, final double value) {
+        final long start = Instrumentation.start();
+        Instrumentation.checkPrecision(Operation.OF_EPOCH_DOUBLE, value);
+        final JulianDay result = epoch.toJulianDay(DayValue.of(value));
+        Instrumentation.stop(Operation.OF_EPOCH_DOUBLE, start);
+        return result;
     }
 
     // </editor-fold>
 
-    // <editor-fold desc="equals & hashCode & clone" defaultstate="collapsed">
+    // <editor-fold desc="equals & hashCode & compare & clone" defaultstate="collapsed">
 
     @Override
     public boolean equals(final Object object) {
@@ -346,12 +733,22 @@ public class JulianDay {
             return false;
         }
         final JulianDay stamp = (JulianDay) object;
-        return  this.value.equals(stamp.value);
+        return this.day == stamp.day &&
+                abs(this.time - stamp.time) < 1e-10;
     }
 
     @Override
     public int hashCode() {
-        return this.value.hashCode();
+        return 31 * (31 + Integer.hashCode(this.day)) + Double.hashCode(this.time);
+    }
+
+    /**
+     * Compares Julian Days by their exact values. Note that {@link #equals(Object)} is more tolerant,
+     * so Julian Days that are different by a tiny fraction may be equal but still not compare as 0.
+     */
+    @Override
+    public int compareTo(final JulianDay other) {
+        return JulianDayFunctions.compare(this.day(), this.time(), other.day(), other.time());
     }
 
     @Override
@@ -0,0 +1,377 @@
+package jodd.julianday;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static jodd.julianday.JulianDayFunctions.compare;
+
+/**
+ * Stored column of Julian Days, split into blocks of fixed number of values. Each block keeps the integer days
+ * and the fractions of its values, and the header of the column keeps the minimum and the maximum of each block
+ * (a zone map). Range scans check the zone map first, skip the blocks that are out of the range, and decode only
+ * the blocks that may have matching values. Blocks may also be grouped, so a sparse top-level index of groups
+ * skips many blocks at once.
+ * <p>
+ * Skipping works best when values are sorted or clustered in time, like timestamps of appended events.
+ * <p>
+ * The column is stored in a single buffer, that may be a memory-mapped file. The file format is a header
+ * of 32 bytes, the block index, the group index and the blocks, all big-endian. Instances are immutable
+ * and thread-safe.
+ */
+public class JulianDayColumn {
+
+    /**
+     * Result of a range scan.
+     */
+    public static class ScanResult {
+        private final long rows;
+        private final int blocksScanned;
+        private final int blocksSkipped;
+
+        ScanResult(final long rows, final int blocksScanned, final int blocksSkipped) {
+            this.rows = rows;
+            this.blocksScanned = blocksScanned;
+            this.blocksSkipped = blocksSkipped;
+        }
+
+        /**
+         * Returns the number of values in the range.
+         */
+        public long rows() {
+            return this.rows;
+        }
+
+        /**
+         * Returns the number of blocks that were decoded.
+         */
+        public int blocksScanned() {
+            return this.blocksScanned;
+        }
+
+        /**
+         * Returns the number of blocks that were not decoded.
+         */
+        public int blocksSkipped() {
+            return this.blocksSkipped;
+        }
+
+        @Override
+        public String toString() {
+            return "ScanResult{" +
+                    "rows=" + this.rows +
+                    ", blocksScanned=" + this.blocksScanned +
+                    ", blocksSkipped=" + this.blocksSkipped +
+                    '}';
+        }
+    }
+
+    private static final int MAGIC = 0x4A445A4D;    // "JDZM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int ZONE_SIZE = 24;
+    private static final int VALUE_SIZE = Integer.BYTES + Double.BYTES;
+
+    private final ByteBuffer buffer;
+    private final long size;
+    private final int blockSize;
+    private final int blockCount;
+    private final int groupSize;
+    private final int groupCount;
+    private final int groupIndexOffset;
+    private final int dataOffset;
+
+    private JulianDayColumn(final ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a Julian Day column");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported column version: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.blockSize = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+        this.size = buffer.getLong(16);
+        this.groupSize = buffer.getInt(24);
+        if (this.blockSize <= 0 || this.blockCount < 0 || this.groupSize < 0
+                || this.size > (long) this.blockSize * this.blockCount || this.size <= (long) this.blockSize * (this.blockCount - 1)) {
+            throw new IllegalArgumentException("Invalid column layout");
+        }
+        this.groupCount = this.groupSize == 0 ? 0 : (this.blockCount + this.groupSize - 1) / this.groupSize;
+        this.groupIndexOffset = HEADER_SIZE + this.blockCount * ZONE_SIZE;
+        this.dataOffset = this.groupIndexOffset + this.groupCount * ZONE_SIZE;
+        if (buffer.capacity() != this.dataOffset + (long) this.blockCount * this.blockSize * VALUE_SIZE) {
+            throw new IllegalArgumentException("Invalid column size: " + buffer.capacity());
+        }
+    }
+
+    /**
+     * Creates the column of Julian Days, given as integer days and fractions in [0, 1) range, in blocks of
+     * given size. When the group size is positive, the top-level index has the zones of each group of that many
+     * blocks; 0 means no top-level index.
+     */
+    public static JulianDayColumn of(final int[] days, final double[] times, final int blockSize, final int groupSize) {
+        if (days.length != times.length) {
+            throw new IllegalArgumentException("Days and times differ in length");
+        }
+        if (blockSize <= 0 || groupSize < 0) {
+            throw new IllegalArgumentException("Invalid block or group size");
+        }
+        final int blockCount = (days.length + blockSize - 1) / blockSize;
+        final int groupCount = groupSize == 0 ? 0 : (blockCount + groupSize - 1) / groupSize;
+        final long capacity = HEADER_SIZE + (long) (blockCount + groupCount) * ZONE_SIZE + (long) blockCount * blockSize * VALUE_SIZE;
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Column too large: " + capacity + " bytes");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate((int) capacity);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION)
+                .putInt(8, blockSize).putInt(12, blockCount).putLong(16, days.length).putInt(24, groupSize);
+
+        final int dataOffset = HEADER_SIZE + (blockCount + groupCount) * ZONE_SIZE;
+        for (int block = 0; block < blockCount; block++) {
+            final int from = block * blockSize;
+            final int to = Math.min(from + blockSize, days.length);
+            int minDay = days[from];
+            double minTime = times[from];
+            int maxDay = minDay;
+            double maxTime = minTime;
+            final int daysOffset = dataOffset + block * blockSize * VALUE_SIZE;
+            final int timesOffset = daysOffset + blockSize * Integer.BYTES;
+            for (int i = from; i < to; i++) {
+                final double time = times[i];
+                if (!(time >= 0 && time < 1)) {
+                    throw new IllegalArgumentException("Time must be in [0, 1) at " + i + ": " + time);
+                }
+                if (compare(days[i], time, minDay, minTime) < 0) {
+                    minDay = days[i];
+                    minTime = time;
+                }
+                if (compare(days[i], time, maxDay, maxTime) > 0) {
+                    maxDay = days[i];
+                    maxTime = time;
+                }
+                buffer.putInt(daysOffset + (i - from) * Integer.BYTES, days[i]);
+                buffer.putDouble(timesOffset + (i - from) * Double.BYTES, time);
+            }
+            putZone(buffer, zoneOffset(block), minDay, minTime, maxDay, maxTime);
+        }
+
+        final int groupIndexOffset = HEADER_SIZE + blockCount * ZONE_SIZE;
+        for (int group = 0; group < groupCount; group++) {
+            final int first = group * groupSize;
+            final int last = Math.min(first + groupSize, blockCount);
+            int minDay = buffer.getInt(zoneOffset(first));
+            double minTime = buffer.getDouble(zoneOffset(first) + 8);
+            int maxDay = buffer.getInt(zoneOffset(first) + 4);
+            double maxTime = buffer.getDouble(zoneOffset(first) + 16);
+            for (int block = first + 1; block < last; block++) {
+                final int zone = zoneOffset(block);
+                if (compare(buffer.getInt(zone), buffer.getDouble(zone + 8), minDay, minTime) < 0) {
+                    minDay = buffer.getInt(zone);
+                    minTime = buffer.getDouble(zone + 8);
+                }
+                if (compare(buffer.getInt(zone + 4), buffer.getDouble(zone + 16), maxDay, maxTime) > 0) {
+                    maxDay = buffer.getInt(zone + 4);
+                    maxTime = buffer.getDouble(zone + 16);
+                }
+            }
+            putZone(buffer, groupIndexOffset + group * ZONE_SIZE, minDay, minTime, maxDay, maxTime);
+        }
+        return new JulianDayColumn(buffer);
+    }
+
+    private static int zoneOffset(final int block) {
+        return HEADER_SIZE + block * ZONE_SIZE;
+    }
+
+    private static void putZone(final ByteBuffer buffer, final int offset, final int minDay, final double minTime, final int maxDay, final double maxTime) {
+        buffer.putInt(offset, minDay).putInt(offset + 4, maxDay).putDouble(offset + 8, minTime).putDouble(offset + 16, maxTime);
+    }
+
+    // <editor-fold desc="Files">
+
+    /**
+     * Maps the column file into memory. Blocks are read from the file only when they are scanned.
+     */
+    public static JulianDayColumn load(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Column file too large: " + path);
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return new JulianDayColumn(buffer);
+            }
+            catch (final IllegalArgumentException e) {
+                throw new IOException("Invalid column file " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes the column to a file, in the format read by {@link #load(Path)}.
+     */
+    public void save(final Path path) throws IOException {
+        final ByteBuffer source = this.buffer.duplicate();
+        source.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Scans">
+
+    /**
+     * Passes the values in the range [from, to) to the consumer, in the stored order.
+     */
+    public ScanResult scan(final JulianDay from, final JulianDay to, final DayTimeConsumer consumer) {
+        return this.scan(from.day(), from.time(), to.day(), to.time(), consumer);
+    }
+
+    /**
+     * Passes the values in the range [from, to) to the consumer, in the stored order.
+     * Only the blocks whose zones overlap the range are decoded.
+     */
+    public ScanResult scan(final int fromDay, final double fromTime, final int toDay, final double toTime, final DayTimeConsumer consumer) {
+        return this.scan(fromDay, fromTime, toDay, toTime, consumer, false);
+    }
+
+    /**
+     * Counts the values in the range [from, to). Blocks that are completely within the range are counted
+     * from the zone map, without decoding.
+     */
+    public ScanResult count(final JulianDay from, final JulianDay to) {
+        return this.scan(from.day(), from.time(), to.day(), to.time(), null, true);
+    }
+
+    private ScanResult scan(
+            final int fromDay, final double fromTime, final int toDay, final double toTime,
+            final DayTimeConsumer consumer, final boolean countOnly) {
+        long rows = 0;
+        int scanned = 0;
+        int skipped = 0;
+        final int step = this.groupSize == 0 ? this.blockCount : this.groupSize;
+
+        for (int first = 0; first < this.blockCount; first += step) {
+            final int last = Math.min(first + step, this.blockCount);
+            if (this.groupSize != 0
+                    && !this.overlaps(this.groupIndexOffset + first / this.groupSize * ZONE_SIZE, fromDay, fromTime, toDay, toTime)) {
+                skipped += last - first;
+                continue;
+            }
+            for (int block = first; block < last; block++) {
+                final int zone = zoneOffset(block);
+                if (!this.overlaps(zone, fromDay, fromTime, toDay, toTime)) {
+                    skipped++;
+                    continue;
+                }
+                final int length = this.blockLength(block);
+                if (countOnly
+                        && compare(this.buffer.getInt(zone), this.buffer.getDouble(zone + 8), fromDay, fromTime) >= 0
+                        && compare(this.buffer.getInt(zone + 4), this.buffer.getDouble(zone + 16), toDay, toTime) < 0) {
+                    rows += length;
+                    skipped++;
+                    continue;
+                }
+                scanned++;
+                final int daysOffset = this.blockOffset(block);
+                final int timesOffset = daysOffset + this.blockSize * Integer.BYTES;
+                for (int i = 0; i < length; i++) {
+                    final int day = this.buffer.getInt(daysOffset + i * Integer.BYTES);
+                    final double time = this.buffer.getDouble(timesOffset + i * Double.BYTES);
+                    if (compare(day, time, fromDay, fromTime) >= 0 && compare(day, time, toDay, toTime) < 0) {
+                        rows++;
+                        if (consumer != null) {
+                            consumer.accept(day, time);
+                        }
+                    }
+                }
+            }
+        }
+        return new ScanResult(rows, scanned, skipped);
+    }
+
+    /**
+     * Returns {@code true} if the zone [min, max] overlaps the range [from, to).
+     */
+    private boolean overlaps(final int zone, final int fromDay, final double fromTime, final int toDay, final double toTime) {
+        return compare(this.buffer.getInt(zone + 4), this.buffer.getDouble(zone + 16), fromDay, fromTime) >= 0
+                && compare(this.buffer.getInt(zone), this.buffer.getDouble(zone + 8), toDay, toTime) < 0;
+    }
+
+    private int blockLength(final int block) {
+        return block == this.blockCount - 1 ? (int) (this.size - (long) block * this.blockSize) : this.blockSize;
+    }
+
+    // </editor-fold>
+
+    /**
+     * Returns the integer day of the value at given row.
+     */
+    public int day(final long row) {
+        final int block = this.blockOf(row);
+        return this.buffer.getInt(this.blockOffset(block) + (int) (row - (long) block * this.blockSize) * Integer.BYTES);
+    }
+
+    /**
+     * Returns the fraction of the value at given row.
+     */
+    public double time(final long row) {
+        final int block = this.blockOf(row);
+        return this.buffer.getDouble(this.blockOffset(block) + this.blockSize * Integer.BYTES
+                + (int) (row - (long) block * this.blockSize) * Double.BYTES);
+    }
+
+    private int blockOf(final long row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + this.size);
+        }
+        return (int) (row / this.blockSize);
+    }
+
+    /**
+     * Returns the offset of the block, where its days start, followed by its fractions.
+     */
+    private int blockOffset(final int block) {
+        return this.dataOffset + block * this.blockSize * VALUE_SIZE;
+    }
+
+    /**
+     * Returns the number of values.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    public int blockSize() {
+        return this.blockSize;
+    }
+
+    public int blockCount() {
+        return this.blockCount;
+    }
+
+    /**
+     * Returns the number of blocks in each group of the top-level index, or 0 when there is none.
+     */
+    public int groupSize() {
+        return this.groupSize;
+    }
+
+    @Override
+    public String toString() {
+        return "JulianDayColumn{" +
+                "size=" + this.size +
+                ", blockSize=" + this.blockSize +
+                ", blockCount=" + this.blockCount +
+                ", groupSize=" + this.groupSize +
+                '}';
+    }
+}
@@ -1,7 +1,7 @@
 package jodd.julianday;
 
-import static java.lang.StrictMath.floor;
-import static java.lang.StrictMath.round;
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
 
 /**
  * Internal Julian Day calculations.
@@ -9,185 +9,424 @@ import static java.lang.StrictMath.round;
  */
 class JulianDayFunctions {
 
-    static final double GREGORIAN_EPOCH = 1721425.5;
-    static final double J1970 = 2440587.5;
+    /**
+     * Math of all the calculations, unless a converter is given its own.
+     */
+    private static final MathPolicy MATH = MathPolicy.defaultPolicy();
 
     /**
-     * Converts Julian day to Julian calendar date(year, month and day).
+     * Rounds to the nearest integer, with ties rounding up, as {@link Math#round(double)}.
      */
-    static int[] jdToJulian(final JulianDay jd) {
-        final double r = jd.toDouble() + .5;
-        final double t = floor(r);
-        final double n = t + 1524;
-        final double s = floor((n - 122.1) / 365.25);
-        final double o = floor(365.25 * s);
-        final double u = floor((n - o) / 30.6001);
-        final double h = floor(u < 14 ? u - 1 : u - 13);
-        final double i = floor(h > 2 ? s - 4716 : s - 4715);
-        final double l = n - o - floor(30.6001 * u);
-        return new int[]{(int)i, (int)h, (int)l};
+    static long round(final double value) {
+        return MATH.round(value);
+    }
+
+    static double floor(final double value) {
+        return MATH.floor(value);
+    }
+
+    static double ceil(final double value) {
+        return MATH.ceil(value);
     }
 
     /**
-     * Converts Julian calendar date to Julian day.
-     * Algorithm as given in Meeus, Astronomical Algorithms, Chapter 7, page 61.
+     * Converts hour, minutes, seconds and milliseconds to Julian time, a rational day offset.
+     * The millisecond of the day is exact integer, so there is only one (correctly rounded) division.
      */
-    static double julianToJd(int year, int month, final int day) {
-        if (month <= 2) {
-            year--;
-            month += 12;
-        }
+    static double hmsj(final int h, final int m, final int s, final int millis) {
+        return (h * 3_600_000 + m * 60_000 + s * 1_000 + millis) / 86_400_000.0;
+    }
+
+    /**
+     * Returns the time of the civil day of Julian Day, packed as time fields of {@link PackedDateTime};
+     * the date fields are zero. The time is rounded to the nearest millisecond, see {@link #julianMillis(int, double)}.
+     */
+    static long jhms(final JulianDay jd) {
+        final long civilMillis = julianMillis(jd.day(), jd.time()) + MILLIS_IN_DAY / 2;
+        return PackedDateTime.withMillisOfDay(0, (int) floorMod(civilMillis, MILLIS_IN_DAY));
+    }
+
+    /**
+     * Returns the Julian Day Number of the civil day of Julian Day, after rounding to the nearest millisecond,
+     * so it is the same day as in the calendar fields, see {@link #julianMillis(int, double)}.
+     */
+    static long civilJdn(final int day, final double time) {
+        return floorDiv(julianMillis(day, time) + MILLIS_IN_DAY / 2, MILLIS_IN_DAY);
+    }
+
+    /**
+     * Checks if a year is a leap year by following the standard rules from Gregorian calendar:
+     * a year is a leap year if it is divisible by 4, but not by 100, unless it is also divisible by 400.
+     */
+    static boolean isLeapYear(final double year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Checks if a year is a leap year by following the standard rules from Julian calendar:
+     * a year is a leap year if it is divisible by 4.
+     */
+    static boolean isLeapJulianYear(final int julianYear) {
+        return julianYear % 4 == 0;
+    }
+
+    /**
+     * Julian Day Number of the first day of the proleptic Gregorian calendar, 0001-01-01.
+     */
+    static final long GREGORIAN_EPOCH_JDN = 1721426;
+
+    /**
+     * Returns the Julian Day Number of the first day of a year in the proleptic Gregorian calendar.
+     * Integer-only calculation.
+     */
+    static long gregorianYearStartJdn(final long year) {
+        final long y = year - 1;
+        return GREGORIAN_EPOCH_JDN + 365 * y + floorDiv(y, 4) - floorDiv(y, 100) + floorDiv(y, 400);
+    }
+
+    /**
+     * Converts Julian Day Number to the proleptic Gregorian year and the day of that year.
+     * Integer-only calculation. Returned value holds the year in the upper bits,
+     * see {@link #yearOf(long)} and {@link #dayOfYearOf(long)}.
+     */
+    static long jdnToGregorianYearDay(final long jdn) {
+        long days = jdn - GREGORIAN_EPOCH_JDN;
+        final long cycles = floorDiv(days, 146097);
+        days -= cycles * 146097;
+        final long centuries = Math.min(days / 36524, 3);
+        days -= centuries * 36524;
+        final long quads = days / 1461;
+        days -= quads * 1461;
+        final long years = Math.min(days / 365, 3);
+        days -= years * 365;
 
-        return (floor((365.25 * (year + 4716))) +
-                floor((30.6001 * (month + 1))) +
-                day) - 1524.5;
+        final long year = cycles * 400 + centuries * 100 + quads * 4 + years + 1;
+        return (year << 16) | (days + 1);
     }
 
     /**
-     * Converts Julian day to Gregorian calendar date(year, month and day).
+     * Converts Julian Day Number to the proleptic Gregorian date, packed as {@link PackedDateTime} at midnight.
+     * Integer-only calculation.
      */
-    static int[] jdToGregorian(final JulianDay jd) {
-        final double wjd = floor(jd.toDouble() - 0.5) + 0.5;
-        final double depoch = wjd - GREGORIAN_EPOCH;
-        final double quadricent = floor(depoch / 146097);
-        final double dqc = mod(depoch, 146097);
-        final double cent = floor(dqc / 36524);
-        final double dcent = mod(dqc, 36524);
-        final double quad = floor(dcent / 1461);
-        final double dquad = mod(dcent, 1461);
-        final double yindex = floor(dquad / 365);
-        int year = (int) ((quadricent * 400) + (cent * 100) + (quad * 4) + yindex);
-        if (!(cent == 4 || yindex == 4)) {
-            year++;
+    static long jdnToGregorianDate(final long jdn) {
+        final long yearDay = jdnToGregorianYearDay(jdn);
+        final int year = yearOf(yearDay);
+        final int dayIndex = dayOfYearOf(yearDay) - 1;
+        final int leap = isLeapYear(year) ? 1 : 0;
+
+        if (dayIndex < 31) {
+            return PackedDateTime.of(year, 1, dayIndex + 1);
+        }
+        if (dayIndex < 59 + leap) {
+            return PackedDateTime.of(year, 2, dayIndex - 30);
         }
-        final double yearday = wjd - gregorianToJd(year, 1, 1);
-        final double leapadj = (wjd < gregorianToJd(year, 3, 1)) ?
-                0 :
-                (isLeapYear(year) ? 1 : 2);
-        final int month = (int) floor((((yearday + leapadj) * 12) + 373) / 367);
-        final double day = (wjd - gregorianToJd(year, month, 1)) + 1;
+        // months from March on follow the 153-days pattern of five months
+        final int fromMarch = dayIndex - 59 - leap;
+        final int monthIndex = (5 * fromMarch + 2) / 153;
+        final int day = fromMarch - (153 * monthIndex + 2) / 5 + 1;
+        return PackedDateTime.of(year, monthIndex + 3, day);
+    }
 
-        return new int[]{year, month, (int) day};
+    /**
+     * Converts Julian Day Number to the proleptic Julian calendar date, packed as {@link PackedDateTime} at midnight.
+     * Algorithm by E. G. Richards, as given in the Explanatory Supplement to the Astronomical Almanac.
+     */
+    static long jdnToJulianDate(final long jdn) {
+        final long e = 4 * (jdn + 1401) + 3;
+        final long h = 5 * (floorMod(e, 1461) / 4) + 2;
+        final int day = (int) (h % 153 / 5 + 1);
+        final int month = (int) ((h / 153 + 2) % 12 + 1);
+        final int year = (int) (floorDiv(e, 1461) - 4716 + (14 - month) / 12);
+        return PackedDateTime.of(year, month, day);
     }
 
     /**
-     *  Converts Julian time to hour, minutes, seconds and milliseconds,
-     *  returned as a four-element array.
+     * Returns the year from the value returned by {@link #jdnToGregorianYearDay(long)}.
      */
-    static int[] jhms(final JulianDay jd) {
-        final double civil = jd.time() + 0.5;            // astronomical to civil
+    static int yearOf(final long yearDay) {
+        return (int) (yearDay >> 16);
+    }
 
-        final double a = (civil - floor(civil)) * 86400 + 0.5;
-        int h = (int) floor(a / 3600);
-        int m = (int) floor(a / 60 % 60);
-        final double sm = a % 60;    // seconds with millis
-        int s = (int) floor(sm);
-        final double millis = ((sm - s - 0.5) * 1000);
-        int roundedMillis = (int) round(millis);
+    /**
+     * Returns the day of year from the value returned by {@link #jdnToGregorianYearDay(long)}.
+     */
+    static int dayOfYearOf(final long yearDay) {
+        return (int) (yearDay & 0xFFFF);
+    }
 
-        if (roundedMillis < 0) {
-            roundedMillis += 1000;
-            s--;
+    /**
+     * Returns the number of days in a month of the proleptic Gregorian calendar.
+     */
+    static int gregorianMonthLength(final int year, final int month) {
+        if (month == 2) {
+            return isLeapYear(year) ? 29 : 28;
         }
-        if (s < 0) {
-            s += 60;
-            m--;
+        return monthLength(month);
+    }
+
+    /**
+     * Returns the number of days in a month of the proleptic Julian calendar.
+     */
+    static int julianMonthLength(final int year, final int month) {
+        if (month == 2) {
+            return isLeapJulianYear(year) ? 29 : 28;
         }
-        if (m < 0) {
-            m += 60;
-            h--;
+        return monthLength(month);
+    }
+
+    /**
+     * Returns the number of days in a month that is not February, common to both calendars.
+     */
+    private static int monthLength(final int month) {
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * Compares two day values given as integer and fraction parts.
+     * Fractions are expected to be normalized, i.e. in [0, 1) range.
+     */
+    static int compare(final int day1, final double time1, final int day2, final double time2) {
+        if (day1 != day2) {
+            return day1 < day2 ? -1 : 1;
         }
+        return Double.compare(time1, time2);
+    }
 
-        return new int[] {h, m, s, roundedMillis};
+    /**
+     * Returns the rounding error of the product {@code p = a * b}, so that {@code a * b == p + error} exactly.
+     * This is Dekker's algorithm, it does not require a fused multiply-add.
+     */
+    static double productError(final double a, final double b, final double p) {
+        final double ca = 134217729.0 * a;
+        final double aHi = ca - (ca - a);
+        final double aLo = a - aHi;
+        final double cb = 134217729.0 * b;
+        final double bHi = cb - (cb - b);
+        final double bLo = b - bHi;
+        return ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo;
     }
 
+    static final long MILLIS_IN_DAY = 86_400_000L;
+
     /**
-     * Converts hour, minutes, seconds and milliseconds to Julian time, a rational day offset.
+     * Julian Day 2440587.5 (Unix epoch) in milliseconds since Julian Day 0.
      */
-    static double hmsj(final int h, final int m, final int s, final int millis) {
-        return (h * 3600 + m * 60 + s) / 86400.0 + (millis / 86400000.0);
+    static final long J1970_MILLIS = 2440587L * MILLIS_IN_DAY + MILLIS_IN_DAY / 2;
+
+    /**
+     * Converts Julian Day given as integer and fraction parts to milliseconds elapsed since Julian Day 0,
+     * rounded to the nearest millisecond. This is the exact time path: a single rounded multiplication
+     * of the fraction, the rest is integer arithmetic.
+     */
+    static long julianMillis(final int day, final double time) {
+        return day * MILLIS_IN_DAY + round(time * MILLIS_IN_DAY);
     }
 
     /**
-     * Converts Gregorian calendar date to Julian day.
+     * Converts Julian Day to milliseconds elapsed since Julian Day 0, see {@link #julianMillis(int, double)},
+     * rounding with given math.
      */
-    static double gregorianToJd(final double year, final double month, final double day) {
-        return GREGORIAN_EPOCH - 1
-                + 365 * (year - 1)
-                + floor((year - 1) / 4)
-                - floor((year - 1) / 100)
-                + floor((year - 1) / 400)
-                + floor((367 * month - 362) / 12
-                + (month <= 2 ? 0 : (isLeapYear(year) ? -1 : -2)) + day);
+    static long julianMillis(final int day, final double time, final MathPolicy math) {
+        return day * MILLIS_IN_DAY + math.round(time * MILLIS_IN_DAY);
     }
 
     /**
-     * Checks if a year is a leap year by following the standard rules from Gregorian calendar:
-     * a year is a leap year if it is divisible by 4, but not by 100, unless it is also divisible by 400.
+     * Converts milliseconds elapsed since Julian Day 0 to the Gregorian calendar date and time,
+     * packed as {@link PackedDateTime}. Integer-only calculation.
      */
-    static boolean isLeapYear(final double year) {
-        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    static long julianMillisToGregorian(final long julianMillis) {
+        final long civilMillis = julianMillis + MILLIS_IN_DAY / 2;
+        final long jdn = floorDiv(civilMillis, MILLIS_IN_DAY);
+        final int millisOfDay = (int) (civilMillis - jdn * MILLIS_IN_DAY);
+        return PackedDateTime.withMillisOfDay(gregorianDateOf(jdn), millisOfDay);
     }
 
     /**
-     * Checks if a year is a leap year by following the standard rules from Julian calendar:
-     * a year is a leap year if it is divisible by 4.
+     * Converts milliseconds elapsed since Julian Day 0 to the Julian calendar date and time,
+     * packed as {@link PackedDateTime}. Integer-only calculation.
      */
-    static boolean isLeapJulianYear(final int julianYear) {
-        return julianYear % 4 == 0;
+    static long julianMillisToJulian(final long julianMillis) {
+        final long civilMillis = julianMillis + MILLIS_IN_DAY / 2;
+        final long jdn = floorDiv(civilMillis, MILLIS_IN_DAY);
+        final int millisOfDay = (int) (civilMillis - jdn * MILLIS_IN_DAY);
+        return PackedDateTime.withMillisOfDay(julianDateOf(jdn), millisOfDay);
     }
 
     /**
-     * Modulus function which works for non-integers.
+     * Returns the Gregorian date of Julian Day Number, through the installed {@link CalendarDateCache}, if any.
      */
-    static double mod(final double a, final double b) {
-        return a - b * floor(a / b);
+    static long gregorianDateOf(final long jdn) {
+        final CalendarDateCache cache = CalendarDateCache.installed();
+        return cache == null ? jdnToGregorianDate(jdn) : cache.gregorianDate(jdn);
     }
 
     /**
-     * High-precision calculation of Julian Day from given day and time value.
-     * We can't simply add day and time, because of floating point precision:
-     * day is a big number, and time is a small number. Hence, we need to add them separately.
+     * Returns the Julian calendar date of Julian Day Number, through the installed {@link CalendarDateCache}, if any.
      */
-    static JulianDay julianDay(final double dayAtMidnight, final double timeOfDay) {
-        final double jd = dayAtMidnight + timeOfDay;
+    static long julianDateOf(final long jdn) {
+        final CalendarDateCache cache = CalendarDateCache.installed();
+        return cache == null ? jdnToJulianDate(jdn) : cache.julianDate(jdn);
+    }
 
-        final double dayFraction = dayAtMidnight - (int) dayAtMidnight;
-        final double timeOffset = dayFraction + timeOfDay;
-        final double time = timeOffset >= 1 ? timeOffset - 1 : timeOffset;
+    /**
+     * Converts Julian day to Gregorian calendar date and time, packed as {@link PackedDateTime}.
+     */
+    static long jdToGregorianDateTime(final JulianDay jd) {
+        return julianMillisToGregorian(julianMillis(jd.day(), jd.time()));
+    }
 
-        return new JulianDay((int)jd, time);
+    /**
+     * Converts Julian day to Julian calendar date and time, packed as {@link PackedDateTime}.
+     */
+    static long jdToJulianDateTime(final JulianDay jd) {
+        return julianMillisToJulian(julianMillis(jd.day(), jd.time()));
     }
 
     /**
      * Converts Julian Day to Unix time in milliseconds.
      */
     static long toUnixMillis(final JulianDay jd) {
-        final long utime = ((long)(jd.toDouble() - J1970) * 86_400_000L);
-        final int[] t = jhms(jd);
-        return utime + t[0] * 3_600_000L + t[1] * 60_000L + t[2] * 1_000L + t[3];
+        return julianMillis(jd.day(), jd.time()) - J1970_MILLIS;
+    }
 
-        // due to rounding errors, the following code is not used
-        // instead, we first calculate the date difference in days
-        // and then use the same calculation to get hour/minute/second/millisecond value
-        // finally we add them together
-        //return round(utime);
+    /**
+     * Returns the integer part of the Julian Day of Unix time in milliseconds.
+     * This is a high-precision conversion, together with {@link #timeOfUnixMillis(long)}.
+     */
+    static int dayOfUnixMillis(final long unixMillis) {
+        final int intPart = (int) (unixMillis / 8_6400_000L);
+        final int delta = (int) (unixMillis - intPart * 8_6400_000L);
+        final double time = delta / 8_6400_000.0;
+        return time > 0.5 ? intPart + 2440588 : intPart + 2440587;
     }
 
     /**
-     * Converts Unix time in milliseconds to Julian Day.
-     * This is a high-precision conversion.
+     * Returns the fraction of the Julian Day of Unix time in milliseconds.
      */
-    static DayValue fromUnixMillis(final long unixMillis) {
+    static double timeOfUnixMillis(final long unixMillis) {
         final int intPart = (int) (unixMillis / 8_6400_000L);
         final int delta = (int) (unixMillis - intPart * 8_6400_000L);
         final double time = delta / 8_6400_000.0;
+        return time > 0.5 ? time - 0.5 : time + 0.5;
+    }
 
-        if (time > 0.5) {
-            return new DayValue(intPart + 2440588, time - 0.5);
-        } else {
-            return new DayValue(intPart + 2440587, time + 0.5);
-        }
-        // return (unixMillis / 8_6400_000.0) + J1970;
+    // <editor-fold desc="Sub-millisecond precision">
+
+    static final long MICROS_IN_DAY = 86_400_000_000L;
+    static final long NANOS_IN_DAY = 86_400_000_000_000L;
+
+    /**
+     * Integer part of the Julian Day of the Unix epoch, 2440587.5.
+     */
+    static final int J1970_DAY = 2440587;
+
+    /**
+     * Converts Julian Day given as integer and fraction parts to Unix time in microseconds,
+     * rounded to the nearest microsecond.
+     */
+    static long unixMicros(final int day, final double time) {
+        final long micros = Math.multiplyExact(day - (long) J1970_DAY, MICROS_IN_DAY);
+        return Math.addExact(micros, round(time * MICROS_IN_DAY) - MICROS_IN_DAY / 2);
+    }
+
+    /**
+     * Converts Julian Day given as integer and fraction parts to Unix time in nanoseconds,
+     * rounded to the nearest nanosecond. Throws {@link ArithmeticException} on overflow,
+     * as only about 292 years around 1970 fit.
+     */
+    static long unixNanos(final int day, final double time) {
+        final long nanos = Math.multiplyExact(day - (long) J1970_DAY, NANOS_IN_DAY);
+        return Math.addExact(nanos, round(time * NANOS_IN_DAY) - NANOS_IN_DAY / 2);
+    }
+
+    /**
+     * Returns the seconds of Unix time of Julian Day given as integer and fraction parts,
+     * see {@link #nanoOfSecond(double)}.
+     */
+    static long epochSecond(final int day, final double time) {
+        final long nanos = round(time * NANOS_IN_DAY) - NANOS_IN_DAY / 2;
+        return (day - (long) J1970_DAY) * 86_400 + floorDiv(nanos, 1_000_000_000L);
+    }
+
+    /**
+     * Returns the nanosecond of the second of the Julian Day fraction, rounded to the nearest nanosecond.
+     */
+    static int nanoOfSecond(final double time) {
+        return (int) (round(time * NANOS_IN_DAY) % 1_000_000_000L);
+    }
+
+    /**
+     * Returns nanoseconds since the midnight that precedes the start of the Julian Day,
+     * rounded to the nearest nanosecond. The value is less than two days; when it is a day or more,
+     * the civil day is the one of the next Julian Day Number.
+     */
+    static long civilNanos(final double time) {
+        return round(time * NANOS_IN_DAY) + NANOS_IN_DAY / 2;
+    }
+
+    /**
+     * Returns the integer part of the Julian Day of given number of units since the Unix epoch,
+     * where {@code unitsInDay} units make a day.
+     */
+    static int dayOfUnixTime(final long units, final long unitsInDay) {
+        return (int) (floorDiv(units + unitsInDay / 2, unitsInDay) + J1970_DAY);
+    }
+
+    /**
+     * Returns the fraction of the Julian Day of given number of units since the Unix epoch,
+     * where {@code unitsInDay} units make a day. The fraction is the exact integer number of units
+     * divided once, so it is correctly rounded: for all units down to the nanosecond the double
+     * fraction holds the value exactly enough to be restored by rounding.
+     */
+    static double timeOfUnixTime(final long units, final long unitsInDay) {
+        return floorMod(units + unitsInDay / 2, unitsInDay) / (double) unitsInDay;
+    }
+
+    /**
+     * Returns the integer part of the Julian Day of Unix time given in seconds and nanosecond adjustment.
+     */
+    static int dayOfEpochSecond(final long epochSecond, final long nanoAdjustment) {
+        final long nanos = floorMod(epochSecond, 86_400) * 1_000_000_000L + nanoAdjustment + NANOS_IN_DAY / 2;
+        return (int) (floorDiv(epochSecond, 86_400) + floorDiv(nanos, NANOS_IN_DAY) + J1970_DAY);
     }
+
+    /**
+     * Returns the fraction of the Julian Day of Unix time given in seconds and nanosecond adjustment.
+     */
+    static double timeOfEpochSecond(final long epochSecond, final long nanoAdjustment) {
+        final long nanos = floorMod(epochSecond, 86_400) * 1_000_000_000L + nanoAdjustment + NANOS_IN_DAY / 2;
+        return floorMod(nanos, NANOS_IN_DAY) / (double) NANOS_IN_DAY;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Durations">
+
+    /**
+     * Returns microseconds from the first Julian Day to the second one, both given as integer and fraction parts.
+     * Days are subtracted as integers, and each fraction is rounded to the microsecond once.
+     */
+    static long microsBetween(final int startDay, final double startTime, final int endDay, final double endTime) {
+        final long days = Math.multiplyExact(endDay - (long) startDay, MICROS_IN_DAY);
+        return Math.addExact(days, round(endTime * MICROS_IN_DAY) - round(startTime * MICROS_IN_DAY));
+    }
+
+    /**
+     * Returns the integer part of the Julian Day, given as integer and fraction parts, plus microseconds.
+     */
+    static int dayPlusMicros(final int day, final double time, final long micros) {
+        final long timeMicros = round(time * MICROS_IN_DAY) + floorMod(micros, MICROS_IN_DAY);
+        return Math.toIntExact(day + floorDiv(micros, MICROS_IN_DAY) + floorDiv(timeMicros, MICROS_IN_DAY));
+    }
+
+    /**
+     * Returns the fraction of the Julian Day, given as integer and fraction parts, plus microseconds.
+     * The fraction is rounded to the microsecond, and the sum is carried as an integer.
+     */
+    static double timePlusMicros(final double time, final long micros) {
+        final long timeMicros = round(time * MICROS_IN_DAY) + floorMod(micros, MICROS_IN_DAY);
+        return floorMod(timeMicros, MICROS_IN_DAY) / (double) MICROS_IN_DAY;
+    }
+
+    // </editor-fold>
 }
@@ -0,0 +1,136 @@
+package jodd.julianday;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of unique and strictly increasing timestamps, for many concurrent writers.
+ * <p>
+ * Timestamp is packed in a single {@code long}: the Unix time in milliseconds (the tick) in the upper bits,
+ * and a 12-bit sequence in the lower bits. When several timestamps are requested in the same millisecond,
+ * the sequence is incremented. If the sequence overflows, it borrows the next millisecond, so the generated
+ * time may run slightly ahead of the clock until the clock catches up. When the clock steps backwards,
+ * the generator continues from the last generated value. Packed timestamp is converted to the Julian Day
+ * with the sequence added as a fraction of the millisecond.
+ * <p>
+ * The state is updated with a CAS on an {@code AtomicLong}. To reduce the contention, the generator may be
+ * striped: each thread then uses one of the independent states, and the stripe index is stored in the lowest
+ * bits of the sequence. Timestamps of all stripes are still unique; timestamps of a single thread are strictly
+ * increasing; and merging timestamps of all threads by their packed value orders them by the millisecond tick.
+ */
+public class JulianDayGenerator {
+
+    /**
+     * Number of bits of the sequence (including the stripe index).
+     */
+    public static final int SEQUENCE_BITS = 12;
+
+    private static final int MAX_STRIPE_BITS = 6;
+
+    /**
+     * Stripes are placed apart in the array, to avoid false sharing.
+     */
+    private static final int PADDING = 8;
+
+    private final LongSupplier clock;
+    private final AtomicLongArray states;
+    private final int stripeBits;
+    private final int stripeMask;
+
+    private JulianDayGenerator(final LongSupplier clock, final int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1 || stripes > (1 << MAX_STRIPE_BITS)) {
+            throw new IllegalArgumentException("Number of stripes must be a power of 2, up to 64: " + stripes);
+        }
+        this.clock = clock;
+        this.stripeBits = Integer.numberOfTrailingZeros(stripes);
+        this.stripeMask = stripes - 1;
+        this.states = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * Creates a generator that uses the system clock.
+     */
+    public static JulianDayGenerator create() {
+        return new JulianDayGenerator(System::currentTimeMillis, 1);
+    }
+
+    /**
+     * Creates a generator that uses the given clock, returning the Unix time in milliseconds.
+     */
+    public static JulianDayGenerator create(final LongSupplier clock) {
+        return new JulianDayGenerator(clock, 1);
+    }
+
+    /**
+     * Creates a striped generator that uses the system clock.
+     * Number of stripes must be a power of 2, up to 64.
+     */
+    public static JulianDayGenerator striped(final int stripes) {
+        return new JulianDayGenerator(System::currentTimeMillis, stripes);
+    }
+
+    /**
+     * Creates a striped generator that uses the given clock, returning the Unix time in milliseconds.
+     */
+    public static JulianDayGenerator striped(final int stripes, final LongSupplier clock) {
+        return new JulianDayGenerator(clock, stripes);
+    }
+
+    // <editor-fold desc="Generating">
+
+    /**
+     * Returns the next timestamp in packed form.
+     */
+    public long nextPacked() {
+        final int stripe = (int) Thread.currentThread().getId() & this.stripeMask;
+        final int index = stripe * PADDING;
+        final long now = this.clock.getAsLong() << SEQUENCE_BITS;
+        final long increment = 1L << this.stripeBits;
+
+        while (true) {
+            final long last = this.states.get(index);
+            final long next = Math.max(now, last + increment);
+            if (this.states.compareAndSet(index, last, next)) {
+                return next | stripe;
+            }
+        }
+    }
+
+    /**
+     * Returns the next timestamp as Julian Day.
+     */
+    public JulianDay next() {
+        return toJulianDay(this.nextPacked());
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Packed form">
+
+    /**
+     * Returns the Unix time in milliseconds of the packed timestamp.
+     */
+    public static long toUnixMilliseconds(final long packed) {
+        return packed >> SEQUENCE_BITS;
+    }
+
+    /**
+     * Returns the sequence of the packed timestamp.
+     */
+    public static int sequence(final long packed) {
+        return (int) packed & ((1 << SEQUENCE_BITS) - 1);
+    }
+
+    /**
+     * Converts packed timestamp to Julian Day. The sequence is added as a fraction of the first half
+     * of the millisecond, so that Julian Days are ordered the same way as the packed timestamps,
+     * and still round to the millisecond of the timestamp.
+     */
+    public static JulianDay toJulianDay(final long packed) {
+        final long unixMillis = toUnixMilliseconds(packed);
+        final double fraction = sequence(packed) / (2 * (1 << SEQUENCE_BITS) * 86_400_000.0);
+        return new JulianDay(JulianDayFunctions.dayOfUnixMillis(unixMillis), JulianDayFunctions.timeOfUnixMillis(unixMillis) + fraction);
+    }
+
+    // </editor-fold>
+}
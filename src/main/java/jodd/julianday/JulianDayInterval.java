@@ -0,0 +1,139 @@
+package jodd.julianday;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Half-open interval of Julian Days: the start is inclusive, the end is exclusive.
+ * The length and gaps are calculated exactly, on integer and fraction parts separately.
+ */
+public class JulianDayInterval {
+
+    private final JulianDay start;
+    private final JulianDay end;
+
+    /**
+     * Creates a new interval. The start must not be after the end.
+     */
+    public JulianDayInterval(final JulianDay start, final JulianDay end) {
+        if (start.compareTo(end) > 0) {
+            throw new IllegalArgumentException("Start is after the end: " + start + " > " + end);
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates a new interval from start (inclusive) to end (exclusive).
+     */
+    public static JulianDayInterval of(final JulianDay start, final JulianDay end) {
+        return new JulianDayInterval(start, end);
+    }
+
+    /**
+     * Returns the start of the interval, inclusive.
+     */
+    public JulianDay start() {
+        return this.start;
+    }
+
+    /**
+     * Returns the end of the interval, exclusive.
+     */
+    public JulianDay end() {
+        return this.end;
+    }
+
+    /**
+     * Returns the exact length of the interval in days.
+     */
+    public DayValue length() {
+        return difference(this.end, this.start);
+    }
+
+    /**
+     * Returns {@code true} if the interval has no length.
+     */
+    public boolean isEmpty() {
+        return this.start.compareTo(this.end) == 0;
+    }
+
+    // <editor-fold desc="Relations">
+
+    /**
+     * Returns {@code true} if the Julian Day is within this interval.
+     */
+    public boolean contains(final JulianDay jd) {
+        return this.start.compareTo(jd) <= 0 && jd.compareTo(this.end) < 0;
+    }
+
+    /**
+     * Returns {@code true} if the other interval is completely within this interval.
+     */
+    public boolean contains(final JulianDayInterval other) {
+        return this.start.compareTo(other.start) <= 0 && other.end.compareTo(this.end) <= 0;
+    }
+
+    /**
+     * Returns {@code true} if the intervals share at least some time.
+     * Intervals that only abut do not overlap.
+     */
+    public boolean overlaps(final JulianDayInterval other) {
+        return this.start.compareTo(other.end) < 0 && other.start.compareTo(this.end) < 0;
+    }
+
+    /**
+     * Returns the interval shared by both intervals, if they overlap.
+     */
+    public Optional<JulianDayInterval> intersection(final JulianDayInterval other) {
+        if (!this.overlaps(other)) {
+            return Optional.empty();
+        }
+        final JulianDay start = this.start.compareTo(other.start) >= 0 ? this.start : other.start;
+        final JulianDay end = this.end.compareTo(other.end) <= 0 ? this.end : other.end;
+        return Optional.of(new JulianDayInterval(start, end));
+    }
+
+    /**
+     * Returns the exact length of the gap between intervals.
+     * The gap is zero if intervals overlap or abut.
+     */
+    public DayValue gap(final JulianDayInterval other) {
+        if (this.end.compareTo(other.start) < 0) {
+            return difference(other.start, this.end);
+        }
+        if (other.end.compareTo(this.start) < 0) {
+            return difference(this.start, other.end);
+        }
+        return new DayValue(0, 0);
+    }
+
+    private static DayValue difference(final JulianDay to, final JulianDay from) {
+        final JulianDay difference = to.subtract(from);
+        return new DayValue(difference.day(), difference.time());
+    }
+
+    // </editor-fold>
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final JulianDayInterval that = (JulianDayInterval) o;
+        return this.start.equals(that.start) && this.end.equals(that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.start, this.end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + this.start + ", " + this.end + ")";
+    }
+}
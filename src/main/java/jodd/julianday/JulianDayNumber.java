@@ -0,0 +1,142 @@
+package jodd.julianday;
+
+import static java.lang.Math.floorMod;
+import static jodd.julianday.JulianDayFunctions.dayOfYearOf;
+import static jodd.julianday.JulianDayFunctions.gregorianYearStartJdn;
+import static jodd.julianday.JulianDayFunctions.jdnToGregorianYearDay;
+import static jodd.julianday.JulianDayFunctions.yearOf;
+
+/**
+ * Calendar fields calculated directly from the Julian Day Number (JDN), using integer arithmetic only.
+ * <p>
+ * The JDN identifies a civil day, see {@link JulianDay#julianDayNumber()}. Fields that depend only on
+ * the day (like the day of the week or the ISO week) may be calculated from it without converting
+ * Julian Day to a calendar date first. All methods are also available in bulk form, working on arrays.
+ * Dates are in the proleptic Gregorian calendar, using the astronomical year numbering.
+ */
+public class JulianDayNumber {
+
+    private JulianDayNumber() {
+    }
+
+    // <editor-fold desc="Single value">
+
+    /**
+     * Returns the Julian Day Number of the civil day that contains given Julian Day.
+     */
+    public static int of(final int day, final double time) {
+        return time >= 0.5 ? day + 1 : day;
+    }
+
+    /**
+     * Returns the ISO day of the week, from 1 (Monday) to 7 (Sunday).
+     * JDN 0 was a Monday.
+     */
+    public static int dayOfWeek(final int jdn) {
+        return floorMod(jdn, 7) + 1;
+    }
+
+    /**
+     * Returns the year in the Gregorian calendar.
+     */
+    public static int gregorianYear(final int jdn) {
+        return yearOf(jdnToGregorianYearDay(jdn));
+    }
+
+    /**
+     * Returns the day of the year in the Gregorian calendar, from 1 to 366.
+     */
+    public static int dayOfYear(final int jdn) {
+        return dayOfYearOf(jdnToGregorianYearDay(jdn));
+    }
+
+    /**
+     * Returns the ISO week-based year. It differs from the Gregorian year for days
+     * at the very beginning and the very end of a year.
+     */
+    public static int isoWeekBasedYear(final int jdn) {
+        return yearOf(jdnToGregorianYearDay(thursdayOfWeek(jdn)));
+    }
+
+    /**
+     * Returns the ISO week of the week-based year, from 1 to 53.
+     */
+    public static int isoWeekOfWeekBasedYear(final int jdn) {
+        final long thursday = thursdayOfWeek(jdn);
+        return (dayOfYearOf(jdnToGregorianYearDay(thursday)) - 1) / 7 + 1;
+    }
+
+    /**
+     * Returns the Julian Day Number of the first day of a year in the Gregorian calendar.
+     */
+    public static long yearStart(final int gregorianYear) {
+        return gregorianYearStartJdn(gregorianYear);
+    }
+
+    /**
+     * ISO weeks start on Monday, and a week belongs to the year that contains its Thursday.
+     */
+    private static long thursdayOfWeek(final int jdn) {
+        return (long) jdn - dayOfWeek(jdn) + 4;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Bulk">
+
+    /**
+     * Calculates Julian Day Numbers of Julian Days given as integer and fraction parts.
+     */
+    public static void of(final int[] days, final double[] times, final int[] out) {
+        for (int i = 0; i < days.length; i++) {
+            out[i] = of(days[i], times[i]);
+        }
+    }
+
+    /**
+     * Calculates the ISO day of the week for each Julian Day Number.
+     */
+    public static void dayOfWeek(final int[] jdns, final int[] out) {
+        for (int i = 0; i < jdns.length; i++) {
+            out[i] = dayOfWeek(jdns[i]);
+        }
+    }
+
+    /**
+     * Calculates the Gregorian year for each Julian Day Number.
+     */
+    public static void gregorianYear(final int[] jdns, final int[] out) {
+        for (int i = 0; i < jdns.length; i++) {
+            out[i] = gregorianYear(jdns[i]);
+        }
+    }
+
+    /**
+     * Calculates the day of the year for each Julian Day Number.
+     */
+    public static void dayOfYear(final int[] jdns, final int[] out) {
+        for (int i = 0; i < jdns.length; i++) {
+            out[i] = dayOfYear(jdns[i]);
+        }
+    }
+
+    /**
+     * Calculates the ISO week-based year for each Julian Day Number.
+     */
+    public static void isoWeekBasedYear(final int[] jdns, final int[] out) {
+        for (int i = 0; i < jdns.length; i++) {
+            out[i] = isoWeekBasedYear(jdns[i]);
+        }
+    }
+
+    /**
+     * Calculates the ISO week of the week-based year for each Julian Day Number.
+     */
+    public static void isoWeekOfWeekBasedYear(final int[] jdns, final int[] out) {
+        for (int i = 0; i < jdns.length; i++) {
+            out[i] = isoWeekOfWeekBasedYear(jdns[i]);
+        }
+    }
+
+    // </editor-fold>
+}
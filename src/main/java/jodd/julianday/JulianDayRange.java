@@ -0,0 +1,281 @@
+package jodd.julianday;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static jodd.julianday.JulianDayFunctions.ceil;
+import static jodd.julianday.JulianDayFunctions.compare;
+import static jodd.julianday.JulianDayFunctions.floor;
+import static jodd.julianday.JulianDayFunctions.productError;
+
+/**
+ * Lazy sequence of Julian Days, from the start (inclusive) to the end (exclusive), with a fixed step.
+ * <p>
+ * Each element is calculated directly as {@code start + i * step}, and not by adding the step
+ * to the previous element. The product is calculated without a rounding error, so the integer part
+ * is carried exactly and there is no drift, no matter how long the sequence is.
+ */
+public class JulianDayRange implements Iterable<JulianDay> {
+
+    private final int startDay;
+    private final double startTime;
+    private final int stepDay;
+    private final double stepTime;
+    private final long size;
+
+    /**
+     * Creates a new range. Step must be positive.
+     */
+    public JulianDayRange(final JulianDay start, final JulianDay endExclusive, final DayValue step) {
+        final JulianDay normalizedStep = JulianDay.of(step);
+        if (normalizedStep.day() < 0 || (normalizedStep.day() == 0 && normalizedStep.time() == 0)) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        this.startDay = start.day();
+        this.startTime = start.time();
+        this.stepDay = normalizedStep.day();
+        this.stepTime = normalizedStep.time();
+        this.size = this.sizeUntil(endExclusive.day(), endExclusive.time());
+    }
+
+    /**
+     * Calculates the number of elements that are less than the given end.
+     */
+    private long sizeUntil(final int endDay, final double endTime) {
+        if (compare(this.startDay, this.startTime, endDay, endTime) >= 0) {
+            return 0;
+        }
+        final double span = ((double) endDay - this.startDay) + (endTime - this.startTime);
+        long n = (long) ceil(span / (this.stepDay + this.stepTime));
+
+        while (n > 0 && !this.isBefore(n - 1, endDay, endTime)) {
+            n--;
+        }
+        while (this.isBefore(n, endDay, endTime)) {
+            n++;
+        }
+        return n;
+    }
+
+    private boolean isBefore(final long index, final int endDay, final double endTime) {
+        final long day = this.dayAt(index);
+        if (day != endDay) {
+            return day < endDay;
+        }
+        return this.timeAt(index) < endTime;
+    }
+
+    // <editor-fold desc="Elements">
+
+    /**
+     * Returns the number of elements in this range.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if range has no elements.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the element at given index.
+     */
+    public JulianDay get(final long index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+        }
+        return new JulianDay((int) this.dayAt(index), this.timeAt(index));
+    }
+
+    /**
+     * Returns the integer part of the element at given index.
+     */
+    private long dayAt(final long index) {
+        final double product = index * this.stepTime;
+        final double whole = floor(product);
+        final double fraction = (product - whole) + productError(index, this.stepTime, product) + this.startTime;
+
+        return this.startDay + index * this.stepDay + (long) whole + (long) floor(fraction);
+    }
+
+    /**
+     * Returns the fraction part of the element at given index, in [0.0, 1.0) range.
+     */
+    private double timeAt(final long index) {
+        final double product = index * this.stepTime;
+        final double whole = floor(product);
+        final double fraction = (product - whole) + productError(index, this.stepTime, product) + this.startTime;
+
+        return fraction - floor(fraction);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Iteration">
+
+    /**
+     * Passes integer and fraction part of each element to the consumer, without creating
+     * any {@link JulianDay} instance.
+     */
+    public void forEachDayTime(final DayTimeConsumer consumer) {
+        for (long i = 0; i < this.size; i++) {
+            consumer.accept((int) this.dayAt(i), this.timeAt(i));
+        }
+    }
+
+    @Override
+    public Iterator<JulianDay> iterator() {
+        return new Iterator<JulianDay>() {
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < JulianDayRange.this.size;
+            }
+
+            @Override
+            public JulianDay next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return JulianDayRange.this.get(this.index++);
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator that does not create {@link JulianDay} instances.
+     */
+    public DayTimeIterator dayTimeIterator() {
+        return new DayTimeIterator();
+    }
+
+    @Override
+    public Spliterator<JulianDay> spliterator() {
+        return new RangeSpliterator(0, this.size);
+    }
+
+    /**
+     * Returns a sequential stream of all elements.
+     */
+    public Stream<JulianDay> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of all elements.
+     */
+    public Stream<JulianDay> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Iterator over the range that exposes the integer and fraction part of the current element.
+     * Call {@link #next()} to move to the next element, before reading the first one.
+     */
+    public class DayTimeIterator {
+        private long index = -1;
+        private int day;
+        private double time;
+
+        /**
+         * Returns {@code true} if there are more elements.
+         */
+        public boolean hasNext() {
+            return this.index + 1 < JulianDayRange.this.size;
+        }
+
+        /**
+         * Moves to the next element.
+         */
+        public void next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.index++;
+            this.day = (int) JulianDayRange.this.dayAt(this.index);
+            this.time = JulianDayRange.this.timeAt(this.index);
+        }
+
+        /**
+         * Returns integer part of the current element.
+         */
+        public int day() {
+            return this.day;
+        }
+
+        /**
+         * Returns fraction part of the current element.
+         */
+        public double time() {
+            return this.time;
+        }
+    }
+
+    private class RangeSpliterator implements Spliterator<JulianDay> {
+        private long from;
+        private final long to;
+
+        RangeSpliterator(final long from, final long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super JulianDay> action) {
+            if (this.from >= this.to) {
+                return false;
+            }
+            action.accept(JulianDayRange.this.get(this.from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super JulianDay> action) {
+            for (long i = this.from; i < this.to; i++) {
+                action.accept(JulianDayRange.this.get(i));
+            }
+            this.from = this.to;
+        }
+
+        @Override
+        public Spliterator<JulianDay> trySplit() {
+            final long middle = (this.from + this.to) >>> 1;
+            if (middle <= this.from) {
+                return null;
+            }
+            final Spliterator<JulianDay> prefix = new RangeSpliterator(this.from, middle);
+            this.from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.to - this.from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return "JulianDayRange{" +
+                "start=" + this.startDay + "+" + this.startTime +
+                ", step=" + this.stepDay + "+" + this.stepTime +
+                ", size=" + this.size +
+                '}';
+    }
+}
@@ -0,0 +1,277 @@
+package jodd.julianday;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server with batch conversions of timestamps, so other services may use the same algorithms.
+ * Uses only the HTTP server of the JDK. Each request is handled on a virtual thread on Java 21 and later,
+ * and on a pooled thread before that.
+ * <p>
+ * Conversion is posted to {@code /convert?from=<format>&to=<format>}, where formats are the ids
+ * of {@link ColumnFormat}s. The request body is either newline-delimited text, or, when the content type is
+ * {@code application/octet-stream}, fixed-width binary records in big-endian byte order
+ * (see {@link ColumnFormat#recordSize()}). The response is in the same form as the request.
+ * <p>
+ * Both bodies are streamed: values are converted as they arrive, and converted values are sent in chunks,
+ * so payloads of any size are never held in memory. Invalid requests are answered with status 400. When
+ * a value is invalid after the first chunk was already sent, the response is aborted instead.
+ */
+public class JulianDayServer implements Closeable {
+
+    static final String BINARY = "application/octet-stream";
+    static final String TEXT = "text/plain; charset=utf-8";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final HttpServer server;
+    private final ExecutorService ownExecutor;
+
+    private JulianDayServer(final HttpServer server, final ExecutorService ownExecutor) {
+        this.server = server;
+        this.ownExecutor = ownExecutor;
+    }
+
+    /**
+     * Starts server on given address, using a virtual thread per request when available.
+     * Use port 0 to bind to any free port.
+     */
+    public static JulianDayServer start(final InetSocketAddress address) throws IOException {
+        final ExecutorService executor = defaultExecutor();
+        try {
+            return start(address, executor, executor);
+        }
+        catch (final IOException | RuntimeException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts server on given address, handling requests on given executor.
+     */
+    public static JulianDayServer start(final InetSocketAddress address, final Executor executor) throws IOException {
+        return start(address, executor, null);
+    }
+
+    private static JulianDayServer start(final InetSocketAddress address, final Executor executor, final ExecutorService ownExecutor) throws IOException {
+        final HttpServer server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/convert", JulianDayServer::handle);
+        server.start();
+        return new JulianDayServer(server, ownExecutor);
+    }
+
+    /**
+     * Returns virtual thread per task executor on Java 21 and later, and cached thread pool before that.
+     * The method is found by reflection, so the library still runs on Java 8.
+     */
+    static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (final ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                final Thread thread = new Thread(r, "julian-day-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Returns the address the server is bound to.
+     */
+    public InetSocketAddress address() {
+        return this.server.getAddress();
+    }
+
+    /**
+     * Stops the server, closing all the open connections.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        if (this.ownExecutor != null) {
+            this.ownExecutor.shutdownNow();
+        }
+    }
+
+    // <editor-fold desc="Handler">
+
+    private static void handle(final HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            reject(exchange, 405, "Method not allowed: " + exchange.getRequestMethod());
+            return;
+        }
+        final ColumnFormat from;
+        final ColumnFormat to;
+        try {
+            final Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            from = ColumnFormat.of(query.get("from"));
+            to = ColumnFormat.of(query.get("to"));
+        }
+        catch (final IllegalArgumentException e) {
+            reject(exchange, 400, e.getMessage());
+            return;
+        }
+
+        final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        final boolean binary = contentType != null && contentType.startsWith(BINARY);
+        exchange.getResponseHeaders().set("Content-Type", binary ? BINARY : TEXT);
+
+        final InputStream in = exchange.getRequestBody();
+        final Response response = new Response(exchange);
+        try {
+            if (binary) {
+                convertBinary(Channels.newChannel(in), from, to, response);
+            } else {
+                convertText(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE), from, to, response);
+            }
+        }
+        catch (final IllegalArgumentException e) {
+            if (response.started()) {
+                // the status is already sent; the exchange is not closed, so the server drops the connection
+                // and the client gets an incomplete chunked body instead of a complete one
+                throw new IOException(e.getMessage(), e);
+            }
+            reject(exchange, 400, e.getMessage());
+            return;
+        }
+        exchange.close();
+    }
+
+    private static void convertText(final BufferedReader in, final ColumnFormat from, final ColumnFormat to, final Response response) throws IOException {
+        final StringBuilder out = new StringBuilder(BUFFER_SIZE + 64);
+        long lineNumber = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (!line.isEmpty()) {
+                try {
+                    to.format(from.parse(line.trim()), out);
+                }
+                catch (final RuntimeException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+            out.append('\n');
+            if (out.length() >= BUFFER_SIZE) {
+                response.write(out.toString().getBytes(StandardCharsets.UTF_8));
+                out.setLength(0);
+            }
+        }
+        response.finish(out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void convertBinary(final ReadableByteChannel in, final ColumnFormat from, final ColumnFormat to, final Response response) throws IOException {
+        final int records = BUFFER_SIZE / Math.max(from.recordSize(), to.recordSize());
+        final ByteBuffer input = ByteBuffer.allocate(records * from.recordSize());
+        final ByteBuffer output = ByteBuffer.allocate(records * to.recordSize());
+        long recordNumber = 0;
+        while (in.read(input) != -1) {
+            input.flip();
+            while (input.remaining() >= from.recordSize()) {
+                recordNumber++;
+                try {
+                    to.write(from.read(input), output);
+                }
+                catch (final RuntimeException e) {
+                    throw new IllegalArgumentException("Record " + recordNumber + ": " + e.getMessage(), e);
+                }
+                if (!output.hasRemaining()) {
+                    response.write(output.array());
+                    output.clear();
+                }
+            }
+            input.compact();
+        }
+        if (input.position() != 0) {
+            throw new IllegalArgumentException("Incomplete record of " + input.position() + " bytes, expected " + from.recordSize());
+        }
+        response.finish(output.array(), output.position());
+    }
+
+    private static void reject(final HttpExchange exchange, final int status, final String message) throws IOException {
+        final byte[] bytes = (message + '\n').getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static Map<String, String> query(final String rawQuery) throws UnsupportedEncodingException {
+        final Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (final String parameter : rawQuery.split("&")) {
+            final int eq = parameter.indexOf('=');
+            if (eq != -1) {
+                query.put(
+                        URLDecoder.decode(parameter.substring(0, eq), "UTF-8"),
+                        URLDecoder.decode(parameter.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    // </editor-fold>
+
+    /**
+     * Response that sends the headers with the first chunk. Response that fits one chunk is not chunked.
+     */
+    private static final class Response {
+        private final HttpExchange exchange;
+        private OutputStream body;
+
+        Response(final HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        boolean started() {
+            return this.body != null;
+        }
+
+        void write(final byte[] bytes) throws IOException {
+            if (this.body == null) {
+                // zero length means chunked transfer encoding
+                this.exchange.sendResponseHeaders(200, 0);
+                this.body = this.exchange.getResponseBody();
+            }
+            this.body.write(bytes);
+        }
+
+        void finish(final byte[] bytes) throws IOException {
+            this.finish(bytes, bytes.length);
+        }
+
+        void finish(final byte[] bytes, final int length) throws IOException {
+            if (this.body == null) {
+                this.exchange.sendResponseHeaders(200, length == 0 ? -1 : length);
+                this.body = this.exchange.getResponseBody();
+            }
+            this.body.write(bytes, 0, length);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package jodd.julianday;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static jodd.julianday.JulianDayFunctions.compare;
+
+/**
+ * Sorting utilities for large arrays of Julian Days.
+ * <p>
+ * Julian Days are sorted either as integer and fraction parts, given in two parallel arrays,
+ * or as single {@code long} keys (e.g. {@link PackedDateTime} values or milliseconds).
+ * Sorting is done with the least significant digit radix sort, which is stable and runs
+ * in linear time. The order of the day and fraction parts is exact and equals the order
+ * of {@link JulianDay#compareTo(JulianDay)}.
+ * <p>
+ * Besides sorting in place, the sorting order may be returned as an index permutation,
+ * so it can be applied on other (payload) arrays as well. Already sorted runs may be merged,
+ * and parallel variants sort chunks of the input concurrently and merge them.
+ */
+public class JulianDaySort {
+
+    /**
+     * Arrays shorter than this are sorted with 8-bit digits, longer arrays with 16-bit digits.
+     */
+    private static final int WIDE_DIGITS_THRESHOLD = 1 << 16;
+
+    /**
+     * Arrays shorter than this are not sorted in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private JulianDaySort() {
+    }
+
+    // <editor-fold desc="Keys">
+
+    /**
+     * Converts double to a long key, which unsigned order is the same as the order of doubles.
+     */
+    private static long timeKey(final double time) {
+        final long bits = Double.doubleToRawLongBits(time);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Converts integer to a key, which unsigned order is the same as the signed order of integers.
+     */
+    private static int dayKey(final int day) {
+        return day ^ Integer.MIN_VALUE;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Day and time">
+
+    /**
+     * Sorts Julian Days given as integer and fraction parts, in place.
+     */
+    public static void sort(final int[] days, final double[] times) {
+        apply(sortOrder(days, times), days, times);
+    }
+
+    /**
+     * Returns the permutation of indexes that sorts Julian Days given as integer and fraction parts.
+     * Element {@code i} of the sorted sequence is at index {@code order[i]} of the input arrays.
+     * Input arrays are not modified.
+     */
+    public static int[] sortOrder(final int[] days, final double[] times) {
+        checkLengths(days.length, times.length);
+        final int n = days.length;
+        final long[] low = new long[n];
+        final int[] high = new int[n];
+        for (int i = 0; i < n; i++) {
+            low[i] = timeKey(times[i]);
+            high[i] = dayKey(days[i]);
+        }
+        return radixOrder(low, high);
+    }
+
+    /**
+     * Reorders the integer and fraction parts by given permutation.
+     */
+    public static void apply(final int[] order, final int[] days, final double[] times) {
+        checkLengths(days.length, times.length);
+        checkLengths(days.length, order.length);
+        final int[] sortedDays = new int[days.length];
+        final double[] sortedTimes = new double[times.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedDays[i] = days[order[i]];
+            sortedTimes[i] = times[order[i]];
+        }
+        System.arraycopy(sortedDays, 0, days, 0, days.length);
+        System.arraycopy(sortedTimes, 0, times, 0, times.length);
+    }
+
+    /**
+     * Sorts Julian Days given as integer and fraction parts, in place, using all available processors.
+     */
+    public static void parallelSort(final int[] days, final double[] times) {
+        checkLengths(days.length, times.length);
+        final int n = days.length;
+        final int chunks = ForkJoinPool.getCommonPoolParallelism();
+        if (n < PARALLEL_THRESHOLD || chunks < 2) {
+            sort(days, times);
+            return;
+        }
+
+        final int[][] dayRuns = new int[chunks][];
+        final double[][] timeRuns = new double[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final int from = (int) ((long) n * chunk / chunks);
+            final int to = (int) ((long) n * (chunk + 1) / chunks);
+            dayRuns[chunk] = Arrays.copyOfRange(days, from, to);
+            timeRuns[chunk] = Arrays.copyOfRange(times, from, to);
+            sort(dayRuns[chunk], timeRuns[chunk]);
+        });
+
+        merge(dayRuns, timeRuns, days, times);
+    }
+
+    /**
+     * Merges already sorted runs of Julian Days, given as integer and fraction parts, into output arrays.
+     * Output arrays must be large enough to hold all elements. The merge is stable.
+     */
+    public static void merge(final int[][] dayRuns, final double[][] timeRuns, final int[] outDays, final double[] outTimes) {
+        checkLengths(dayRuns.length, timeRuns.length);
+        final int[] positions = new int[dayRuns.length];
+        final RunHeap heap = new RunHeap(dayRuns.length, (a, b) -> {
+            final int c = compare(
+                    dayRuns[a][positions[a]], timeRuns[a][positions[a]],
+                    dayRuns[b][positions[b]], timeRuns[b][positions[b]]);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        for (int run = 0; run < dayRuns.length; run++) {
+            checkLengths(dayRuns[run].length, timeRuns[run].length);
+            if (dayRuns[run].length > 0) {
+                heap.add(run);
+            }
+        }
+
+        int out = 0;
+        while (!heap.isEmpty()) {
+            final int run = heap.top();
+            outDays[out] = dayRuns[run][positions[run]];
+            outTimes[out] = timeRuns[run][positions[run]];
+            out++;
+            if (++positions[run] == dayRuns[run].length) {
+                heap.removeTop();
+            } else {
+                heap.topChanged();
+            }
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Long keys">
+
+    /**
+     * Sorts signed long keys in place.
+     */
+    public static void sort(final long[] keys) {
+        final int n = keys.length;
+        final int bits = n < WIDE_DIGITS_THRESHOLD ? 8 : 16;
+        final int mask = (1 << bits) - 1;
+        final int[] count = new int[1 << bits];
+
+        long[] source = keys;
+        long[] target = new long[n];
+        for (int shift = 0; shift < 64; shift += bits) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(int) ((source[i] ^ Long.MIN_VALUE) >>> shift) & mask]++;
+            }
+            if (n == 0 || count[(int) ((source[0] ^ Long.MIN_VALUE) >>> shift) & mask] == n) {
+                continue;
+            }
+            toOffsets(count);
+            for (int i = 0; i < n; i++) {
+                target[count[(int) ((source[i] ^ Long.MIN_VALUE) >>> shift) & mask]++] = source[i];
+            }
+            final long[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != keys) {
+            System.arraycopy(source, 0, keys, 0, n);
+        }
+    }
+
+    /**
+     * Returns the permutation of indexes that sorts signed long keys. Keys are not modified.
+     */
+    public static int[] sortOrder(final long[] keys) {
+        final long[] low = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            low[i] = keys[i] ^ Long.MIN_VALUE;
+        }
+        return radixOrder(low, null);
+    }
+
+    /**
+     * Sorts signed long keys in place, using all available processors.
+     */
+    public static void parallelSort(final long[] keys) {
+        final int n = keys.length;
+        final int chunks = ForkJoinPool.getCommonPoolParallelism();
+        if (n < PARALLEL_THRESHOLD || chunks < 2) {
+            sort(keys);
+            return;
+        }
+
+        final long[][] runs = new long[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final int from = (int) ((long) n * chunk / chunks);
+            final int to = (int) ((long) n * (chunk + 1) / chunks);
+            runs[chunk] = Arrays.copyOfRange(keys, from, to);
+            sort(runs[chunk]);
+        });
+
+        System.arraycopy(merge(runs), 0, keys, 0, n);
+    }
+
+    /**
+     * Merges already sorted runs of signed long keys into a new array. The merge is stable.
+     */
+    public static long[] merge(final long[]... runs) {
+        final int[] positions = new int[runs.length];
+        final RunHeap heap = new RunHeap(runs.length, (a, b) -> {
+            final int c = Long.compare(runs[a][positions[a]], runs[b][positions[b]]);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        int total = 0;
+        for (int run = 0; run < runs.length; run++) {
+            total += runs[run].length;
+            if (runs[run].length > 0) {
+                heap.add(run);
+            }
+        }
+
+        final long[] result = new long[total];
+        int out = 0;
+        while (!heap.isEmpty()) {
+            final int run = heap.top();
+            result[out++] = runs[run][positions[run]];
+            if (++positions[run] == runs[run].length) {
+                heap.removeTop();
+            } else {
+                heap.topChanged();
+            }
+        }
+        return result;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Radix sort">
+
+    /**
+     * Sorts indexes by unsigned keys, where the high part (if given) is more significant than the low part.
+     */
+    private static int[] radixOrder(long[] low, int[] high) {
+        final int n = low.length;
+        final int bits = n < WIDE_DIGITS_THRESHOLD ? 8 : 16;
+        final int mask = (1 << bits) - 1;
+        final int lowPasses = 64 / bits;
+        final int passes = high == null ? lowPasses : lowPasses + 32 / bits;
+        final int[] count = new int[1 << bits];
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        long[] lowTarget = new long[n];
+        int[] highTarget = high == null ? null : new int[n];
+        int[] orderTarget = new int[n];
+
+        for (int pass = 0; pass < passes; pass++) {
+            final boolean onHigh = pass >= lowPasses;
+            final int shift = (onHigh ? pass - lowPasses : pass) * bits;
+
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[digit(low, high, i, onHigh, shift, mask)]++;
+            }
+            if (n == 0 || count[digit(low, high, 0, onHigh, shift, mask)] == n) {
+                continue;
+            }
+            toOffsets(count);
+            for (int i = 0; i < n; i++) {
+                final int position = count[digit(low, high, i, onHigh, shift, mask)]++;
+                lowTarget[position] = low[i];
+                if (high != null) {
+                    highTarget[position] = high[i];
+                }
+                orderTarget[position] = order[i];
+            }
+
+            final long[] lowSwap = low;
+            low = lowTarget;
+            lowTarget = lowSwap;
+            final int[] highSwap = high;
+            high = highTarget;
+            highTarget = highSwap;
+            final int[] orderSwap = order;
+            order = orderTarget;
+            orderTarget = orderSwap;
+        }
+        return order;
+    }
+
+    private static int digit(final long[] low, final int[] high, final int index, final boolean onHigh, final int shift, final int mask) {
+        if (onHigh) {
+            return (high[index] >>> shift) & mask;
+        }
+        return (int) (low[index] >>> shift) & mask;
+    }
+
+    /**
+     * Converts digit counts to starting offsets.
+     */
+    private static void toOffsets(final int[] count) {
+        int sum = 0;
+        for (int i = 0; i < count.length; i++) {
+            final int c = count[i];
+            count[i] = sum;
+            sum += c;
+        }
+    }
+
+    private static void checkLengths(final int length1, final int length2) {
+        if (length1 != length2) {
+            throw new IllegalArgumentException("Array lengths differ: " + length1 + " != " + length2);
+        }
+    }
+
+    // </editor-fold>
+
+    /**
+     * Binary min-heap of run indexes, ordered by the current head element of each run.
+     */
+    private static class RunHeap {
+        private final int[] heap;
+        private final RunComparator comparator;
+        private int size;
+
+        RunHeap(final int capacity, final RunComparator comparator) {
+            this.heap = new int[capacity];
+            this.comparator = comparator;
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        int top() {
+            return this.heap[0];
+        }
+
+        void add(final int run) {
+            int index = this.size++;
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (this.comparator.compare(this.heap[parent], run) <= 0) {
+                    break;
+                }
+                this.heap[index] = this.heap[parent];
+                index = parent;
+            }
+            this.heap[index] = run;
+        }
+
+        void removeTop() {
+            this.heap[0] = this.heap[--this.size];
+            this.topChanged();
+        }
+
+        void topChanged() {
+            final int run = this.heap[0];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= this.size) {
+                    break;
+                }
+                if (child + 1 < this.size && this.comparator.compare(this.heap[child + 1], this.heap[child]) < 0) {
+                    child++;
+                }
+                if (this.comparator.compare(run, this.heap[child]) <= 0) {
+                    break;
+                }
+                this.heap[index] = this.heap[child];
+                index = child;
+            }
+            this.heap[index] = run;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RunComparator {
+        int compare(int run1, int run2);
+    }
+}
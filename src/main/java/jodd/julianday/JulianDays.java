@@ -0,0 +1,142 @@
+package jodd.julianday;
+
+import static jodd.julianday.JulianDayFunctions.J1970_MILLIS;
+import static jodd.julianday.JulianDayFunctions.MICROS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.NANOS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.dayOfEpochSecond;
+import static jodd.julianday.JulianDayFunctions.dayOfUnixMillis;
+import static jodd.julianday.JulianDayFunctions.dayOfUnixTime;
+import static jodd.julianday.JulianDayFunctions.epochSecond;
+import static jodd.julianday.JulianDayFunctions.julianMillis;
+import static jodd.julianday.JulianDayFunctions.julianMillisToGregorian;
+import static jodd.julianday.JulianDayFunctions.julianMillisToJulian;
+import static jodd.julianday.JulianDayFunctions.nanoOfSecond;
+import static jodd.julianday.JulianDayFunctions.timeOfEpochSecond;
+import static jodd.julianday.JulianDayFunctions.timeOfUnixMillis;
+import static jodd.julianday.JulianDayFunctions.timeOfUnixTime;
+import static jodd.julianday.JulianDayFunctions.unixMicros;
+import static jodd.julianday.JulianDayFunctions.unixNanos;
+
+/**
+ * Bulk conversions of Julian Days, given as arrays of integer and fraction parts, to and from Unix time and calendar fields.
+ * <p>
+ * Methods do not create any object, results are written to given arrays. Conversions are the same
+ * as of the single {@link JulianDay}: Unix time is split to the day and the fraction using integer
+ * arithmetic, and the fraction holds the value down to the nanosecond.
+ */
+public class JulianDays {
+
+    private JulianDays() {
+    }
+
+    // <editor-fold desc="FROM Unix time">
+
+    /**
+     * Converts Unix times in milliseconds to Julian Days, see {@link JulianDay#ofUnixMilliseconds(long)}.
+     */
+    public static void ofUnixMilliseconds(final long[] millis, final int[] days, final double[] times) {
+        for (int i = 0; i < millis.length; i++) {
+            days[i] = dayOfUnixMillis(millis[i]);
+            times[i] = timeOfUnixMillis(millis[i]);
+        }
+    }
+
+    /**
+     * Converts Unix times in microseconds to Julian Days, see {@link JulianDay#ofUnixMicros(long)}.
+     */
+    public static void ofUnixMicros(final long[] micros, final int[] days, final double[] times) {
+        for (int i = 0; i < micros.length; i++) {
+            days[i] = dayOfUnixTime(micros[i], MICROS_IN_DAY);
+            times[i] = timeOfUnixTime(micros[i], MICROS_IN_DAY);
+        }
+    }
+
+    /**
+     * Converts Unix times in nanoseconds to Julian Days, see {@link JulianDay#ofUnixNanos(long)}.
+     */
+    public static void ofUnixNanos(final long[] nanos, final int[] days, final double[] times) {
+        for (int i = 0; i < nanos.length; i++) {
+            days[i] = dayOfUnixTime(nanos[i], NANOS_IN_DAY);
+            times[i] = timeOfUnixTime(nanos[i], NANOS_IN_DAY);
+        }
+    }
+
+    /**
+     * Converts Unix times in seconds and nanosecond adjustments to Julian Days,
+     * see {@link JulianDay#ofEpochSecond(long, int)}.
+     */
+    public static void ofEpochSecond(final long[] epochSeconds, final int[] nanoAdjustments, final int[] days, final double[] times) {
+        for (int i = 0; i < epochSeconds.length; i++) {
+            days[i] = dayOfEpochSecond(epochSeconds[i], nanoAdjustments[i]);
+            times[i] = timeOfEpochSecond(epochSeconds[i], nanoAdjustments[i]);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="TO Unix time">
+
+    /**
+     * Converts Julian Days to Unix times in milliseconds, see {@link JulianDay#toUnixMilliseconds()}.
+     */
+    public static void toUnixMilliseconds(final int[] days, final double[] times, final long[] out) {
+        for (int i = 0; i < days.length; i++) {
+            out[i] = julianMillis(days[i], times[i]) - J1970_MILLIS;
+        }
+    }
+
+    /**
+     * Converts Julian Days to Unix times in microseconds, see {@link JulianDay#toUnixMicros()}.
+     */
+    public static void toUnixMicros(final int[] days, final double[] times, final long[] out) {
+        for (int i = 0; i < days.length; i++) {
+            out[i] = unixMicros(days[i], times[i]);
+        }
+    }
+
+    /**
+     * Converts Julian Days to Unix times in nanoseconds, see {@link JulianDay#toUnixNanos()}.
+     */
+    public static void toUnixNanos(final int[] days, final double[] times, final long[] out) {
+        for (int i = 0; i < days.length; i++) {
+            out[i] = unixNanos(days[i], times[i]);
+        }
+    }
+
+    /**
+     * Converts Julian Days to Unix times in seconds and the nanoseconds of the second,
+     * the same as {@link JulianDay#toInstant()} does.
+     */
+    public static void toEpochSecond(final int[] days, final double[] times, final long[] epochSeconds, final int[] nanos) {
+        for (int i = 0; i < days.length; i++) {
+            epochSeconds[i] = epochSecond(days[i], times[i]);
+            nanos[i] = nanoOfSecond(times[i]);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="TO calendar fields">
+
+    /**
+     * Converts Julian Days to Gregorian calendar dates and times packed as {@link PackedDateTime},
+     * see {@link JulianDay#toGregorianFields()}.
+     */
+    public static void toGregorianFields(final int[] days, final double[] times, final long[] out) {
+        for (int i = 0; i < days.length; i++) {
+            out[i] = julianMillisToGregorian(julianMillis(days[i], times[i]));
+        }
+    }
+
+    /**
+     * Converts Julian Days to Julian calendar dates and times packed as {@link PackedDateTime},
+     * see {@link JulianDay#toJulianFields()}.
+     */
+    public static void toJulianFields(final int[] days, final double[] times, final long[] out) {
+        for (int i = 0; i < days.length; i++) {
+            out[i] = julianMillisToJulian(julianMillis(days[i], times[i]));
+        }
+    }
+
+    // </editor-fold>
+}
@@ -0,0 +1,214 @@
+package jodd.julianday;
+
+import java.time.Duration;
+
+import static jodd.julianday.JulianDayFunctions.MICROS_IN_DAY;
+import static jodd.julianday.JulianDayFunctions.dayPlusMicros;
+import static jodd.julianday.JulianDayFunctions.microsBetween;
+import static jodd.julianday.JulianDayFunctions.timePlusMicros;
+
+/**
+ * Exact amount of time between two Julian Days, stored as a single {@code long} of microseconds.
+ * That covers about 292 thousand years in each direction.
+ * <p>
+ * Durations are integer ticks, so adding and subtracting them never loses precision, unlike adding
+ * days as {@code double}. Adding a duration to a Julian Day rounds its fraction to the microsecond
+ * and carries the sum into the day as an integer. Arithmetic throws {@link ArithmeticException} on overflow.
+ * <p>
+ * For hot loops, the static methods {@link #microsBetween(int, double, int, double)},
+ * {@link #dayPlus(int, double, long)} and {@link #timePlus(int, double, long)} work on day and fraction
+ * pairs and microseconds, without creating any object.
+ */
+public class JulianDuration implements Comparable<JulianDuration> {
+
+    public static final JulianDuration ZERO = new JulianDuration(0);
+
+    private final long micros;
+
+    private JulianDuration(final long micros) {
+        this.micros = micros;
+    }
+
+    // <editor-fold desc="Factories">
+
+    public static JulianDuration ofMicros(final long micros) {
+        return micros == 0 ? ZERO : new JulianDuration(micros);
+    }
+
+    public static JulianDuration ofMillis(final long millis) {
+        return ofMicros(Math.multiplyExact(millis, 1_000L));
+    }
+
+    public static JulianDuration ofSeconds(final long seconds) {
+        return ofMicros(Math.multiplyExact(seconds, 1_000_000L));
+    }
+
+    public static JulianDuration ofDays(final long days) {
+        return ofMicros(Math.multiplyExact(days, MICROS_IN_DAY));
+    }
+
+    /**
+     * Creates duration of given day value, rounding its fraction to the microsecond.
+     */
+    public static JulianDuration ofDays(final DayValue days) {
+        return ofMicros(microsBetween(0, 0, days.day(), days.time()));
+    }
+
+    /**
+     * Creates duration from Java duration, rounding the nanoseconds down to the microsecond.
+     */
+    public static JulianDuration of(final Duration duration) {
+        final long micros = Math.multiplyExact(duration.getSeconds(), 1_000_000L);
+        return ofMicros(Math.addExact(micros, duration.getNano() / 1_000));
+    }
+
+    /**
+     * Returns duration from the start to the end; negative when the end is before the start.
+     */
+    public static JulianDuration between(final JulianDay start, final JulianDay end) {
+        return ofMicros(microsBetween(start.day(), start.time(), end.day(), end.time()));
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Primitives">
+
+    /**
+     * Returns microseconds from the start to the end, see {@link #between(JulianDay, JulianDay)}.
+     */
+    public static long microsBetween(final int startDay, final double startTime, final int endDay, final double endTime) {
+        return JulianDayFunctions.microsBetween(startDay, startTime, endDay, endTime);
+    }
+
+    /**
+     * Returns the integer part of the Julian Day plus microseconds, see {@link JulianDay#plus(JulianDuration)}.
+     */
+    public static int dayPlus(final int day, final double time, final long micros) {
+        return dayPlusMicros(day, time, micros);
+    }
+
+    /**
+     * Returns the fraction of the Julian Day plus microseconds, see {@link JulianDay#plus(JulianDuration)}.
+     */
+    public static double timePlus(final int day, final double time, final long micros) {
+        return timePlusMicros(time, micros);
+    }
+
+    /**
+     * Adds the same microseconds to each of the Julian Days, writing results to the output arrays,
+     * that may be the input arrays.
+     */
+    public static void plus(final int[] days, final double[] times, final long micros, final int[] outDays, final double[] outTimes) {
+        for (int i = 0; i < days.length; i++) {
+            final int day = days[i];
+            final double time = times[i];
+            outDays[i] = dayPlusMicros(day, time, micros);
+            outTimes[i] = timePlusMicros(time, micros);
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Arithmetic">
+
+    public JulianDuration plus(final JulianDuration other) {
+        return ofMicros(Math.addExact(this.micros, other.micros));
+    }
+
+    public JulianDuration minus(final JulianDuration other) {
+        return ofMicros(Math.subtractExact(this.micros, other.micros));
+    }
+
+    public JulianDuration multipliedBy(final long multiplicand) {
+        return ofMicros(Math.multiplyExact(this.micros, multiplicand));
+    }
+
+    /**
+     * Divides the duration, truncating the result toward zero, as {@link Duration#dividedBy(long)}.
+     */
+    public JulianDuration dividedBy(final long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return ofMicros(this.micros / divisor);
+    }
+
+    public JulianDuration negated() {
+        return ofMicros(Math.negateExact(this.micros));
+    }
+
+    public JulianDuration abs() {
+        return this.micros < 0 ? this.negated() : this;
+    }
+
+    public boolean isZero() {
+        return this.micros == 0;
+    }
+
+    public boolean isNegative() {
+        return this.micros < 0;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Conversions">
+
+    public long toMicros() {
+        return this.micros;
+    }
+
+    /**
+     * Returns milliseconds, rounded down, as {@link Duration#toMillis()}.
+     */
+    public long toMillis() {
+        return Math.floorDiv(this.micros, 1_000L);
+    }
+
+    /**
+     * Returns the duration as day value, with the fraction in [0, 1).
+     */
+    public DayValue toDayValue() {
+        return new DayValue(
+                Math.toIntExact(Math.floorDiv(this.micros, MICROS_IN_DAY)),
+                Math.floorMod(this.micros, MICROS_IN_DAY) / (double) MICROS_IN_DAY);
+    }
+
+    public Duration toDuration() {
+        return Duration.ofSeconds(Math.floorDiv(this.micros, 1_000_000L), Math.floorMod(this.micros, 1_000_000L) * 1_000L);
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="equals & hashCode & compare" defaultstate="collapsed">
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || this.getClass() != object.getClass()) {
+            return false;
+        }
+        return this.micros == ((JulianDuration) object).micros;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.micros);
+    }
+
+    @Override
+    public int compareTo(final JulianDuration other) {
+        return Long.compare(this.micros, other.micros);
+    }
+
+    // </editor-fold>
+
+    /**
+     * Returns ISO-8601 representation, as {@link Duration#toString()}.
+     */
+    @Override
+    public String toString() {
+        return this.toDuration().toString();
+    }
+}
@@ -0,0 +1,39 @@
+package jodd.julianday;
+
+import java.time.DateTimeException;
+import java.time.chrono.Era;
+
+/**
+ * Eras of the {@link JulianChronology}: before and after the year 1.
+ */
+public enum JulianEra implements Era {
+
+    /**
+     * Before Christ, for the proleptic years 0 and before.
+     */
+    BC,
+
+    /**
+     * Anno Domini, for the proleptic years 1 and after.
+     */
+    AD;
+
+    /**
+     * Returns the era from its numeric value: 0 for BC and 1 for AD.
+     */
+    public static JulianEra of(final int value) {
+        switch (value) {
+            case 0:
+                return BC;
+            case 1:
+                return AD;
+            default:
+                throw new DateTimeException("Invalid era: " + value);
+        }
+    }
+
+    @Override
+    public int getValue() {
+        return this.ordinal();
+    }
+}
@@ -0,0 +1,97 @@
+package jodd.julianday;
+
+import java.util.Locale;
+
+/**
+ * Math used by Julian Day conversions for rounding the fraction of the day. Both policies give the same
+ * calendar results: rounding and flooring are exact operations, defined for every input, so the only
+ * difference is how they run.
+ * <p>
+ * The default policy is set with the system property {@value #PROPERTY} ({@code strict} or {@code fast}),
+ * and it is {@link #STRICT} when the property is not set or has an unknown value.
+ * Converters may also be given a policy of their own.
+ */
+public enum MathPolicy {
+
+    /**
+     * Uses {@link StrictMath}, the same code on every platform.
+     */
+    STRICT {
+        @Override
+        long round(final double value) {
+            return StrictMath.round(value);
+        }
+
+        @Override
+        double floor(final double value) {
+            return StrictMath.floor(value);
+        }
+
+        @Override
+        double ceil(final double value) {
+            return StrictMath.ceil(value);
+        }
+    },
+
+    /**
+     * Uses {@link Math}, that the JIT compiler replaces with CPU instructions where it can.
+     */
+    FAST {
+        @Override
+        long round(final double value) {
+            return Math.round(value);
+        }
+
+        @Override
+        double floor(final double value) {
+            return Math.floor(value);
+        }
+
+        @Override
+        double ceil(final double value) {
+            return Math.ceil(value);
+        }
+    };
+
+    /**
+     * Name of the system property with the default policy.
+     */
+    public static final String PROPERTY = "jodd.julianday.math";
+
+    private static final MathPolicy DEFAULT = ofProperty(System.getProperty(PROPERTY));
+
+    /**
+     * Returns the policy of given name, case-insensitive.
+     */
+    public static MathPolicy of(final String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "strict":
+                return STRICT;
+            case "fast":
+                return FAST;
+            default:
+                throw new IllegalArgumentException("Unknown math policy: " + name);
+        }
+    }
+
+    /**
+     * Returns the policy named by the system property. Unknown values fall back to {@link #STRICT},
+     * so a mistyped tuning option never breaks the conversions.
+     */
+    static MathPolicy ofProperty(final String value) {
+        return value != null && value.trim().equalsIgnoreCase("fast") ? FAST : STRICT;
+    }
+
+    /**
+     * Returns the default policy, set by the system property {@value #PROPERTY}.
+     */
+    public static MathPolicy defaultPolicy() {
+        return DEFAULT;
+    }
+
+    abstract long round(double value);
+
+    abstract double floor(double value);
+
+    abstract double ceil(double value);
+}
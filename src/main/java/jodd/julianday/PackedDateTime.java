@@ -0,0 +1,136 @@
+package jodd.julianday;
+
+import java.time.LocalDateTime;
+
+/**
+ * Calendar date and time packed in a single {@code long}, so they can be passed around
+ * and stored in primitive arrays without creating objects.
+ * <p>
+ * From the most significant bits: year (signed, 26 bits), month (6 bits), day of month (5 bits),
+ * hour (5 bits), minute (6 bits), second (6 bits) and millisecond (10 bits).
+ * Packed values of valid dates are ordered in the same way as the dates they represent.
+ * The packed value does not define the calendar system, the same layout is used for dates
+ * of all {@link CalendarSystem}s, where the month may also be the week, up to 53.
+ */
+public class PackedDateTime {
+
+    private static final int YEAR_SHIFT = 38;
+    private static final int MONTH_SHIFT = 32;
+    private static final int DAY_SHIFT = 27;
+    private static final int HOUR_SHIFT = 22;
+    private static final int MINUTE_SHIFT = 16;
+    private static final int SECOND_SHIFT = 10;
+
+    private PackedDateTime() {
+    }
+
+    /**
+     * Packs date and time fields into a single value. Fields are not validated.
+     */
+    public static long of(final int year, final int month, final int day, final int hour, final int minute, final int second, final int millisecond) {
+        return ((long) year << YEAR_SHIFT)
+                | ((long) month << MONTH_SHIFT)
+                | ((long) day << DAY_SHIFT)
+                | ((long) hour << HOUR_SHIFT)
+                | ((long) minute << MINUTE_SHIFT)
+                | ((long) second << SECOND_SHIFT)
+                | millisecond;
+    }
+
+    /**
+     * Packs date fields into a single value, with time set to midnight.
+     */
+    public static long of(final int year, final int month, final int day) {
+        return of(year, month, day, 0, 0, 0, 0);
+    }
+
+    /**
+     * Packs local date time, dropping the sub-millisecond part.
+     */
+    public static long of(final LocalDateTime ldt) {
+        return of(ldt.getYear(), ldt.getMonthValue(), ldt.getDayOfMonth(),
+                ldt.getHour(), ldt.getMinute(), ldt.getSecond(), ldt.getNano() / 1_000_000);
+    }
+
+    /**
+     * Packs Julian calendar date time.
+     */
+    public static long of(final JulianDateTime jdt) {
+        return of(jdt.getYear(), jdt.getMonthValue(), jdt.getDayOfMonth(),
+                jdt.getHour(), jdt.getMinute(), jdt.getSecond(), jdt.getMillisecond());
+    }
+
+    /**
+     * Returns packed date with the time fields replaced by given milliseconds of the day.
+     */
+    static long withMillisOfDay(final long packedDate, final int millisOfDay) {
+        final int hour = millisOfDay / 3_600_000;
+        final int minute = millisOfDay / 60_000 % 60;
+        final int second = millisOfDay / 1_000 % 60;
+        final int millisecond = millisOfDay % 1_000;
+        return (packedDate & (-1L << DAY_SHIFT))
+                | ((long) hour << HOUR_SHIFT)
+                | ((long) minute << MINUTE_SHIFT)
+                | ((long) second << SECOND_SHIFT)
+                | millisecond;
+    }
+
+    // <editor-fold desc="Fields">
+
+    public static int year(final long packed) {
+        return (int) (packed >> YEAR_SHIFT);
+    }
+
+    public static int month(final long packed) {
+        return (int) (packed >>> MONTH_SHIFT) & 0x3F;
+    }
+
+    public static int dayOfMonth(final long packed) {
+        return (int) (packed >>> DAY_SHIFT) & 0x1F;
+    }
+
+    public static int hour(final long packed) {
+        return (int) (packed >>> HOUR_SHIFT) & 0x1F;
+    }
+
+    public static int minute(final long packed) {
+        return (int) (packed >>> MINUTE_SHIFT) & 0x3F;
+    }
+
+    public static int second(final long packed) {
+        return (int) (packed >>> SECOND_SHIFT) & 0x3F;
+    }
+
+    public static int millisecond(final long packed) {
+        return (int) packed & 0x3FF;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="TO converters">
+
+    /**
+     * Unpacks the value as Gregorian calendar date.
+     */
+    public static LocalDateTime toLocalDateTime(final long packed) {
+        return LocalDateTime.of(year(packed), month(packed), dayOfMonth(packed),
+                hour(packed), minute(packed), second(packed), millisecond(packed) * 1_000_000);
+    }
+
+    /**
+     * Unpacks the value as Julian calendar date.
+     */
+    public static JulianDateTime toJulianDateTime(final long packed) {
+        return new JulianDateTime(year(packed), month(packed), dayOfMonth(packed),
+                hour(packed), minute(packed), second(packed), millisecond(packed));
+    }
+
+    /**
+     * Returns the string representation of the packed value, in ISO-like format.
+     */
+    public static String toString(final long packed) {
+        return toJulianDateTime(packed).toString().replace('J', 'T');
+    }
+
+    // </editor-fold>
+}
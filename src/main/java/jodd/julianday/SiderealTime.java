@@ -0,0 +1,238 @@
+package jodd.julianday;
+
+import static java.lang.StrictMath.cos;
+import static java.lang.StrictMath.sin;
+import static jodd.julianday.JulianDayFunctions.floor;
+
+/**
+ * Earth Rotation Angle and Greenwich sidereal time of Julian Days in UT1.
+ * <p>
+ * Julian Day is taken as integer day and fraction, and the two are never added into a single double.
+ * The whole revolutions of the large day number are removed in an exact-enough way, and only the fraction
+ * is multiplied by the rotation rate, so the precision of the result does not depend on the date.
+ * <ul>
+ *     <li>Earth Rotation Angle (ERA) is the IAU 2000 linear expression.</li>
+ *     <li>Greenwich Mean Sidereal Time (GMST) is the IAU 2006 expression. Its polynomial is evaluated
+ *     with TT taken as UT1; the difference of about a minute changes the result by less than 0.0001 arcsecond.</li>
+ *     <li>Greenwich Apparent Sidereal Time (GAST) adds the equation of the equinoxes from the four largest
+ *     nutation terms, accurate to about 0.5 arcsecond (0.03 second of time).</li>
+ * </ul>
+ * All the angles are in radians, in the range [0, 2&pi;). Bulk methods compute the terms that depend only on
+ * the day once per run of equal days, so dense sampling within a day costs little more than the fraction math.
+ */
+public class SiderealTime {
+
+    private SiderealTime() {
+    }
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double ARCSEC_TO_RAD = Math.PI / (180 * 3600);
+    private static final double DEG_TO_RAD = Math.PI / 180;
+
+    static final int J2000_DAY = 2451545;
+    static final double DAYS_IN_CENTURY = 36525.0;
+
+    /**
+     * ERA at J2000.0, in revolutions.
+     */
+    private static final double ERA_J2000 = 0.7790572732640;
+    /**
+     * Revolutions of ERA per UT1 day, beyond the one whole revolution.
+     */
+    private static final double ERA_RATE = 0.00273781191135448;
+
+    /**
+     * GMST polynomial in TT Julian centuries, without the ERA, in arcseconds.
+     */
+    private static final double[] GMST_POLYNOMIAL = {0.014506, 4612.156534, 1.3915817, -0.00000044, -0.000029956, -0.0000000368};
+
+    // <editor-fold desc="Single values">
+
+    /**
+     * Returns Earth Rotation Angle of given UT1 Julian Day.
+     */
+    public static double era(final int day, final double time) {
+        return new DayTerms().at(day).era(time);
+    }
+
+    public static double era(final DayValue jd) {
+        return era(jd.day(), jd.time());
+    }
+
+    public static double era(final JulianDay jd) {
+        return era(jd.day(), jd.time());
+    }
+
+    /**
+     * Returns Greenwich Mean Sidereal Time of given UT1 Julian Day.
+     */
+    public static double gmst(final int day, final double time) {
+        return new DayTerms().at(day).gmst(time);
+    }
+
+    public static double gmst(final DayValue jd) {
+        return gmst(jd.day(), jd.time());
+    }
+
+    public static double gmst(final JulianDay jd) {
+        return gmst(jd.day(), jd.time());
+    }
+
+    /**
+     * Returns Greenwich Apparent Sidereal Time of given UT1 Julian Day.
+     */
+    public static double gast(final int day, final double time) {
+        return new DayTerms().at(day).gast(time);
+    }
+
+    public static double gast(final DayValue jd) {
+        return gast(jd.day(), jd.time());
+    }
+
+    public static double gast(final JulianDay jd) {
+        return gast(jd.day(), jd.time());
+    }
+
+    /**
+     * Converts the angle in radians to hours, e.g. to get the sidereal time in hours.
+     */
+    public static double toHours(final double radians) {
+        return radians * 12 / Math.PI;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Bulk">
+
+    /**
+     * Writes Earth Rotation Angles of given UT1 Julian Days to the output array.
+     */
+    public static void era(final int[] days, final double[] times, final double[] out) {
+        final DayTerms terms = new DayTerms();
+        for (int i = 0; i < days.length; i++) {
+            out[i] = terms.at(days[i]).era(times[i]);
+        }
+    }
+
+    /**
+     * Writes Greenwich Mean Sidereal Times of given UT1 Julian Days to the output array.
+     */
+    public static void gmst(final int[] days, final double[] times, final double[] out) {
+        final DayTerms terms = new DayTerms();
+        for (int i = 0; i < days.length; i++) {
+            out[i] = terms.at(days[i]).gmst(times[i]);
+        }
+    }
+
+    /**
+     * Writes Greenwich Apparent Sidereal Times of given UT1 Julian Days to the output array.
+     */
+    public static void gast(final int[] days, final double[] times, final double[] out) {
+        final DayTerms terms = new DayTerms();
+        for (int i = 0; i < days.length; i++) {
+            out[i] = terms.at(days[i]).gast(times[i]);
+        }
+    }
+
+    // </editor-fold>
+
+    /**
+     * Terms that depend only on the integer day. Single values use the same terms as bulk methods,
+     * so both give identical results.
+     */
+    static final class DayTerms {
+        private boolean valid;
+        private int day;
+
+        /**
+         * ERA of the day, without whole revolutions.
+         */
+        private double eraOfDay;
+        /**
+         * GMST polynomial shifted to the day, in powers of the fraction of century.
+         */
+        private final double[] polynomial = new double[GMST_POLYNOMIAL.length];
+
+        // nutation arguments at the day, and their rates per century, in radians
+        private double omega;
+        private double omegaRate;
+        private double sunLongitude;
+        private double sunLongitudeRate;
+        private double moonLongitude;
+        private double moonLongitudeRate;
+        private double cosObliquity;
+
+        DayTerms at(final int day) {
+            if (this.valid && this.day == day) {
+                return this;
+            }
+            this.valid = true;
+            this.day = day;
+
+            final int daysFromJ2000 = day - J2000_DAY;
+            final double eraOfDay = ERA_J2000 + ERA_RATE * daysFromJ2000;
+            this.eraOfDay = eraOfDay - floor(eraOfDay);
+
+            // Taylor shift of the polynomial to t0, so only the small fraction of century is left for each value
+            final double t0 = daysFromJ2000 / DAYS_IN_CENTURY;
+            final double[] p = this.polynomial;
+            System.arraycopy(GMST_POLYNOMIAL, 0, p, 0, p.length);
+            final int n = p.length - 1;
+            for (int i = 0; i < n; i++) {
+                for (int k = n - 1; k >= i; k--) {
+                    p[k] += t0 * p[k + 1];
+                }
+            }
+
+            this.omega = (125.04452 + (-1934.136261 + 0.0020708 * t0) * t0) * DEG_TO_RAD;
+            this.omegaRate = (-1934.136261 + 2 * 0.0020708 * t0) * DEG_TO_RAD;
+            this.sunLongitude = (280.4665 + 36000.7698 * t0) * DEG_TO_RAD;
+            this.sunLongitudeRate = 36000.7698 * DEG_TO_RAD;
+            this.moonLongitude = (218.3165 + 481267.8813 * t0) * DEG_TO_RAD;
+            this.moonLongitudeRate = 481267.8813 * DEG_TO_RAD;
+            this.cosObliquity = cos((84381.448 - 46.8150 * t0) * ARCSEC_TO_RAD);
+            return this;
+        }
+
+        double era(final double time) {
+            return normalize(TWO_PI * (this.eraOfDay + time + ERA_RATE * time));
+        }
+
+        double gmst(final double time) {
+            final double dt = time / DAYS_IN_CENTURY;
+            final double[] p = this.polynomial;
+            double arcsec = p[p.length - 1];
+            for (int k = p.length - 2; k >= 0; k--) {
+                arcsec = arcsec * dt + p[k];
+            }
+            return normalize(TWO_PI * (this.eraOfDay + time + ERA_RATE * time) + arcsec * ARCSEC_TO_RAD);
+        }
+
+        double gast(final double time) {
+            return normalize(this.gmst(time) + this.equationOfEquinoxes(time));
+        }
+
+        /**
+         * Returns the equation of the equinoxes, nutation in longitude projected to the equator,
+         * with the complementary terms, in radians.
+         */
+        double equationOfEquinoxes(final double time) {
+            final double dt = time / DAYS_IN_CENTURY;
+            final double omega = this.omega + this.omegaRate * dt;
+            final double sunLongitude = this.sunLongitude + this.sunLongitudeRate * dt;
+            final double moonLongitude = this.moonLongitude + this.moonLongitudeRate * dt;
+            final double nutationInLongitude =
+                    -17.20 * sin(omega)
+                    - 1.32 * sin(2 * sunLongitude)
+                    - 0.23 * sin(2 * moonLongitude)
+                    + 0.21 * sin(2 * omega);
+            final double complementary = 0.00264096 * sin(omega) + 0.00006352 * sin(2 * omega);
+            return (nutationInLongitude * this.cosObliquity + complementary) * ARCSEC_TO_RAD;
+        }
+
+        private static double normalize(final double angle) {
+            final double a = angle % TWO_PI;
+            return a < 0 ? a + TWO_PI : a;
+        }
+    }
+}
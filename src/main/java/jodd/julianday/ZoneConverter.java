@@ -0,0 +1,219 @@
+package jodd.julianday;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static jodd.julianday.JulianDayFunctions.J1970_MILLIS;
+import static jodd.julianday.JulianDayFunctions.julianMillis;
+import static jodd.julianday.JulianDayFunctions.julianMillisToGregorian;
+
+/**
+ * Converts Julian Days to the local date and time of a time zone.
+ * <p>
+ * Offset transitions of the zone are extracted once, for a range of years, into a sorted primitive array.
+ * Each conversion then finds the offset with a binary search, without walking the {@link ZoneRules}
+ * and without creating {@code ZonedDateTime} objects. Bulk conversion of sorted input reuses the last
+ * found interval. Julian Days outside the range of years are still converted correctly, using the
+ * zone rules directly.
+ * <p>
+ * Local date and time are returned as {@link PackedDateTime} values in the Gregorian calendar.
+ * Converters are immutable and thread-safe.
+ */
+public class ZoneConverter {
+
+    private static final int DEFAULT_FROM_YEAR = 1800;
+    private static final int DEFAULT_TO_YEAR = 2200;
+
+    private static final ConcurrentMap<ZoneId, ZoneConverter> CONVERTERS = new ConcurrentHashMap<>();
+
+    private final ZoneRules rules;
+    private final long rangeStart;
+    private final long rangeEnd;
+
+    /**
+     * Instants of transitions, in milliseconds since Julian Day 0.
+     */
+    private final long[] transitions;
+
+    /**
+     * Offsets in milliseconds; the offset at index {@code i} is valid before the transition at index {@code i}.
+     * There is one offset more than transitions.
+     */
+    private final int[] offsets;
+
+    private final MathPolicy math;
+
+    /**
+     * Creates a converter with transitions extracted for given range of years (inclusive).
+     */
+    public ZoneConverter(final ZoneId zone, final int fromYear, final int toYear) {
+        this(zone, fromYear, toYear, MathPolicy.defaultPolicy());
+    }
+
+    /**
+     * Creates a converter with transitions extracted for given range of years (inclusive),
+     * that rounds with given math.
+     */
+    public ZoneConverter(final ZoneId zone, final int fromYear, final int toYear, final MathPolicy math) {
+        this.rules = zone.getRules();
+        this.math = math;
+
+        final Instant start = LocalDateTime.of(fromYear, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+        final Instant end = LocalDateTime.of(toYear + 1, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+        this.rangeStart = J1970_MILLIS + start.toEpochMilli();
+        this.rangeEnd = J1970_MILLIS + end.toEpochMilli();
+
+        long[] transitions = new long[16];
+        int[] offsets = new int[17];
+        int count = 0;
+        offsets[0] = this.rules.getOffset(start).getTotalSeconds() * 1000;
+
+        ZoneOffsetTransition transition = this.rules.nextTransition(start);
+        while (transition != null && transition.getInstant().isBefore(end)) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = J1970_MILLIS + transition.getInstant().toEpochMilli();
+            offsets[++count] = transition.getOffsetAfter().getTotalSeconds() * 1000;
+            transition = this.rules.nextTransition(transition.getInstant());
+        }
+
+        this.transitions = Arrays.copyOf(transitions, count);
+        this.offsets = Arrays.copyOf(offsets, count + 1);
+    }
+
+    /**
+     * Returns the shared converter of a zone, with transitions extracted for years from 1800 to 2200.
+     */
+    public static ZoneConverter of(final ZoneId zone) {
+        return CONVERTERS.computeIfAbsent(zone, z -> new ZoneConverter(z, DEFAULT_FROM_YEAR, DEFAULT_TO_YEAR));
+    }
+
+    /**
+     * Returns the math of this converter.
+     */
+    public MathPolicy math() {
+        return this.math;
+    }
+
+    /**
+     * Returns the number of extracted offset transitions.
+     */
+    public int transitionsCount() {
+        return this.transitions.length;
+    }
+
+    // <editor-fold desc="Offsets">
+
+    /**
+     * Returns the offset from UTC, in seconds, at given Julian Day.
+     */
+    public int offsetSeconds(final JulianDay jd) {
+        return this.offsetMillis(julianMillis(jd.day(), jd.time(), this.math)) / 1000;
+    }
+
+    /**
+     * Returns the offset from UTC, in seconds, at given Julian Day.
+     */
+    public int offsetSeconds(final int day, final double time) {
+        return this.offsetMillis(julianMillis(day, time, this.math)) / 1000;
+    }
+
+    private int offsetMillis(final long julianMillis) {
+        if (julianMillis < this.rangeStart || julianMillis >= this.rangeEnd) {
+            return this.outOfRangeOffsetMillis(julianMillis);
+        }
+        return this.offsets[this.intervalOf(julianMillis)];
+    }
+
+    private int outOfRangeOffsetMillis(final long julianMillis) {
+        return this.rules.getOffset(Instant.ofEpochMilli(julianMillis - J1970_MILLIS)).getTotalSeconds() * 1000;
+    }
+
+    /**
+     * Returns the number of transitions that happened at or before given instant,
+     * which is also the index of the offset that is valid at that instant.
+     */
+    private int intervalOf(final long julianMillis) {
+        int low = 0;
+        int high = this.transitions.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (this.transitions[middle] <= julianMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Conversions">
+
+    /**
+     * Converts Julian Day to the local date and time, packed as {@link PackedDateTime}.
+     */
+    public long toLocalFields(final JulianDay jd) {
+        return this.toLocalFields(jd.day(), jd.time());
+    }
+
+    /**
+     * Converts Julian Day, given as integer and fraction parts, to the local date and time,
+     * packed as {@link PackedDateTime}.
+     */
+    public long toLocalFields(final int day, final double time) {
+        final long julianMillis = julianMillis(day, time, this.math);
+        return julianMillisToGregorian(julianMillis + this.offsetMillis(julianMillis));
+    }
+
+    /**
+     * Converts Julian Day to the local date and time.
+     */
+    public LocalDateTime toLocalDateTime(final JulianDay jd) {
+        return PackedDateTime.toLocalDateTime(this.toLocalFields(jd));
+    }
+
+    /**
+     * Converts Julian Days, given as integer and fraction parts, to the local dates and times,
+     * packed as {@link PackedDateTime}. When the input is sorted, most offsets are found
+     * without a binary search.
+     */
+    public void toLocalFields(final int[] days, final double[] times, final long[] out) {
+        int interval = 0;
+        for (int i = 0; i < days.length; i++) {
+            final long julianMillis = julianMillis(days[i], times[i], this.math);
+            final int offset;
+
+            if (julianMillis < this.rangeStart || julianMillis >= this.rangeEnd) {
+                offset = this.outOfRangeOffsetMillis(julianMillis);
+            } else {
+                if (!this.isInInterval(interval, julianMillis)) {
+                    interval = this.isInInterval(interval + 1, julianMillis) ? interval + 1 : this.intervalOf(julianMillis);
+                }
+                offset = this.offsets[interval];
+            }
+
+            out[i] = julianMillisToGregorian(julianMillis + offset);
+        }
+    }
+
+    private boolean isInInterval(final int interval, final long julianMillis) {
+        if (interval > this.transitions.length) {
+            return false;
+        }
+        return (interval == 0 || this.transitions[interval - 1] <= julianMillis)
+                && (interval == this.transitions.length || julianMillis < this.transitions[interval]);
+    }
+
+    // </editor-fold>
+}
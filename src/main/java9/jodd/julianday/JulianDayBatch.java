@@ -0,0 +1,73 @@
+package jodd.julianday;
+
+/**
+ * Batch of Julian Days converted from Unix times, published by the {@link JulianDayProcessor}.
+ * <p>
+ * Julian Days are stored as arrays of integer and fraction parts, together with the Gregorian calendar
+ * date and time of each, packed as {@link PackedDateTime}. Arrays are returned as they are, without copying;
+ * they must not be modified.
+ */
+public final class JulianDayBatch {
+
+    private final int[] days;
+    private final double[] times;
+    private final long[] gregorianFields;
+
+    private JulianDayBatch(final int[] days, final double[] times, final long[] gregorianFields) {
+        this.days = days;
+        this.times = times;
+        this.gregorianFields = gregorianFields;
+    }
+
+    /**
+     * Converts Unix times in milliseconds using the bulk conversions of {@link JulianDays}.
+     */
+    static JulianDayBatch ofUnixMilliseconds(final long[] millis) {
+        final int[] days = new int[millis.length];
+        final double[] times = new double[millis.length];
+        final long[] gregorianFields = new long[millis.length];
+        JulianDays.ofUnixMilliseconds(millis, days, times);
+        JulianDays.toGregorianFields(days, times, gregorianFields);
+        return new JulianDayBatch(days, times, gregorianFields);
+    }
+
+    /**
+     * Returns the number of Julian Days in the batch.
+     */
+    public int size() {
+        return this.days.length;
+    }
+
+    /**
+     * Returns integer parts of the Julian Days.
+     */
+    public int[] days() {
+        return this.days;
+    }
+
+    /**
+     * Returns fraction parts of the Julian Days.
+     */
+    public double[] times() {
+        return this.times;
+    }
+
+    /**
+     * Returns Gregorian calendar dates and times, packed as {@link PackedDateTime}.
+     */
+    public long[] gregorianFields() {
+        return this.gregorianFields;
+    }
+
+    /**
+     * Creates the Julian Day at given index.
+     */
+    public JulianDay julianDay(final int index) {
+        return new JulianDay(this.days[index], this.times[index]);
+    }
+
+    @Override
+    public String toString() {
+        return "JulianDayBatch{size=" + this.size() + '}';
+    }
+}
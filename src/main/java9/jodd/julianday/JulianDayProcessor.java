@@ -0,0 +1,329 @@
+package jodd.julianday;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link Flow.Processor} that converts chunks of Unix times in milliseconds to batches of Julian Days.
+ * <p>
+ * Incoming chunks may be of any size, they are collected into batches of the configured size and each batch
+ * is converted at once, using the bulk conversions of {@link JulianDays}. A batch that is not full is published
+ * when the linger time passes after its first element, or when the upstream completes.
+ * <p>
+ * Processor honours the demand of its single subscriber: a batch is converted and published only when requested.
+ * Upstream chunks are requested one at a time, only while the current batch is not full, so at most one batch
+ * and one chunk are held in memory. All the work, including signals to the subscriber, runs on the given executor,
+ * one task at a time. Any executor may be used, e.g. one that starts virtual threads.
+ */
+public class JulianDayProcessor implements Flow.Processor<long[], JulianDayBatch> {
+
+    /**
+     * Marks the upstream subscription as cancelled.
+     */
+    private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+        @Override
+        public void request(final long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Executor executor;
+
+    private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+    private final AtomicReference<Flow.Subscriber<? super JulianDayBatch>> downstream = new AtomicReference<>();
+    private final Queue<long[]> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    /**
+     * Subscription given to the downstream subscriber.
+     */
+    private final Flow.Subscription subscription = new Flow.Subscription() {
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                JulianDayProcessor.this.error = new IllegalArgumentException("Requested number must be positive: " + n);
+                JulianDayProcessor.this.cancelUpstream();
+            } else {
+                JulianDayProcessor.this.requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            }
+            JulianDayProcessor.this.signal();
+        }
+
+        @Override
+        public void cancel() {
+            JulianDayProcessor.this.cancelUpstream();
+            JulianDayProcessor.this.signal();
+        }
+    };
+
+    private volatile boolean upstreamPending;
+    private volatile boolean upstreamDone;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+
+    // accessed only from the drain loop
+    private boolean subscribed;
+    private boolean terminated;
+    private long[] buffer;
+    private int count;
+    private int position;
+    private long batchStartNanos;
+
+    public JulianDayProcessor(final int batchSize, final Duration linger, final Executor executor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("Linger time must not be negative: " + linger);
+        }
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.executor = Objects.requireNonNull(executor);
+        this.buffer = new long[batchSize];
+    }
+
+    /**
+     * Creates processor that runs on the given executor.
+     */
+    public static JulianDayProcessor of(final int batchSize, final Duration linger, final Executor executor) {
+        return new JulianDayProcessor(batchSize, linger, executor);
+    }
+
+    /**
+     * Creates processor that runs on the common fork-join pool.
+     */
+    public static JulianDayProcessor of(final int batchSize, final Duration linger) {
+        return new JulianDayProcessor(batchSize, linger, ForkJoinPool.commonPool());
+    }
+
+    // <editor-fold desc="Upstream">
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (!this.upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        if (this.cancelled) {
+            subscription.cancel();
+            return;
+        }
+        this.signal();
+    }
+
+    @Override
+    public void onNext(final long[] unixMillis) {
+        Objects.requireNonNull(unixMillis);
+        this.inbox.offer(unixMillis);
+        this.upstreamPending = false;
+        this.signal();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        this.error = Objects.requireNonNull(throwable);
+        this.upstreamDone = true;
+        this.signal();
+    }
+
+    @Override
+    public void onComplete() {
+        this.upstreamDone = true;
+        this.signal();
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Downstream">
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super JulianDayBatch> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!this.downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Processor supports only one subscriber"));
+            return;
+        }
+        this.signal();
+    }
+
+    private void cancelUpstream() {
+        this.cancelled = true;
+        final Flow.Subscription s = this.upstream.getAndSet(CANCELLED);
+        if (s != null && s != CANCELLED) {
+            s.cancel();
+        }
+    }
+
+    // </editor-fold>
+
+    // <editor-fold desc="Drain loop">
+
+    /**
+     * Schedules the drain loop on the executor, unless it is already running.
+     */
+    private void signal() {
+        if (this.wip.getAndIncrement() == 0) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            this.drainOnce();
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainOnce() {
+        final Flow.Subscriber<? super JulianDayBatch> subscriber = this.downstream.get();
+        if (subscriber == null || this.terminated) {
+            return;
+        }
+        if (!this.subscribed) {
+            this.subscribed = true;
+            subscriber.onSubscribe(this.subscription);
+        }
+        final Throwable throwable = this.error;
+        if (throwable != null) {
+            this.terminate();
+            subscriber.onError(throwable);
+            return;
+        }
+        if (this.cancelled) {
+            this.terminate();
+            return;
+        }
+
+        long emitted = 0;
+        final long demand = this.requested.get();
+        while (true) {
+            this.fill();
+            final boolean full = this.count == this.batchSize;
+            final boolean flush = this.count > 0 && ((this.upstreamDone && this.inbox.isEmpty()) || this.lingerExpired());
+            if (!(full || flush) || emitted == demand) {
+                break;
+            }
+            subscriber.onNext(this.convert());
+            emitted++;
+            if (this.cancelled) {
+                this.terminate();
+                return;
+            }
+        }
+        if (emitted != 0 && demand != Long.MAX_VALUE) {
+            this.requested.addAndGet(-emitted);
+        }
+
+        if (this.upstreamDone && this.inbox.isEmpty() && this.count == 0) {
+            this.terminate();
+            subscriber.onComplete();
+            return;
+        }
+        this.requestUpstream();
+    }
+
+    /**
+     * Moves Unix times from the received chunks to the batch buffer, while there is room.
+     */
+    private void fill() {
+        while (this.count < this.batchSize) {
+            final long[] chunk = this.inbox.peek();
+            if (chunk == null) {
+                return;
+            }
+            final int length = Math.min(chunk.length - this.position, this.batchSize - this.count);
+            if (this.count == 0 && length > 0) {
+                this.startLinger();
+            }
+            System.arraycopy(chunk, this.position, this.buffer, this.count, length);
+            this.count += length;
+            this.position += length;
+            if (this.position == chunk.length) {
+                this.inbox.poll();
+                this.position = 0;
+            }
+        }
+    }
+
+    private void startLinger() {
+        this.batchStartNanos = System.nanoTime();
+        if (this.lingerNanos > 0) {
+            CompletableFuture.delayedExecutor(this.lingerNanos, TimeUnit.NANOSECONDS, this.executor).execute(this::signal);
+        }
+    }
+
+    private boolean lingerExpired() {
+        return System.nanoTime() - this.batchStartNanos >= this.lingerNanos;
+    }
+
+    private JulianDayBatch convert() {
+        final JulianDayBatch batch;
+        if (this.count == this.batchSize) {
+            batch = JulianDayBatch.ofUnixMilliseconds(this.buffer);
+        } else {
+            batch = JulianDayBatch.ofUnixMilliseconds(Arrays.copyOf(this.buffer, this.count));
+        }
+        this.count = 0;
+        return batch;
+    }
+
+    /**
+     * Requests the next chunk, when there is no chunk waiting and the batch is not full.
+     */
+    private void requestUpstream() {
+        final Flow.Subscription s = this.upstream.get();
+        if (s == null || s == CANCELLED || this.upstreamDone || this.upstreamPending) {
+            return;
+        }
+        if (this.inbox.isEmpty() && this.count < this.batchSize) {
+            this.upstreamPending = true;
+            s.request(1);
+        }
+    }
+
+    private void terminate() {
+        this.terminated = true;
+        this.cancelUpstream();
+        this.inbox.clear();
+        this.buffer = null;
+        this.count = 0;
+    }
+
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return "JulianDayProcessor{" +
+                "batchSize=" + this.batchSize +
+                ", linger=" + Duration.ofNanos(this.lingerNanos) +
+                '}';
+    }
+}
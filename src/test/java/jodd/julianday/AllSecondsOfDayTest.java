@@ -2,6 +2,11 @@ package jodd.julianday;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static java.lang.StrictMath.floor;
+import static java.lang.StrictMath.round;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class AllSecondsOfDayTest {
@@ -18,4 +23,139 @@ class AllSecondsOfDayTest {
             assertEquals(expectedJdt, jdt, "Failed at " + i + " seconds of the day");
         }
     }
+
+    @Test
+    void test_iterate_all_milliseconds_against_floating_point() {
+        for (int i = 0; i < 86_400_000; i++) {
+            final int h = i / 3_600_000;
+            final int m = i / 60_000 % 60;
+            final int s = i / 1_000 % 60;
+            final int ms = i % 1_000;
+            final long expected = PackedDateTime.of(0, 0, 0, h, m, s, ms);
+
+            final JulianDay jd = new JulianDay(2459999, 0.5 + JulianDayFunctions.hmsj(h, m, s, ms));
+            final JulianDay legacyJd = new JulianDay(2459999, 0.5 + legacyHmsj(h, m, s, ms));
+
+            if (JulianDayFunctions.jhms(jd) != expected
+                    || JulianDayFunctions.jhms(legacyJd) != expected
+                    || legacyJhms(legacyJd) != expected) {
+                assertEquals(expected, JulianDayFunctions.jhms(jd), "Failed at " + i);
+                assertEquals(expected, JulianDayFunctions.jhms(legacyJd), "Failed at " + i);
+                assertEquals(expected, legacyJhms(legacyJd), "Failed at " + i);
+            }
+        }
+    }
+
+    @Test
+    void test_dates_against_floating_point() {
+        for (int day = 1_000_000; day < 4_000_000; day += 7) {
+            for (int i = 0; i < 86_400_000; i += 9_876_543) {
+                final double jt = 0.5 + legacyHmsj(0, 0, 0, i);
+                final JulianDay jd = new JulianDay(day, jt);
+                final long time = legacyJhms(jd);
+
+                assertEquals(legacyJdToGregorian(jd) | time, jd.toGregorianFields(), "Failed at " + day);
+                assertEquals(legacyJdToJulian(jd) | time, jd.toJulianFields(), "Failed at " + day);
+                if (day > 2440588) {
+                    assertEquals(legacyToUnixMillis(jd, time), jd.toUnixMilliseconds(), "Failed at " + day);
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_unixMillisecondsBefore1970() {
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDate.of(1969, 12, 31).atTime(18, 0));
+        assertEquals(Instant.parse("1969-12-31T18:00:00Z").toEpochMilli(), jd.toUnixMilliseconds());
+        assertEquals(-21_600_000L, jd.toUnixMilliseconds());
+    }
+
+    // <editor-fold desc="Floating point calculations, as they were">
+
+    private static double legacyHmsj(final int h, final int m, final int s, final int millis) {
+        return (h * 3600 + m * 60 + s) / 86400.0 + (millis / 86400000.0);
+    }
+
+    private static long legacyJhms(final JulianDay jd) {
+        final double civil = jd.time() + 0.5;
+        final double a = (civil - floor(civil)) * 86400 + 0.5;
+        int h = (int) floor(a / 3600);
+        int m = (int) floor(a / 60 % 60);
+        final double sm = a % 60;
+        int s = (int) floor(sm);
+        final double millis = ((sm - s - 0.5) * 1000);
+        int roundedMillis = (int) round(millis);
+
+        if (roundedMillis < 0) {
+            roundedMillis += 1000;
+            s--;
+        }
+        if (s < 0) {
+            s += 60;
+            m--;
+        }
+        if (m < 0) {
+            m += 60;
+            h--;
+        }
+        return PackedDateTime.of(0, 0, 0, h, m, s, roundedMillis);
+    }
+
+    private static long legacyJdToJulian(final JulianDay jd) {
+        final double r = jd.toDouble() + .5;
+        final double t = floor(r);
+        final double n = t + 1524;
+        final double s = floor((n - 122.1) / 365.25);
+        final double o = floor(365.25 * s);
+        final double u = floor((n - o) / 30.6001);
+        final double h = floor(u < 14 ? u - 1 : u - 13);
+        final double i = floor(h > 2 ? s - 4716 : s - 4715);
+        final double l = n - o - floor(30.6001 * u);
+        return PackedDateTime.of((int) i, (int) h, (int) l);
+    }
+
+    private static long legacyJdToGregorian(final JulianDay jd) {
+        final double wjd = floor(jd.toDouble() - 0.5) + 0.5;
+        final double depoch = wjd - 1721425.5;
+        final double quadricent = floor(depoch / 146097);
+        final double dqc = mod(depoch, 146097);
+        final double cent = floor(dqc / 36524);
+        final double dcent = mod(dqc, 36524);
+        final double quad = floor(dcent / 1461);
+        final double dquad = mod(dcent, 1461);
+        final double yindex = floor(dquad / 365);
+        int year = (int) ((quadricent * 400) + (cent * 100) + (quad * 4) + yindex);
+        if (!(cent == 4 || yindex == 4)) {
+            year++;
+        }
+        final double yearday = wjd - gregorianToJd(year, 1, 1);
+        final double leapadj = (wjd < gregorianToJd(year, 3, 1)) ? 0 : (JulianDayFunctions.isLeapYear(year) ? 1 : 2);
+        final int month = (int) floor((((yearday + leapadj) * 12) + 373) / 367);
+        final double day = (wjd - gregorianToJd(year, month, 1)) + 1;
+        return PackedDateTime.of(year, month, (int) day);
+    }
+
+    private static double gregorianToJd(final double year, final double month, final double day) {
+        return 1721425.5 - 1
+                + 365 * (year - 1)
+                + floor((year - 1) / 4)
+                - floor((year - 1) / 100)
+                + floor((year - 1) / 400)
+                + floor((367 * month - 362) / 12
+                + (month <= 2 ? 0 : (JulianDayFunctions.isLeapYear(year) ? -1 : -2)) + day);
+    }
+
+    private static double mod(final double a, final double b) {
+        return a - b * floor(a / b);
+    }
+
+    private static long legacyToUnixMillis(final JulianDay jd, final long time) {
+        return (long) (jd.toDouble() - 2440587.5) * 86_400_000L
+                + PackedDateTime.hour(time) * 3_600_000L
+                + PackedDateTime.minute(time) * 60_000L
+                + PackedDateTime.second(time) * 1_000L
+                + PackedDateTime.millisecond(time);
+    }
+
+    // </editor-fold>
 }
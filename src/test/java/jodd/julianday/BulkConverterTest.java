@@ -0,0 +1,120 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkConverterTest {
+
+    private static String convert(final BulkConverter converter, final String input) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.convert(new BufferedReader(new StringReader(input)), Channels.newChannel(out));
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void test_formats() throws IOException {
+        final BulkConverter converter = new BulkConverter(',', 1, 10)
+                .column(0, ColumnFormat.UNIX, ColumnFormat.ISO)
+                .column(1, ColumnFormat.ISO, ColumnFormat.JD)
+                .column(2, ColumnFormat.JD, ColumnFormat.MJD)
+                .column(4, ColumnFormat.JULIAN, ColumnFormat.UNIX);
+
+        final String output = convert(converter,
+                "1483759440000,2017-01-07T03:24:00Z,2457760.641666667,text,2016-12-25J03:24:00.000\n" +
+                "0,1970-01-01,2440587.5,,1969-12-19 00:00\n" +
+                "-1,1969-12-31T23:59:59.999,0.25,x,-4712-01-01T12:00:00.000");
+
+        assertEquals(
+                "2017-01-07T03:24:00.000,2457760.641666667,57760.141666667,text,1483759440000\n" +
+                "1970-01-01T00:00:00.000,2440587.500000000,40587.000000000,,0\n" +
+                "1969-12-31T23:59:59.999,2440587.499999988,-2400000.250000000,x,-210866760000000\n",
+                output);
+    }
+
+    @Test
+    void test_roundTrip() throws IOException {
+        final Random random = new Random(2451545);
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append((long) ((random.nextDouble() - 0.5) * 1e13)).append('\n');
+        }
+
+        for (final ColumnFormat format : new ColumnFormat[]{ColumnFormat.ISO, ColumnFormat.JULIAN, ColumnFormat.JD}) {
+            final String converted = convert(new BulkConverter(',', 1, 100).column(0, ColumnFormat.UNIX, format), input.toString());
+            final String back = convert(new BulkConverter(',', 1, 100).column(0, format, ColumnFormat.UNIX), converted);
+            assertEquals(input.toString(), back, "Failed at " + format);
+        }
+    }
+
+    @Test
+    void test_linesKeepOrderOnManyThreads() throws IOException {
+        final StringBuilder input = new StringBuilder();
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            input.append(i).append('\t').append(i * 60_000L).append('\n');
+            expected.append(i).append('\t');
+            ColumnFormat.ISO.format(JulianDay.ofUnixMilliseconds(i * 60_000L), expected);
+            expected.append('\n');
+        }
+
+        final String output = convert(new BulkConverter('\t', 4, 1000).column(1, ColumnFormat.UNIX, ColumnFormat.ISO), input.toString());
+
+        assertEquals(expected.toString(), output);
+    }
+
+    @Test
+    void test_invalidValueReportsLine() {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append(i == 3210 ? "2017-02-30" : "2017-02-28").append('\n');
+        }
+
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                convert(new BulkConverter(',', 3, 100).column(0, ColumnFormat.ISO, ColumnFormat.JD), input.toString()));
+
+        assertEquals("Line 3211: Invalid date time: 2017-02-30", e.getMessage());
+    }
+
+    @Test
+    void test_commandLine() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        final byte[] input = "a;0\nb;86400000\n".getBytes(StandardCharsets.UTF_8);
+
+        final int status = BulkConverter.run(
+                new String[]{"-d", ";", "-t", "2", "--column", "2:unix:mjd"},
+                new ByteArrayInputStream(input), out, new PrintStream(err));
+
+        assertEquals(0, status);
+        assertEquals("a;40587.000000000\nb;40588.000000000\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertTrue(new String(err.toByteArray(), StandardCharsets.UTF_8).startsWith("Converted 2 rows in "));
+
+        assertEquals(2, BulkConverter.run(new String[]{"-x"}, new ByteArrayInputStream(input), out, new PrintStream(err)));
+        assertEquals(2, BulkConverter.run(new String[0], new ByteArrayInputStream(input), out, new PrintStream(err)));
+        assertEquals(1, BulkConverter.run(new String[]{"-c", "1:unix:jd"}, new ByteArrayInputStream(input), out, new PrintStream(err)));
+
+        // invalid columns and converter settings are invalid arguments, reported with the usage
+        final String[][] invalid = {
+                {"-c", "2:unix:foo"}, {"-c", "1:unix"}, {"-c", "0:unix:iso"}, {"-c", "x:unix:iso"},
+                {"-t", "0", "-c", "1:unix:iso"}, {"-s", "-1", "-c", "1:unix:iso"},
+        };
+        for (int i = 0; i < invalid.length; i++) {
+            err.reset();
+            assertEquals(2, BulkConverter.run(invalid[i], new ByteArrayInputStream(input), out, new PrintStream(err)), "Failed at " + i);
+            assertTrue(new String(err.toByteArray(), StandardCharsets.UTF_8).contains("Usage"), "Failed at " + i);
+        }
+    }
+}
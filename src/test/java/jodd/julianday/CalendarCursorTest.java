@@ -0,0 +1,90 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CalendarCursorTest {
+
+    @Test
+    void test_startFields() {
+        final LocalDateTime ldt = LocalDateTime.of(2023, 5, 23, 17, 44, 12, 345_000_000);
+        final JulianDay jd = JulianDay.ofGregorianDate(ldt);
+        final CalendarCursor cursor = CalendarCursor.of(jd, 1, TimeUnit.DAYS);
+
+        assertEquals(2023, cursor.getYear());
+        assertEquals(5, cursor.getMonthValue());
+        assertEquals(23, cursor.getDayOfMonth());
+        assertEquals(17, cursor.getHour());
+        assertEquals(44, cursor.getMinute());
+        assertEquals(12, cursor.getSecond());
+        assertEquals(345, cursor.getMillisecond());
+        assertEquals(jd.julianDayNumber(), cursor.julianDayNumber());
+        assertEquals(ldt, cursor.toGregorianDate());
+        assertEquals(jd.toJulianDate(), cursor.toJulianDate());
+        assertEquals(jd, cursor.toJulianDay());
+    }
+
+    @Test
+    void test_stepHours_overLeapYears() {
+        final LocalDateTime start = LocalDateTime.of(1899, 12, 31, 23, 0, 0, 0);
+        final CalendarCursor cursor = CalendarCursor.of(JulianDay.ofGregorianDate(start), 7, TimeUnit.HOURS);
+
+        for (int i = 0; i < 50_000; i++) {
+            final LocalDateTime expected = start.plusHours(7L * i);
+            assertEquals(expected, cursor.toGregorianDate(), "Failed at " + i);
+            assertEquals(JulianDay.ofGregorianDate(expected).toJulianDate(), cursor.toJulianDate(), "Failed at " + i);
+            cursor.advance();
+        }
+    }
+
+    @Test
+    void test_stepMillis() {
+        final LocalDateTime start = LocalDateTime.of(2000, 2, 28, 23, 59, 58, 0);
+        final CalendarCursor cursor = CalendarCursor.of(JulianDay.ofGregorianDate(start), 1234, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 100_000; i++) {
+            final LocalDateTime expected = start.plusNanos(1_234_000_000L * i);
+            assertEquals(expected, cursor.toGregorianDate(), "Failed at " + i);
+            cursor.advance();
+        }
+    }
+
+    @Test
+    void test_stepDays_matchesJulianDay() {
+        final JulianDay start = JulianDay.of(2299160, 0.25);
+        final CalendarCursor cursor = CalendarCursor.of(start, 3, TimeUnit.DAYS);
+
+        for (int i = 0; i < 10_000; i++) {
+            final JulianDay expected = start.add(3 * i);
+            assertEquals(expected.day(), cursor.day(), "Failed at " + i);
+            assertEquals(expected.time(), cursor.time(), 1e-10, "Failed at " + i);
+            assertEquals(expected.toGregorianDate(), cursor.toGregorianDate(), "Failed at " + i);
+            assertEquals(expected.toJulianDate(), cursor.toJulianDate(), "Failed at " + i);
+            cursor.advance();
+        }
+    }
+
+    @Test
+    void test_largeStep() {
+        final LocalDateTime start = LocalDateTime.of(1600, 1, 1, 12, 0, 0, 0);
+        final CalendarCursor cursor = CalendarCursor.of(JulianDay.ofGregorianDate(start), 1000, TimeUnit.DAYS);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(start.plusDays(1000L * i), cursor.toGregorianDate(), "Failed at " + i);
+            cursor.advance();
+        }
+    }
+
+    @Test
+    void test_invalidStep() {
+        final JulianDay jd = JulianDay.of(2460000, 0);
+        assertThrows(IllegalArgumentException.class, () -> CalendarCursor.of(jd, 0, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> CalendarCursor.of(jd, -1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> CalendarCursor.of(jd, 1500, TimeUnit.MICROSECONDS));
+    }
+}
@@ -0,0 +1,139 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CalendarDateCacheTest {
+
+    @Test
+    void test_datesMatchCalculation() {
+        final CalendarDateCache cache = new CalendarDateCache(100);
+        final Random random = new Random(2451545);
+        for (int i = 0; i < 100_000; i++) {
+            // clustered days, and some from anywhere in history
+            final long jdn = i % 10 == 0 ? random.nextInt(5_000_000) - 1_000_000 : 2451545 + random.nextInt(50);
+            assertEquals(JulianDayFunctions.jdnToGregorianDate(jdn), cache.gregorianDate(jdn), "Failed at " + i);
+            assertEquals(JulianDayFunctions.jdnToJulianDate(jdn), cache.julianDate(jdn), "Failed at " + i);
+        }
+        assertEquals(128, cache.capacity());
+        assertEquals(200_000, cache.hits() + cache.misses());
+        assertEquals(cache.hits() / 200_000.0, cache.hitRate());
+    }
+
+    @Test
+    void test_metrics() {
+        final CalendarDateCache cache = new CalendarDateCache(8);
+        assertEquals(0, cache.hitRate());
+
+        for (int i = 0; i < 8; i++) {
+            cache.gregorianDate(2451545 + i);
+        }
+        for (int i = 0; i < 8; i++) {
+            cache.julianDate(2451545 + i);
+        }
+        assertEquals(8, cache.capacity());
+        assertEquals(8, cache.hits());
+        assertEquals(8, cache.misses());
+        assertEquals(0, cache.evictions());
+        assertEquals(0.5, cache.hitRate());
+
+        // a new day replaces an old one only when it is used more often
+        cache.gregorianDate(1_000_000);
+        assertEquals(0, cache.evictions());
+        cache.gregorianDate(1_000_000);
+        cache.gregorianDate(1_000_000);
+        assertEquals(1, cache.evictions());
+
+        cache.resetMetrics();
+        assertEquals(0, cache.hits() + cache.misses() + cache.evictions());
+
+        assertThrows(IllegalArgumentException.class, () -> new CalendarDateCache(0));
+    }
+
+    @Test
+    void test_frequentDaysSurviveScan() {
+        final CalendarDateCache cache = new CalendarDateCache(64);
+        // four hot days in each set, used a few times
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 32; i++) {
+                cache.gregorianDate(2451545 + i);
+            }
+        }
+        // scan over many days, used once
+        for (int i = 0; i < 300; i++) {
+            cache.gregorianDate(1_000_000 + i);
+        }
+        cache.resetMetrics();
+
+        for (int i = 0; i < 32; i++) {
+            cache.gregorianDate(2451545 + i);
+        }
+        assertEquals(32, cache.hits());
+    }
+
+    @Test
+    void test_installedCacheIsUsedByConversions() {
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDateTime.of(2017, 1, 7, 3, 24, 0, 123_000_000));
+        final long gregorian = jd.toGregorianFields();
+        final long julian = jd.toJulianFields();
+        final LocalDateTime ldt = jd.toLocalDateTime();
+
+        final CalendarDateCache cache = new CalendarDateCache(16);
+        CalendarDateCache.install(cache);
+        try {
+            assertSame(cache, CalendarDateCache.installed());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(gregorian, jd.toGregorianFields());
+                assertEquals(julian, jd.toJulianFields());
+                assertEquals(ldt, jd.toLocalDateTime());
+            }
+            assertEquals(30, cache.hits() + cache.misses());
+            assertEquals(1, cache.misses());
+
+            final long[] out = new long[1];
+            JulianDays.toGregorianFields(new int[]{jd.day()}, new double[]{jd.time()}, out);
+            assertEquals(gregorian, out[0]);
+            assertEquals(30, cache.hits());
+        }
+        finally {
+            CalendarDateCache.uninstall();
+        }
+        assertNull(CalendarDateCache.installed());
+        assertEquals(gregorian, jd.toGregorianFields());
+        assertEquals(31, cache.hits() + cache.misses());
+    }
+
+    @Test
+    void test_concurrentLookups() throws InterruptedException {
+        final CalendarDateCache cache = new CalendarDateCache(32);
+        final AtomicInteger failures = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final long seed = t;
+            threads[t] = new Thread(() -> {
+                final Random random = new Random(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    final long jdn = 2451545 + random.nextInt(100);
+                    if (cache.gregorianDate(jdn) != JulianDayFunctions.jdnToGregorianDate(jdn)
+                            || cache.julianDate(jdn) != JulianDayFunctions.jdnToJulianDate(jdn)) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertEquals(1_600_000, cache.hits() + cache.misses());
+    }
+}
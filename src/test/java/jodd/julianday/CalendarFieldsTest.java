@@ -0,0 +1,135 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CalendarFieldsTest {
+
+    @Test
+    void test_fieldsMatchConversions() {
+        for (int i = 0; i < 200_000; i++) {
+            final JulianDay jd = JulianDay.of(2300000 + i, (i % 97) / 97.0);
+            final LocalDateTime ldt = JulianDay.of(jd.day(), jd.time()).toGregorianDate();
+            final JulianDateTime jdt = JulianDay.of(jd.day(), jd.time()).toJulianDate();
+
+            assertEquals(ldt.getYear(), jd.gregorianYear(), "Failed at " + i);
+            assertEquals(ldt.getMonthValue(), jd.month(), "Failed at " + i);
+            assertEquals(ldt.getDayOfMonth(), jd.dayOfMonth(), "Failed at " + i);
+            assertEquals(ldt.getHour(), jd.hour(), "Failed at " + i);
+            assertEquals(ldt.getMinute(), jd.minute(), "Failed at " + i);
+            assertEquals(ldt.getSecond(), jd.second(), "Failed at " + i);
+            assertEquals(ldt.getNano() / 1_000_000, jd.millisecond(), "Failed at " + i);
+            assertEquals(ldt.getDayOfWeek(), jd.dayOfWeek(), "Failed at " + i);
+            assertEquals(ldt.getDayOfYear(), jd.dayOfYear(), "Failed at " + i);
+            assertEquals(jdt.getYear(), jd.julianYear(), "Failed at " + i);
+            assertEquals(jdt.getMonthValue(), jd.julianMonth(), "Failed at " + i);
+            assertEquals(jdt.getDayOfMonth(), jd.julianDayOfMonth(), "Failed at " + i);
+
+            assertEquals(ldt, jd.toGregorianDate());
+            assertEquals(jdt, jd.toJulianDate());
+        }
+    }
+
+    @Test
+    void test_snapshotMatchesAccessors() {
+        for (int i = 0; i < 100_000; i++) {
+            final JulianDay jd = JulianDay.of(1000000 + i * 17, (i % 89) / 89.0);
+            final CalendarFields fields = jd.fields();
+
+            assertEquals(jd.gregorianYear(), fields.gregorianYear(), "Failed at " + i);
+            assertEquals(jd.month(), fields.month(), "Failed at " + i);
+            assertEquals(jd.dayOfMonth(), fields.dayOfMonth(), "Failed at " + i);
+            assertEquals(jd.dayOfYear(), fields.dayOfYear(), "Failed at " + i);
+            assertEquals(jd.julianYear(), fields.julianYear(), "Failed at " + i);
+            assertEquals(jd.julianMonth(), fields.julianMonth(), "Failed at " + i);
+            assertEquals(jd.julianDayOfMonth(), fields.julianDayOfMonth(), "Failed at " + i);
+            assertEquals(jd.dayOfWeek(), fields.dayOfWeek(), "Failed at " + i);
+            assertEquals(jd.isoWeekBasedYear(), fields.isoWeekBasedYear(), "Failed at " + i);
+            assertEquals(jd.isoWeekOfWeekBasedYear(), fields.isoWeekOfWeekBasedYear(), "Failed at " + i);
+            assertEquals(jd.hour(), fields.hour(), "Failed at " + i);
+            assertEquals(jd.minute(), fields.minute(), "Failed at " + i);
+            assertEquals(jd.second(), fields.second(), "Failed at " + i);
+            assertEquals(jd.millisecond(), fields.millisecond(), "Failed at " + i);
+            assertEquals(jd.toGregorianFields(), fields.toGregorianFields(), "Failed at " + i);
+            assertEquals(jd.toJulianFields(), fields.toJulianFields(), "Failed at " + i);
+            assertEquals(jd.toUnixMilliseconds(), fields.unixMilliseconds(), "Failed at " + i);
+        }
+
+        final JulianDay jd = new JulianDay(2460000, Math.nextDown(0.5));
+        assertEquals(jd.dayOfWeek(), jd.fields().dayOfWeek());
+        assertEquals("2023-02-25T00:00:00.000", jd.fields().toString());
+    }
+
+    @Test
+    void test_fieldsAgreeBeforeMidnight() {
+        // the last half millisecond before midnight is rounded to the next civil day
+        final JulianDay[] jds = {
+                new JulianDay(2460000, Math.nextDown(0.5)),
+                new JulianDay(2460000, 0.5 - 0.4 / 86_400_000),
+                new JulianDay(2459945, Math.nextDown(0.5)),
+                new JulianDay(2460310, 0.5 - 0.3 / 86_400_000),
+        };
+        for (int i = 0; i < jds.length; i++) {
+            final JulianDay jd = jds[i];
+            final LocalDateTime ldt = jd.toGregorianDate();
+            assertEquals(0, ldt.getHour(), "Failed at " + i);
+            assertEquals(ldt.getDayOfWeek(), jd.dayOfWeek(), "Failed at " + i);
+            assertEquals(ldt.getDayOfYear(), jd.dayOfYear(), "Failed at " + i);
+            assertEquals(ldt.get(IsoFields.WEEK_BASED_YEAR), jd.isoWeekBasedYear(), "Failed at " + i);
+            assertEquals(ldt.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), jd.isoWeekOfWeekBasedYear(), "Failed at " + i);
+        }
+        assertEquals(LocalDateTime.of(2023, 2, 25, 0, 0), jds[0].toGregorianDate());
+        assertEquals(DayOfWeek.SATURDAY, jds[0].dayOfWeek());
+    }
+
+    @Test
+    void test_equalsAndHashCode_afterFieldsAreCalculated() {
+        final JulianDay jd1 = JulianDay.of(2460087, 0.3);
+        final JulianDay jd2 = JulianDay.of(2460087, 0.3);
+
+        assertEquals(2023, jd1.gregorianYear());
+
+        assertEquals(jd1, jd2);
+        assertEquals(jd2, jd1);
+        assertEquals(jd1.hashCode(), jd2.hashCode());
+        assertEquals(jd1.valueAsModifiedJulianDay(), jd2.valueAsModifiedJulianDay());
+        assertEquals(jd1.toString(), jd2.toString());
+    }
+
+    @Test
+    void test_unixMilliseconds() {
+        final long millis = 1_684_862_652_345L;
+        final JulianDay jd = JulianDay.ofUnixMilliseconds(millis);
+
+        assertEquals(millis, jd.toUnixMilliseconds());
+        assertEquals(millis, jd.toUnixMilliseconds());
+        assertEquals(millis, jd.toInstant().toEpochMilli());
+    }
+
+    @Test
+    void test_concurrentAccess() throws Exception {
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_000_000));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<LocalDateTime>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(jd::toGregorianDate));
+            }
+            for (final Future<LocalDateTime> future : futures) {
+                assertEquals(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_000_000), future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
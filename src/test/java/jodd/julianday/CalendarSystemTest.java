@@ -0,0 +1,179 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarSystemTest {
+
+    private static final CalendarSystem[] CALENDARS = {
+            CalendarSystem.GREGORIAN,
+            CalendarSystem.JULIAN,
+            CalendarSystem.ISLAMIC,
+            CalendarSystem.HEBREW,
+            CalendarSystem.ISO_WEEK,
+    };
+
+    private static int jdnOf(final LocalDate ld) {
+        return (int) (ld.toEpochDay() + 2440588);
+    }
+
+    @Test
+    void test_knownDates() {
+        assertEquals(2299161, CalendarSystem.GREGORIAN.toJdn(1582, 10, 15));
+        assertEquals(2299160, CalendarSystem.JULIAN.toJdn(1582, 10, 4));
+        assertEquals(PackedDateTime.of(-4712, 1, 1), CalendarSystem.JULIAN.fromJdn(0));
+
+        assertEquals(1948440, CalendarSystem.ISLAMIC.toJdn(1, 1, 1));
+        assertEquals(PackedDateTime.of(622, 7, 16), CalendarSystem.JULIAN.fromJdn(1948440));
+        assertEquals(jdnOf(LocalDate.of(2023, 7, 19)), CalendarSystem.ISLAMIC.toJdn(1445, 1, 1));
+
+        assertEquals(347998, CalendarSystem.HEBREW.toJdn(1, 1, 1));
+        assertEquals(PackedDateTime.of(-3760, 10, 7), CalendarSystem.JULIAN.fromJdn(347998));
+        // Rosh Hashanah, Yom Kippur, Hanukkah and Passover
+        assertEquals(jdnOf(LocalDate.of(2023, 9, 16)), CalendarSystem.HEBREW.toJdn(5784, 1, 1));
+        assertEquals(jdnOf(LocalDate.of(2023, 9, 25)), CalendarSystem.HEBREW.toJdn(5784, 1, 10));
+        assertEquals(jdnOf(LocalDate.of(2023, 12, 8)), CalendarSystem.HEBREW.toJdn(5784, 3, 25));
+        assertEquals(jdnOf(LocalDate.of(2024, 4, 23)), CalendarSystem.HEBREW.toJdn(5784, 8, 15));
+        assertEquals(jdnOf(LocalDate.of(2024, 10, 3)), CalendarSystem.HEBREW.toJdn(5785, 1, 1));
+        assertEquals(13, CalendarSystem.HEBREW.monthsInYear(5784));
+        assertEquals(12, CalendarSystem.HEBREW.monthsInYear(5785));
+
+        assertEquals(PackedDateTime.of(2020, 53, 5), CalendarSystem.ISO_WEEK.fromJdn(jdnOf(LocalDate.of(2021, 1, 1))));
+        assertEquals(53, CalendarSystem.ISO_WEEK.monthsInYear(2020));
+        assertEquals(52, CalendarSystem.ISO_WEEK.monthsInYear(2021));
+    }
+
+    @Test
+    void test_packedDateTime() {
+        final LocalDateTime ldt = LocalDateTime.of(2021, 1, 1, 13, 45, 30);
+        final long packed = PackedDateTime.of(ldt);
+        final int jdn = jdnOf(ldt.toLocalDate());
+
+        // the same layout as the packed date time, the time fields are ignored
+        assertEquals(jdn, CalendarSystem.GREGORIAN.toJdn(packed));
+        assertEquals(PackedDateTime.of(2021, 1, 1), CalendarSystem.GREGORIAN.fromJdn(jdn));
+        assertEquals(PackedDateTime.of(2020, 12, 19), CalendarSystem.GREGORIAN.convert(packed, CalendarSystem.JULIAN));
+
+        final long week = JulianDay.ofGregorianDate(ldt).toCalendarDate(CalendarSystem.ISO_WEEK).toPackedDate();
+        assertEquals(2020, PackedDateTime.year(week));
+        assertEquals(53, PackedDateTime.month(week));
+        assertEquals(5, PackedDateTime.dayOfMonth(week));
+        assertEquals(jdn, CalendarSystem.ISO_WEEK.toJdn(week));
+    }
+
+    @Test
+    void test_gregorianAndIsoWeek_againstJavaTime() {
+        for (int jdn = 0; jdn < 3_000_000; jdn += 3) {
+            final LocalDate ld = LocalDate.ofEpochDay(jdn - 2440588L);
+
+            final long date = CalendarSystem.GREGORIAN.fromJdn(jdn);
+            assertEquals(PackedDateTime.of(ld.getYear(), ld.getMonthValue(), ld.getDayOfMonth()), date, "Failed at " + jdn);
+            assertEquals(jdn, CalendarSystem.GREGORIAN.toJdn(date), "Failed at " + jdn);
+
+            final long week = CalendarSystem.ISO_WEEK.fromJdn(jdn);
+            assertEquals(PackedDateTime.of(ld.get(IsoFields.WEEK_BASED_YEAR), ld.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), ld.getDayOfWeek().getValue()), week, "Failed at " + jdn);
+            assertEquals(jdn, CalendarSystem.ISO_WEEK.toJdn(week), "Failed at " + jdn);
+        }
+    }
+
+    @Test
+    void test_julian_againstExistingConversion() {
+        for (int jdn = 0; jdn < 3_000_000; jdn += 17) {
+            final JulianDateTime jdt = new JulianDay(jdn, 0).toJulianDate();
+            assertEquals(PackedDateTime.of(jdt.getYear(), jdt.getMonthValue(), jdt.getDayOfMonth()), CalendarSystem.JULIAN.fromJdn(jdn), "Failed at " + jdn);
+        }
+    }
+
+    @Test
+    void test_consecutiveDays() {
+        for (final CalendarSystem calendar : CALENDARS) {
+            // covers negative years and both ends of the Hebrew table
+            assertConsecutiveDays(calendar, -200_000, 200_000);
+            assertConsecutiveDays(calendar, 1_700_000, 3_000_000);
+        }
+    }
+
+    private static void assertConsecutiveDays(final CalendarSystem calendar, final int fromJdn, final int toJdn) {
+        long date = calendar.fromJdn(fromJdn);
+        for (int jdn = fromJdn; jdn < toJdn; jdn++) {
+            final int year = PackedDateTime.year(date);
+            final int month = PackedDateTime.month(date);
+            final int day = PackedDateTime.dayOfMonth(date);
+            final String message = calendar + " failed at " + jdn;
+            assertTrue(calendar.isValid(year, month, day), message);
+            assertEquals(jdn, calendar.toJdn(date), message);
+
+            final long next = calendar.fromJdn(jdn + 1);
+            if (day < calendar.monthLength(year, month)) {
+                assertEquals(PackedDateTime.of(year, month, day + 1), next, message);
+            } else if (month < calendar.monthsInYear(year)) {
+                assertEquals(PackedDateTime.of(year, month + 1, 1), next, message);
+            } else {
+                assertEquals(PackedDateTime.of(year + 1, 1, 1), next, message);
+            }
+            date = next;
+        }
+    }
+
+    @Test
+    void test_yearLengths() {
+        for (int year = -1000; year < 10000; year++) {
+            final int hebrew = HebrewCalendarSystem.yearLength(year);
+            assertTrue(hebrew == 353 || hebrew == 354 || hebrew == 355 || hebrew == 383 || hebrew == 384 || hebrew == 385, "Failed at " + year);
+            final int islamic = CalendarSystem.ISLAMIC.toJdn(year + 1, 1, 1) - CalendarSystem.ISLAMIC.toJdn(year, 1, 1);
+            assertEquals(IslamicCalendarSystem.isLeap(year) ? 355 : 354, islamic, "Failed at " + year);
+        }
+    }
+
+    @Test
+    void test_bulk() {
+        final Random random = new Random(3);
+        final int[] jdns = new int[10_000];
+        for (int i = 0; i < jdns.length; i++) {
+            // sorted runs mixed with random jumps
+            jdns[i] = i % 100 == 0 ? 1_500_000 + random.nextInt(1_500_000) : jdns[i - 1] + random.nextInt(3);
+        }
+
+        for (final CalendarSystem calendar : CALENDARS) {
+            final long[] dates = new long[jdns.length];
+            calendar.fromJdn(jdns, dates);
+            for (int i = 0; i < jdns.length; i++) {
+                assertEquals(calendar.fromJdn(jdns[i]), dates[i], calendar + " failed at " + i);
+            }
+            final int[] back = new int[jdns.length];
+            calendar.toJdn(dates, back);
+            assertArrayEquals(jdns, back);
+        }
+    }
+
+    @Test
+    void test_julianDay() {
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDateTime.of(2024, 4, 23, 21, 30, 15, 250_000_000));
+
+        final CalendarDateTime hebrew = jd.toCalendarDate(CalendarSystem.HEBREW);
+        assertEquals(new CalendarDateTime(CalendarSystem.HEBREW, 5784, 8, 15, 21, 30, 15, 250), hebrew);
+        assertEquals("5784-08-15T21:30:15.250[Hebrew]", hebrew.toString());
+        assertEquals(jd, JulianDay.ofCalendarDate(hebrew));
+
+        final CalendarDateTime julian = jd.toCalendarDate(CalendarSystem.JULIAN);
+        final JulianDateTime jdt = jd.toJulianDate();
+        assertEquals(jdt.getYear(), julian.getYear());
+        assertEquals(jdt.getMonthValue(), julian.getMonthValue());
+        assertEquals(jdt.getDayOfMonth(), julian.getDayOfMonth());
+        assertEquals(CalendarSystem.JULIAN, jdt.getCalendar());
+        assertEquals(jd, JulianDay.ofCalendarDate(jdt));
+
+        assertEquals(CalendarDateTime.of(CalendarSystem.ISLAMIC, 1445, 10, 14), CalendarDateTime.of(CalendarSystem.GREGORIAN, 2024, 4, 23).withCalendar(CalendarSystem.ISLAMIC));
+        assertThrows(IllegalArgumentException.class, () -> CalendarDateTime.of(CalendarSystem.HEBREW, 5785, 13, 1));
+        assertThrows(IllegalArgumentException.class, () -> CalendarDateTime.of(CalendarSystem.GREGORIAN, 2023, 2, 29));
+    }
+}
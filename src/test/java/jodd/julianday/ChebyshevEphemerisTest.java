@@ -0,0 +1,127 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChebyshevEphemerisTest {
+
+    /**
+     * Circular orbit with a period of 27.3 days, as two components.
+     */
+    private static double orbit(final int component, final int day, final double time) {
+        final double angle = 2 * Math.PI * ((day - 2451545) + time) / 27.3;
+        return component == 0 ? Math.cos(angle) : Math.sin(angle);
+    }
+
+    private static ChebyshevEphemeris orbitEphemeris() {
+        return ChebyshevEphemeris.fit(2451544, 0.5, 8, 100, 2, 14, ChebyshevEphemerisTest::orbit);
+    }
+
+    @Test
+    void test_fitAndEvaluate() {
+        final ChebyshevEphemeris ephemeris = orbitEphemeris();
+        final Random random = new Random(2451545);
+        final double[] out = new double[2];
+
+        for (int i = 0; i < 10_000; i++) {
+            final int day = 2451544 + random.nextInt(800);
+            final double time = random.nextDouble();
+            if (day == 2451544 && time < 0.5) {
+                continue;
+            }
+            assertEquals(orbit(0, day, time), ephemeris.value(0, day, time), 1e-12, "Failed at " + i);
+            assertEquals(orbit(1, day, time), ephemeris.value(1, JulianDay.of(day, time)), 1e-12, "Failed at " + i);
+
+            ephemeris.values(day, time, out);
+            assertEquals(ephemeris.value(0, day, time), out[0], "Failed at " + i);
+            assertEquals(ephemeris.value(1, new DayValue(day, time)), out[1], "Failed at " + i);
+        }
+
+        assertEquals(JulianDay.of(2451544, 0.5), ephemeris.start());
+        assertEquals(JulianDay.of(2452344, 0.5), ephemeris.end());
+        assertEquals(orbit(0, 2452344, 0.5), ephemeris.value(0, ephemeris.end()), 1e-12);
+    }
+
+    @Test
+    void test_bulkInAnyOrder() {
+        final ChebyshevEphemeris ephemeris = orbitEphemeris();
+        final Random random = new Random(2451545);
+        final int count = 10_000;
+        final int[] sortedDays = new int[count];
+        final double[] sortedTimes = new double[count];
+        final int[] days = new int[count];
+        final double[] times = new double[count];
+        for (int i = 0; i < count; i++) {
+            // dense sorted samples, and the same within random segments
+            sortedDays[i] = 2451545 + i / 20;
+            sortedTimes[i] = (i % 20) / 20.0;
+            days[i] = 2451545 + random.nextInt(790);
+            times[i] = random.nextDouble();
+        }
+        final double[] sorted = new double[count];
+        final double[] unsorted = new double[count];
+
+        ephemeris.values(1, sortedDays, sortedTimes, sorted);
+        ephemeris.values(1, days, times, unsorted);
+
+        final ChebyshevEphemeris fresh = orbitEphemeris();
+        for (int i = 0; i < count; i++) {
+            assertEquals(fresh.value(1, sortedDays[i], sortedTimes[i]), sorted[i], "Failed at " + i);
+            assertEquals(fresh.value(1, days[i], times[i]), unsorted[i], "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_precisionDoesNotDependOnDate() {
+        // function of the time of day only, far away from any usual Julian Day
+        final int farDay = 2_000_000_000;
+        final ChebyshevEphemeris ephemeris = ChebyshevEphemeris.fit(farDay, 0.0, 1, 10, 1, 20,
+                (component, day, time) -> Math.sin(2 * Math.PI * time));
+
+        for (int i = 0; i < 1000; i++) {
+            final double time = i / 1000.0;
+            assertEquals(Math.sin(2 * Math.PI * time), ephemeris.value(0, farDay + 5, time), 1e-12, "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_saveAndLoad() throws IOException {
+        final ChebyshevEphemeris ephemeris = orbitEphemeris();
+        final Path file = Files.createTempFile("ephemeris", ".bin");
+        try {
+            ephemeris.save(file);
+            assertEquals(40 + 100 * 2 * 14 * 8, Files.size(file));
+
+            final ChebyshevEphemeris loaded = ChebyshevEphemeris.load(file);
+            assertEquals(ephemeris.toString(), loaded.toString());
+            for (int i = 0; i < 7990; i++) {
+                final int day = 2451545 + i / 10;
+                final double time = (i % 10) / 10.0;
+                assertEquals(ephemeris.value(0, day, time), loaded.value(0, day, time), "Failed at " + i);
+                assertEquals(ephemeris.value(1, day, time), loaded.value(1, day, time), "Failed at " + i);
+            }
+
+            Files.write(file, new byte[64]);
+            assertThrows(IOException.class, () -> ChebyshevEphemeris.load(file));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_outOfRange() {
+        final ChebyshevEphemeris ephemeris = orbitEphemeris();
+
+        assertThrows(IllegalArgumentException.class, () -> ephemeris.value(0, 2451544, 0.49));
+        assertThrows(IllegalArgumentException.class, () -> ephemeris.value(0, 2452344, 0.51));
+        assertThrows(IllegalArgumentException.class, () -> ChebyshevEphemeris.of(0, 0, 8, 2, 14, new double[27]));
+    }
+}
@@ -0,0 +1,134 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversionAllocationTest {
+
+    private static final int COUNT = 100_000;
+
+    private final JulianDay[] jds = new JulianDay[COUNT];
+    private com.sun.management.ThreadMXBean threadBean;
+
+    ConversionAllocationTest() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            this.threadBean = (com.sun.management.ThreadMXBean) bean;
+        }
+        for (int i = 0; i < COUNT; i++) {
+            this.jds[i] = new JulianDay(2400000 + i, 0.123456789 + i / (COUNT * 2.0));
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated by a single call of the operation, storing results so they escape.
+     */
+    private long bytesPerOp(final IntFunction<Object> op) {
+        final Object[] sink = new Object[COUNT];
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < COUNT; i++) {
+                sink[i] = op.apply(i);
+            }
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = this.threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            sink[i] = op.apply(i);
+        }
+        return (this.threadBean.getThreadAllocatedBytes(threadId) - before) / COUNT;
+    }
+
+    private long bytesPerPrimitiveOp(final IntToLongFunction op) {
+        long sum = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < COUNT; i++) {
+                sum += op.applyAsLong(i);
+            }
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = this.threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            sum += op.applyAsLong(i);
+        }
+        final long bytes = this.threadBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(sum != 1);
+        return bytes / COUNT;
+    }
+
+    @Test
+    void test_packedFields() {
+        for (int i = 0; i < COUNT; i += 97) {
+            final JulianDay jd = this.jds[i];
+            assertEquals(PackedDateTime.of(jd.toGregorianDate()), jd.toGregorianFields(), "Failed at " + i);
+            assertEquals(PackedDateTime.of(jd.toJulianDate()), jd.toJulianFields(), "Failed at " + i);
+            assertEquals(jd.gregorianYear(), PackedDateTime.year(jd.toGregorianFields()), "Failed at " + i);
+            assertEquals(jd.julianDayOfMonth(), PackedDateTime.dayOfMonth(jd.toJulianFields()), "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_primitiveConversionsDoNotAllocate() {
+        if (this.threadBean == null) {
+            return;
+        }
+
+        assertEquals(0, this.bytesPerPrimitiveOp(i -> this.jds[i].toGregorianFields()));
+        assertEquals(0, this.bytesPerPrimitiveOp(i -> this.jds[i].toJulianFields()));
+        assertEquals(0, this.bytesPerPrimitiveOp(i -> this.jds[i].toUnixMilliseconds()));
+    }
+
+    @Test
+    void test_conversionsAllocateOnlyResult() {
+        if (this.threadBean == null) {
+            return;
+        }
+
+        final long localDateTime = this.bytesPerOp(i -> LocalDateTime.of(2000, 1, 1, 2, 57, 46, 666_000_000));
+        final long julianDateTime = this.bytesPerOp(i -> new JulianDateTime(2000, 1, 1, 2, 57, 46, 666));
+        final long julianDay = this.bytesPerOp(i -> new JulianDay(2400000 + i, 0.5));
+
+        assertTrue(this.bytesPerOp(i -> this.jds[i].toGregorianDate()) <= localDateTime);
+        assertTrue(this.bytesPerOp(i -> this.jds[i].toJulianDate()) <= julianDateTime);
+        assertTrue(this.bytesPerOp(i -> JulianDay.ofUnixMilliseconds(i * 86_399_999L)) <= julianDay);
+
+        final LocalDateTime ldt = LocalDateTime.of(2000, 1, 1, 2, 57, 46, 666_000_000);
+        assertTrue(this.bytesPerOp(i -> JulianDay.ofGregorianDate(ldt)) <= julianDay);
+    }
+
+    @Test
+    void test_bulkConversionsDoNotAllocate() {
+        if (this.threadBean == null) {
+            return;
+        }
+        final int[] days = new int[COUNT];
+        final double[] times = new double[COUNT];
+        final long[] longs = new long[COUNT];
+        final int[] ints = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            longs[i] = i * 86_399_999_999L;
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        long bytes = 0;
+        for (int round = 0; round < 10; round++) {
+            final long before = this.threadBean.getThreadAllocatedBytes(threadId);
+            JulianDays.ofUnixNanos(longs, days, times);
+            JulianDays.toUnixNanos(days, times, longs);
+            JulianDays.toUnixMicros(days, times, longs);
+            JulianDays.ofUnixMicros(longs, days, times);
+            JulianDays.toEpochSecond(days, times, longs, ints);
+            JulianDays.ofEpochSecond(longs, ints, days, times);
+            bytes = this.threadBean.getThreadAllocatedBytes(threadId) - before;
+        }
+        // a few bytes may come from the measurement itself, but nothing per element
+        assertTrue(bytes < COUNT, "bulk conversions allocate " + bytes + " bytes");
+    }
+}
@@ -0,0 +1,116 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EpochTest {
+
+    @Test
+    void test_builtInEpochs() {
+        final JulianDay y2000 = JulianDay.ofGregorianDate(LocalDateTime.of(2000, 1, 1, 0, 0));
+
+        assertEquals(new DayValue(2451544, 0.5), y2000.valueAs(Epoch.JULIAN_DAY));
+        assertEquals(new DayValue(51544, 0.0), y2000.valueAs(Epoch.MODIFIED_JULIAN_DAY));
+        assertEquals(new DayValue(51544, 0.5), y2000.valueAs(Epoch.REDUCED_JULIAN_DAY));
+        assertEquals(new DayValue(11544, 0.0), y2000.valueAs(Epoch.TRUNCATED_JULIAN_DAY));
+        assertEquals(new DayValue(-1, 0.5), y2000.valueAs(Epoch.J2000));
+        assertEquals(new DayValue(36526, 0.0), y2000.valueAs(Epoch.OLE_AUTOMATION));
+        assertEquals(new DayValue(18262, 0.0), y2000.valueAs(Epoch.CNES));
+        assertEquals(new DayValue(36524, 0.5), y2000.valueAs(Epoch.DUBLIN));
+
+        assertEquals(new DayValue(0, 0.0), JulianDay.ofGregorianDate(LocalDateTime.of(1980, 1, 6, 0, 0)).valueAs(Epoch.GPS));
+        assertEquals(new DayValue(0, 0.0), JulianDay.ofGregorianDate(LocalDateTime.of(1899, 12, 30, 0, 0)).valueAs(Epoch.OLE_AUTOMATION));
+        assertEquals(new DayValue(0, 0.0), JulianDay.ofGregorianDate(LocalDateTime.of(1899, 12, 31, 12, 0)).valueAs(Epoch.DUBLIN));
+
+        assertEquals(y2000, JulianDay.of(Epoch.GPS, y2000.valueAs(Epoch.GPS)));
+        assertEquals(y2000.valueAsModifiedJulianDay(), y2000.valueAs(Epoch.MODIFIED_JULIAN_DAY));
+        assertEquals(JulianDay.of(2451545, 0.0), Epoch.J2000.julianDay());
+    }
+
+    @Test
+    void test_roundTrip() {
+        final Random random = new Random(2451545);
+        for (final Epoch epoch : Epoch.registered()) {
+            for (int i = 0; i < 10_000; i++) {
+                final JulianDay jd = JulianDay.of(random.nextInt(5_000_000), random.nextDouble());
+                final DayValue value = epoch.valueOf(jd);
+
+                assertTrue(value.time() >= 0 && value.time() < 1, "Failed at " + i);
+                assertEquals(jd.day(), epoch.toJulianDay(value).day(), "Failed at " + i);
+                assertEquals(jd.time(), epoch.toJulianDay(value).time(), 1e-15, "Failed at " + i);
+                assertEquals(jd.value().toDouble() - epoch.julianDay().value().toDouble(), value.toDouble(), 1e-8, "Failed at " + i);
+            }
+        }
+    }
+
+    @Test
+    void test_unnormalizedValues() {
+        final Epoch mjd = Epoch.MODIFIED_JULIAN_DAY;
+
+        assertEquals(JulianDay.of(2400000, 0.25), mjd.toJulianDay(new DayValue(0, -0.25)));
+        assertEquals(JulianDay.of(2400002, 0.25), mjd.toJulianDay(new DayValue(0, 1.75)));
+        assertEquals(JulianDay.of(2400000, 0.0), mjd.toJulianDay(-0.5));
+        assertEquals(JulianDay.ofModifiedJulianDay(-1.75), mjd.toJulianDay(-1.75));
+
+        // sums that round up to the whole day carry into the day
+        final double justBelowHalf = Math.nextDown(0.5);
+        assertEquals(2400001, mjd.julianDayOf(0, justBelowHalf));
+        assertEquals(0.0, mjd.julianTimeOf(0, justBelowHalf));
+        assertEquals(1, mjd.dayOf(2400001, justBelowHalf));
+        assertEquals(0.0, mjd.timeOf(justBelowHalf));
+        assertEquals(0, mjd.dayOf(2400001, 0.0));
+        assertEquals(0.5, mjd.timeOf(0.0));
+    }
+
+    @Test
+    void test_bulk() {
+        final Random random = new Random(2451545);
+        final int[] days = new int[1000];
+        final double[] times = new double[1000];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = random.nextInt(5_000_000);
+            times[i] = random.nextDouble();
+        }
+        final int[] outDays = new int[days.length];
+        final double[] outTimes = new double[days.length];
+
+        Epoch.GPS.valuesOf(days, times, outDays, outTimes);
+        for (int i = 0; i < days.length; i++) {
+            final DayValue value = Epoch.GPS.valueOf(JulianDay.of(days[i], times[i]));
+            assertEquals(value.day(), outDays[i], "Failed at " + i);
+            assertEquals(value.time(), outTimes[i], "Failed at " + i);
+        }
+
+        final int[] cnesDays = new int[days.length];
+        final double[] cnesTimes = new double[days.length];
+        Epoch.GPS.convert(Epoch.CNES, outDays, outTimes, cnesDays, cnesTimes);
+
+        Epoch.CNES.toJulianDays(cnesDays, cnesTimes, outDays, outTimes);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(days[i], outDays[i], "Failed at " + i);
+            assertEquals(times[i], outTimes[i], 1e-15, "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_registry() {
+        final Epoch unix = Epoch.register("Unix-Test", 2440587, 0.5);
+
+        assertSame(unix, Epoch.of("UNIX-TEST"));
+        assertSame(Epoch.OLE_AUTOMATION, Epoch.of("ole"));
+        assertTrue(Epoch.registered().contains(unix));
+        assertEquals(new DayValue(0, 0.0), JulianDay.ofUnixMilliseconds(0).valueAs(unix));
+
+        assertThrows(IllegalArgumentException.class, () -> Epoch.register("unix-test", 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Epoch.register("Other", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> Epoch.register("Other", 0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Epoch.of("Other"));
+    }
+}
@@ -0,0 +1,149 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jodd.julianday.Instrumentation.Histogram;
+import jodd.julianday.Instrumentation.Operation;
+import jodd.julianday.Instrumentation.OperationStats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentationTest {
+
+    @Test
+    void test_disabledByDefault() {
+        assertFalse(Instrumentation.isEnabled());
+        JulianDay.of(2460000.5).add(1).toGregorianDate();
+        assertTrue(Instrumentation.snapshot().stats().isEmpty());
+        assertEquals(0, Instrumentation.snapshot().get(Operation.ADD).calls());
+    }
+
+    @Test
+    void test_histogramBuckets() {
+        long previous = -1;
+        for (int i = 0; i < Histogram.BUCKETS; i++) {
+            final long lowerBound = Histogram.lowerBound(i);
+            assertTrue(lowerBound > previous, "Failed at " + i);
+            assertEquals(i, Histogram.bucketOf(lowerBound), "Failed at " + i);
+            previous = lowerBound;
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.bucketOf(Long.MAX_VALUE));
+
+        for (long value = 8; value < 1_000_000; value += 7) {
+            final long lowerBound = Histogram.lowerBound(Histogram.bucketOf(value));
+            assertTrue(lowerBound <= value && value - lowerBound <= value / 8, "Failed at " + value);
+        }
+    }
+
+    @Test
+    void test_percentiles() {
+        final long[] histogram = new long[Histogram.BUCKETS];
+        histogram[Histogram.bucketOf(100)] = 90;
+        histogram[Histogram.bucketOf(10_000)] = 10;
+        final OperationStats stats = new OperationStats(100, 100, 190_000, 0, 0, histogram);
+
+        assertEquals(1900.0, stats.meanNanos());
+        assertEquals(96, stats.percentileNanos(50));
+        assertEquals(96, stats.percentileNanos(90));
+        assertEquals(9216, stats.percentileNanos(99));
+        assertEquals(0, OperationStats.EMPTY.percentileNanos(99));
+    }
+
+    @Test
+    void test_sampleRate() {
+        assertEquals(1, Instrumentation.sampleRateOf(1));
+        assertEquals(100, Instrumentation.sampleRateOf(100));
+        assertEquals(16, Instrumentation.sampleRateOf(0));
+        assertEquals(16, Instrumentation.sampleRateOf(-5));
+        assertEquals(16, Instrumentation.sampleRateOf(null));
+    }
+
+    @Test
+    void test_enabled() throws Exception {
+        final String property = "jodd.julianday.instrumentation";
+        System.setProperty(property, "true");
+        try {
+            final URL[] urls = {
+                    JulianDay.class.getProtectionDomain().getCodeSource().getLocation(),
+                    InstrumentationTest.class.getProtectionDomain().getCodeSource().getLocation(),
+            };
+            // classes are loaded again, so the property is read again
+            try (URLClassLoader loader = new URLClassLoader(urls, null)) {
+                @SuppressWarnings("unchecked")
+                final Callable<Map<String, Long>> probe = (Callable<Map<String, Long>>)
+                        loader.loadClass(Probe.class.getName()).getDeclaredConstructor().newInstance();
+                final Map<String, Long> result = probe.call();
+
+                assertEquals(1000, (long) result.get("OF_DOUBLE"));
+                assertEquals(1000, (long) result.get("ADD"));
+                assertEquals(1000, (long) result.get("TO_GREGORIAN_DATE"));
+                assertEquals(0, (long) result.get("SUBTRACT"));
+                assertEquals(1, (long) result.get("precisionLosses"));
+                assertEquals(2, (long) result.get("listenedPrecisionLosses"));
+                assertTrue(result.get("sampled") > 0);
+
+                // every conversion is counted once
+                for (final String operation : new String[]{
+                        "OF_UNIX_MICROS", "OF_UNIX_NANOS", "OF_EPOCH_SECOND", "OF_INSTANT", "OF_CALENDAR_DATE",
+                        "TO_LOCAL_DATE_TIME", "TO_CALENDAR_DATE", "TO_UNIX_MICROS", "TO_UNIX_NANOS", "TO_EPOCH_SECOND", "TO_INSTANT"}) {
+                    assertEquals(1, (long) result.get(operation), operation);
+                }
+                assertEquals(2, (long) result.get("OF_EPOCH_DOUBLE"));
+                assertEquals(1, (long) result.get("epochDoublePrecisionLosses"));
+            }
+        } finally {
+            System.clearProperty(property);
+        }
+    }
+
+    public static class Probe implements Callable<Map<String, Long>> {
+        @Override
+        public Map<String, Long> call() {
+            final AtomicInteger precisionLosses = new AtomicInteger();
+            Instrumentation.setListener(new Instrumentation.Listener() {
+                @Override
+                public void onSlowCall(final Operation operation, final long nanos) {
+                }
+
+                @Override
+                public void onPrecisionLoss(final Operation operation, final double value) {
+                    precisionLosses.incrementAndGet();
+                }
+            });
+
+            for (int i = 0; i < 999; i++) {
+                JulianDay.of(2460000.5 + i).add(0.25).toGregorianDate();
+            }
+            JulianDay.of(5e7).add(1).toGregorianDate();
+
+            final JulianDay jd = JulianDay.ofModifiedJulianDay(60000.25);
+            JulianDay.ofTruncatedJulianDay(5e7);
+            JulianDay.ofUnixMicros(jd.toUnixMicros());
+            JulianDay.ofUnixNanos(jd.toUnixNanos());
+            JulianDay.ofEpochSecond(jd.toEpochSecond(), 0);
+            JulianDay.ofInstant(jd.toInstant());
+            JulianDay.ofCalendarDate(jd.toCalendarDate(CalendarSystem.GREGORIAN));
+            jd.toLocalDateTime();
+
+            final Instrumentation.Snapshot snapshot = Instrumentation.snapshot();
+            final Map<String, Long> result = new HashMap<>();
+            for (final Operation operation : Operation.values()) {
+                result.put(operation.name(), snapshot.get(operation).calls());
+            }
+            result.put("precisionLosses", snapshot.get(Operation.OF_DOUBLE).precisionLosses());
+            result.put("epochDoublePrecisionLosses", snapshot.get(Operation.OF_EPOCH_DOUBLE).precisionLosses());
+            result.put("listenedPrecisionLosses", (long) precisionLosses.get());
+            result.put("sampled", snapshot.get(Operation.OF_DOUBLE).sampled());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianChronologyTest {
+
+    private static final JulianChronology CHRONO = JulianChronology.INSTANCE;
+
+    @Test
+    void test_gregorianReform() {
+        final JulianChronoLocalDate lastJulian = CHRONO.date(1582, 10, 4);
+        assertEquals(LocalDate.of(1582, 10, 14), lastJulian.toLocalDate());
+        assertEquals(lastJulian.plusDays(1), CHRONO.date(LocalDate.of(1582, 10, 15)));
+        assertEquals(DayOfWeek.THURSDAY, DayOfWeek.from(lastJulian));
+        assertEquals("Julian AD 1582-10-04", lastJulian.toString());
+    }
+
+    @Test
+    void test_epochDays() {
+        for (long epochDay = -2_400_000; epochDay < 1_000_000; epochDay += 13) {
+            final LocalDate ld = LocalDate.ofEpochDay(epochDay);
+            final JulianChronoLocalDate date = CHRONO.date(ld);
+            final JulianDay jd = JulianDay.ofGregorianDate(ld);
+
+            assertEquals(epochDay, date.toEpochDay(), "Failed at " + epochDay);
+            assertEquals(ld, date.toLocalDate(), "Failed at " + epochDay);
+            assertEquals(jd, date.toJulianDay(), "Failed at " + epochDay);
+            assertEquals(date, JulianChronoLocalDate.of(jd), "Failed at " + epochDay);
+            assertEquals(date, JulianChronoLocalDate.of(jd.toJulianDate()), "Failed at " + epochDay);
+            assertEquals(ld.getDayOfWeek().getValue(), date.get(ChronoField.DAY_OF_WEEK), "Failed at " + epochDay);
+        }
+    }
+
+    @Test
+    void test_fieldsAndValidation() {
+        assertTrue(CHRONO.isLeapYear(1900));
+        assertTrue(CHRONO.isLeapYear(0));
+        assertFalse(CHRONO.isLeapYear(-1));
+        assertEquals(29, CHRONO.date(1900, 2, 1).lengthOfMonth());
+        assertEquals(366, CHRONO.date(1900, 2, 1).lengthOfYear());
+        assertThrows(DateTimeException.class, () -> CHRONO.date(1901, 2, 29));
+        assertThrows(DateTimeException.class, () -> CHRONO.date(2000, 13, 1));
+
+        final JulianChronoLocalDate bc = CHRONO.date(0, 3, 1);
+        assertEquals(JulianEra.BC, bc.getEra());
+        assertEquals(1, bc.get(ChronoField.YEAR_OF_ERA));
+        assertEquals(bc, CHRONO.date(JulianEra.BC, 1, 3, 1));
+        assertEquals(61, CHRONO.date(0, 3, 1).get(ChronoField.DAY_OF_YEAR));
+        assertEquals(CHRONO.date(0, 3, 1), CHRONO.dateYearDay(0, 61));
+    }
+
+    @Test
+    void test_arithmetic() {
+        final JulianChronoLocalDate date = CHRONO.date(2000, 1, 31);
+
+        assertEquals(CHRONO.date(2000, 2, 29), date.plus(1, ChronoUnit.MONTHS));
+        assertEquals(CHRONO.date(1999, 12, 31), date.minus(1, ChronoUnit.MONTHS));
+        assertEquals(CHRONO.date(2100, 2, 29), CHRONO.date(2000, 2, 29).plus(1, ChronoUnit.CENTURIES));
+        assertEquals(CHRONO.date(2001, 2, 28), CHRONO.date(2000, 2, 29).plus(1, ChronoUnit.YEARS));
+        assertEquals(CHRONO.date(2000, 3, 13), date.plus(6, ChronoUnit.WEEKS));
+
+        final JulianChronoLocalDate end = CHRONO.date(2000, 3, 1);
+        assertEquals(30, date.until(end, ChronoUnit.DAYS));
+        assertEquals(1, date.until(end, ChronoUnit.MONTHS));
+        assertEquals(CHRONO.period(0, 1, 1), date.until(end));
+        assertEquals(end, date.plus(date.until(end)));
+        assertTrue(date.isBefore(end));
+    }
+
+    @Test
+    void test_adjustersAndFormatting() {
+        final JulianChronoLocalDate date = CHRONO.date(1900, 2, 10);
+
+        assertEquals(CHRONO.date(1900, 2, 29), date.with(TemporalAdjusters.lastDayOfMonth()));
+        assertEquals(CHRONO.date(1900, 3, 1), date.with(TemporalAdjusters.firstDayOfNextMonth()));
+        assertEquals(DayOfWeek.MONDAY, DayOfWeek.from(date.with(TemporalAdjusters.next(DayOfWeek.MONDAY))));
+        assertEquals(CHRONO.date(1901, 2, 28), date.with(ChronoField.YEAR, 1901).with(ChronoField.DAY_OF_MONTH, 28));
+
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("uuuu-MM-dd").withChronology(CHRONO);
+        assertEquals("1900-02-10", formatter.format(date));
+        assertEquals(CHRONO.date(1900, 2, 29), formatter.parse("1900-02-29", CHRONO::date));
+
+        assertEquals(date, date.atTime(LocalTime.NOON).toLocalDate());
+        assertEquals(CHRONO.date(1900, 2, 10), CHRONO.localDateTime(date.atTime(LocalTime.MIDNIGHT)).toLocalDate());
+    }
+}
@@ -0,0 +1,136 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDayColumnTest {
+
+    /**
+     * One value every minute for 100 days, from J2000.0.
+     */
+    private static JulianDayColumn minutes(final int blockSize, final int groupSize) {
+        final int count = 100 * 1440;
+        final int[] days = new int[count];
+        final double[] times = new double[count];
+        for (int i = 0; i < count; i++) {
+            final JulianDay jd = JulianDay.of(2451545, 0.0).add(i / 1440.0);
+            days[i] = jd.day();
+            times[i] = jd.time();
+        }
+        return JulianDayColumn.of(days, times, blockSize, groupSize);
+    }
+
+    @Test
+    void test_scanSkipsBlocks() {
+        final JulianDayColumn column = minutes(1000, 0);
+        assertEquals(144_000, column.size());
+        assertEquals(144, column.blockCount());
+
+        final long[] count = new long[1];
+        final JulianDay from = JulianDay.of(2451555, 0.0);
+        final JulianDay to = JulianDay.of(2451556, 0.0);
+        final JulianDayColumn.ScanResult result = column.scan(from, to, (day, time) -> {
+            assertTrue(JulianDayInterval.of(from, to).contains(JulianDay.of(day, time)));
+            count[0]++;
+        });
+
+        assertEquals(1440, result.rows());
+        assertEquals(1440, count[0]);
+        assertEquals(2, result.blocksScanned());
+        assertEquals(142, result.blocksSkipped());
+    }
+
+    @Test
+    void test_sparseIndex() {
+        final JulianDayColumn column = minutes(100, 16);
+        final JulianDay from = JulianDay.of(2451600, 0.25);
+        final JulianDay to = JulianDay.of(2451600, 0.75);
+
+        final JulianDayColumn.ScanResult result = column.scan(from, to, (day, time) -> { });
+        assertEquals(720, result.rows());
+        assertEquals(8, result.blocksScanned());
+        assertEquals(column.blockCount() - 8, result.blocksSkipped());
+        assertEquals(result.rows(), minutes(100, 0).scan(from, to, (day, time) -> { }).rows());
+
+        // whole blocks within the range are counted without decoding
+        final JulianDayColumn.ScanResult counted = column.count(from, to);
+        assertEquals(720, counted.rows());
+        assertEquals(2, counted.blocksScanned());
+    }
+
+    @Test
+    void test_unsortedValues() {
+        final Random random = new Random(2451545);
+        final int[] days = new int[10_000];
+        final double[] times = new double[10_000];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = 2451545 + random.nextInt(1000);
+            times[i] = random.nextDouble();
+        }
+        final JulianDayColumn column = JulianDayColumn.of(days, times, 256, 4);
+
+        for (int i = 0; i < 100; i++) {
+            final int fromDay = 2451545 + random.nextInt(1000);
+            final double fromTime = random.nextDouble();
+            final int toDay = fromDay + random.nextInt(100);
+            final double toTime = random.nextDouble();
+
+            long expected = 0;
+            for (int j = 0; j < days.length; j++) {
+                if (JulianDayFunctions.compare(days[j], times[j], fromDay, fromTime) >= 0
+                        && JulianDayFunctions.compare(days[j], times[j], toDay, toTime) < 0) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, column.scan(fromDay, fromTime, toDay, toTime, (day, time) -> { }).rows(), "Failed at " + i);
+            assertEquals(expected, column.count(JulianDay.of(fromDay, fromTime), JulianDay.of(toDay, toTime)).rows(), "Failed at " + i);
+        }
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(days[i], column.day(i), "Failed at " + i);
+            assertEquals(times[i], column.time(i), "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_saveAndLoad() throws IOException {
+        final JulianDayColumn column = minutes(1000, 8);
+        final Path file = Files.createTempFile("column", ".jdc");
+        try {
+            column.save(file);
+            final JulianDayColumn loaded = JulianDayColumn.load(file);
+
+            assertEquals(column.size(), loaded.size());
+            assertEquals(column.toString(), loaded.toString());
+            final JulianDay from = JulianDay.of(2451570, 0.5);
+            final JulianDay to = JulianDay.of(2451580, 0.5);
+            assertEquals(column.count(from, to).toString(), loaded.count(from, to).toString());
+            assertEquals(column.day(143_999), loaded.day(143_999));
+            assertEquals(column.time(143_999), loaded.time(143_999));
+
+            Files.write(file, new byte[64]);
+            assertThrows(IOException.class, () -> JulianDayColumn.load(file));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void test_invalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> JulianDayColumn.of(new int[1], new double[2], 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> JulianDayColumn.of(new int[1], new double[1], 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> JulianDayColumn.of(new int[1], new double[]{1.0}, 10, 0));
+
+        final JulianDayColumn empty = JulianDayColumn.of(new int[0], new double[0], 10, 2);
+        assertEquals(0, empty.count(JulianDay.of(0, 0.0), JulianDay.of(1, 0.0)).rows());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.day(0));
+    }
+}
@@ -0,0 +1,70 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDayFootprintTest {
+
+    private static final int COUNT = 100_000;
+
+    @Test
+    void test_layout() {
+        final List<Class<?>> types = new ArrayList<>();
+        for (final Field field : JulianDay.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                types.add(field.getType());
+            }
+        }
+        // a single object of the day and the fraction: no reference to a separate DayValue,
+        // and none to memoized calendar fields either
+        assertTrue(types.contains(int.class));
+        assertTrue(types.contains(double.class));
+        assertFalse(types.contains(DayValue.class));
+        assertEquals(2, types.size());
+    }
+
+    @Test
+    void test_allocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        final long threadId = Thread.currentThread().getId();
+        final JulianDay[] results = new JulianDay[COUNT];
+        final JulianDay jd = JulianDay.of(2460000, 0.25);
+
+        // warm up
+        for (int i = 0; i < COUNT; i++) {
+            results[i] = jd.add(i);
+            jd.valueAsModifiedJulianDay();
+        }
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            results[i] = jd.add(i);
+        }
+        final long addBytes = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        final DayValue[] values = new DayValue[COUNT];
+        before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            values[i] = results[i].valueAsModifiedJulianDay();
+        }
+        final long valueBytes = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // 12 bytes of compressed header, int and double; before it was two objects of 40 bytes in total
+        assertTrue(addBytes / COUNT <= 24, "add() allocates " + addBytes / COUNT + " bytes");
+        // only the DayValue, without the intermediate Julian Day
+        assertTrue(valueBytes / COUNT <= 24, "valueAsModifiedJulianDay() allocates " + valueBytes / COUNT + " bytes");
+    }
+}
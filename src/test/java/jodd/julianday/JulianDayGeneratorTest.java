@@ -0,0 +1,115 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDayGeneratorTest {
+
+    @Test
+    void test_sameMillisecond() {
+        final JulianDayGenerator generator = JulianDayGenerator.create(() -> 1_700_000_000_000L);
+
+        long last = generator.nextPacked();
+        JulianDay lastJd = JulianDayGenerator.toJulianDay(last);
+        assertEquals(JulianDay.ofUnixMilliseconds(1_700_000_000_000L), lastJd);
+
+        for (int i = 0; i < 10_000; i++) {
+            final long packed = generator.nextPacked();
+            final JulianDay jd = JulianDayGenerator.toJulianDay(packed);
+            assertTrue(packed > last, "Failed at " + i);
+            assertTrue(jd.compareTo(lastJd) > 0, "Failed at " + i);
+            last = packed;
+            lastJd = jd;
+        }
+        // 4096 values per millisecond, then it borrows the next milliseconds
+        assertEquals(1_700_000_000_002L, JulianDayGenerator.toUnixMilliseconds(last));
+    }
+
+    @Test
+    void test_everySequenceRoundsToItsMillisecond() {
+        // a regular millisecond, the last one of a civil day, and one before the Unix epoch
+        final long[] millis = {1_700_000_000_000L, 1_700_006_399_999L, -1L};
+        for (final long unixMillis : millis) {
+            JulianDay lastJd = null;
+            for (int sequence = 0; sequence < 1 << JulianDayGenerator.SEQUENCE_BITS; sequence++) {
+                final long packed = unixMillis << JulianDayGenerator.SEQUENCE_BITS | sequence;
+                final JulianDay jd = JulianDayGenerator.toJulianDay(packed);
+                assertEquals(JulianDayGenerator.toUnixMilliseconds(packed), jd.toUnixMilliseconds(), "Failed at " + sequence);
+                assertEquals(JulianDay.ofUnixMilliseconds(unixMillis).toGregorianDate(), jd.toGregorianDate(), "Failed at " + sequence);
+                assertTrue(lastJd == null || jd.compareTo(lastJd) > 0, "Failed at " + sequence);
+                lastJd = jd;
+            }
+        }
+    }
+
+    @Test
+    void test_clockStepsBackwards() {
+        final AtomicLong clock = new AtomicLong(1_000_000L);
+        final JulianDayGenerator generator = JulianDayGenerator.create(clock::get);
+
+        final long first = generator.nextPacked();
+        clock.set(900_000L);
+        final long second = generator.nextPacked();
+        clock.set(1_000_001L);
+        final long third = generator.nextPacked();
+
+        assertTrue(second > first);
+        assertEquals(1_000_000L, JulianDayGenerator.toUnixMilliseconds(second));
+        assertEquals(1_000_001L, JulianDayGenerator.toUnixMilliseconds(third));
+        assertEquals(0, JulianDayGenerator.sequence(third));
+    }
+
+    @Test
+    void test_concurrentWriters() throws Exception {
+        assertUniqueAndIncreasing(JulianDayGenerator.create());
+        assertUniqueAndIncreasing(JulianDayGenerator.striped(4));
+    }
+
+    private static void assertUniqueAndIncreasing(final JulianDayGenerator generator) throws Exception {
+        final int threads = 8;
+        final int count = 20_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Set<Future<long[]>> futures = new HashSet<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    final long[] stamps = new long[count];
+                    for (int i = 0; i < count; i++) {
+                        stamps[i] = generator.nextPacked();
+                    }
+                    return stamps;
+                }));
+            }
+
+            final Set<Long> all = new HashSet<>();
+            for (final Future<long[]> future : futures) {
+                final long[] stamps = future.get();
+                for (int i = 0; i < stamps.length; i++) {
+                    assertTrue(all.add(stamps[i]), "Duplicate stamp");
+                    if (i > 0) {
+                        assertTrue(stamps[i] > stamps[i - 1], "Not increasing");
+                    }
+                }
+            }
+            assertEquals(threads * count, all.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_invalidStripes() {
+        assertThrows(IllegalArgumentException.class, () -> JulianDayGenerator.striped(3));
+        assertThrows(IllegalArgumentException.class, () -> JulianDayGenerator.striped(128));
+    }
+}
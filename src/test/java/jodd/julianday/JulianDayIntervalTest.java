@@ -0,0 +1,166 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDayIntervalTest {
+
+    private static JulianDayInterval interval(final int startDay, final double startTime, final int endDay, final double endTime) {
+        return JulianDayInterval.of(JulianDay.of(startDay, startTime), JulianDay.of(endDay, endTime));
+    }
+
+    @Test
+    void test_length() {
+        assertEquals(new DayValue(2, 0.75), interval(2460000, 0.5, 2460003, 0.25).length());
+        assertEquals(new DayValue(0, 0), interval(2460000, 0.5, 2460000, 0.5).length());
+        assertTrue(interval(2460000, 0.5, 2460000, 0.5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> interval(2460001, 0, 2460000, 0.9));
+    }
+
+    @Test
+    void test_relations() {
+        final JulianDayInterval a = interval(2460000, 0, 2460010, 0);
+        final JulianDayInterval b = interval(2460005, 0.5, 2460020, 0);
+        final JulianDayInterval c = interval(2460010, 0, 2460011, 0);
+        final JulianDayInterval d = interval(2460012, 0.25, 2460013, 0);
+
+        assertTrue(a.contains(JulianDay.of(2460000, 0)));
+        assertFalse(a.contains(JulianDay.of(2460010, 0)));
+        assertTrue(a.contains(interval(2460001, 0, 2460002, 0)));
+        assertFalse(a.contains(b));
+
+        assertTrue(a.overlaps(b));
+        assertFalse(a.overlaps(c));
+        assertEquals(Optional.of(interval(2460005, 0.5, 2460010, 0)), a.intersection(b));
+        assertEquals(Optional.empty(), a.intersection(c));
+
+        assertEquals(new DayValue(0, 0), a.gap(b));
+        assertEquals(new DayValue(0, 0), a.gap(c));
+        assertEquals(new DayValue(2, 0.25), a.gap(d));
+        assertEquals(new DayValue(2, 0.25), d.gap(a));
+    }
+
+    @Test
+    void test_index_againstBruteForce() {
+        final Random random = new Random(7);
+        final List<JulianDayInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            final JulianDay start = JulianDay.of(2460000 + random.nextInt(1000), random.nextInt(24) / 24.0);
+            final JulianDay end = start.add(random.nextInt(3) == 0 ? random.nextInt(100) : random.nextDouble());
+            intervals.add(JulianDayInterval.of(start, end));
+        }
+        final IntervalIndex index = IntervalIndex.of(intervals);
+        assertEquals(intervals.size(), index.size());
+
+        for (int q = 0; q < 500; q++) {
+            final JulianDay point = JulianDay.of(2459990 + random.nextInt(1200), random.nextInt(48) / 48.0);
+            final int[] stabbed = index.stab(point);
+            Arrays.sort(stabbed);
+            assertArrayEquals(IntStream.range(0, intervals.size()).filter(i -> intervals.get(i).contains(point)).toArray(), stabbed);
+
+            final JulianDayInterval range = JulianDayInterval.of(point, point.add(random.nextDouble() * 5));
+            final int[] overlapping = index.overlapping(range);
+            Arrays.sort(overlapping);
+            assertArrayEquals(bruteForce(intervals, range), overlapping);
+        }
+    }
+
+    private static int[] bruteForce(final List<JulianDayInterval> intervals, final JulianDayInterval range) {
+        return IntStream.range(0, intervals.size())
+                .filter(i -> intervals.get(i).overlaps(range))
+                .toArray();
+    }
+
+    @Test
+    void test_index_ofSorted() {
+        final int[] startDays = {0, 10, 10, 20};
+        final double[] startTimes = {0, 0, 0.5, 0};
+        final int[] endDays = {15, 11, 30, 25};
+        final double[] endTimes = {0, 0, 0, 0};
+        final IntervalIndex index = IntervalIndex.ofSorted(startDays, startTimes, endDays, endTimes);
+
+        // later changes of the arrays do not affect the index
+        endDays[0] = 0;
+        startDays[3] = 100;
+
+        final List<Integer> found = new ArrayList<>();
+        index.overlapping(JulianDay.of(12, 0), JulianDay.of(21, 0), found::add);
+        found.sort(null);
+        assertEquals(Arrays.asList(0, 2, 3), found);
+
+        assertThrows(IllegalArgumentException.class, () -> IntervalIndex.ofSorted(new int[] {5, 1}, new double[2], new int[] {6, 2}, new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> IntervalIndex.ofSorted(new int[] {1}, new double[] {1.0}, new int[] {2}, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> IntervalIndex.ofSorted(new int[] {1}, new double[1], new int[] {2}, new double[2]));
+    }
+
+    @Test
+    void test_index_subMillisecond() {
+        final double nano = 1 / 86_400_000_000_000.0;
+        final JulianDay t = JulianDay.of(2460000, 0.25);
+        final List<JulianDayInterval> intervals = Arrays.asList(
+                JulianDayInterval.of(t, t.add(nano)),                // shorter than a millisecond
+                JulianDayInterval.of(t.add(2 * nano), t.add(0.5)),   // starts in the same millisecond
+                JulianDayInterval.of(t.add(-0.5), t.add(-nano)),     // ends in the same millisecond as t - nano
+                JulianDayInterval.of(t, t));                         // empty
+        final IntervalIndex index = IntervalIndex.of(intervals);
+
+        assertArrayEquals(new int[] {0}, index.stab(t));
+        assertArrayEquals(new int[0], index.stab(t.add(nano)));
+        assertArrayEquals(new int[] {2}, index.stab(t.add(-2 * nano)));
+        assertArrayEquals(new int[0], index.stab(t.add(-nano)));
+
+        for (final JulianDayInterval range : Arrays.asList(
+                JulianDayInterval.of(t.add(nano), t.add(2 * nano)),
+                JulianDayInterval.of(t.add(-nano), t),
+                JulianDayInterval.of(t.add(-nano), t.add(nano)),
+                JulianDayInterval.of(t.add(-2 * nano), t.add(3 * nano)),
+                JulianDayInterval.of(t, t),
+                JulianDayInterval.of(t.add(nano / 2), t.add(nano / 2)),
+                JulianDayInterval.of(t.add(0.1), t.add(0.1)))) {
+            final int[] overlapping = index.overlapping(range);
+            Arrays.sort(overlapping);
+            assertArrayEquals(bruteForce(intervals, range), overlapping, range.toString());
+        }
+    }
+
+    @Test
+    void test_index_exactEndpoints() {
+        final Random random = new Random(11);
+        final List<JulianDayInterval> intervals = new ArrayList<>();
+        final List<JulianDay> points = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // endpoints in a few milliseconds, so many of them are equal or in the same millisecond
+            final JulianDay start = JulianDay.of(2460000, 0.5 + random.nextInt(5000) / 86_400_000_000.0);
+            final JulianDay end = start.add(random.nextInt(3) == 0 ? 0 : random.nextInt(5000) / 86_400_000_000.0);
+            intervals.add(JulianDayInterval.of(start, end));
+            points.add(start);
+            points.add(end);
+        }
+        final IntervalIndex index = IntervalIndex.of(intervals);
+
+        for (int q = 0; q < 1_000; q++) {
+            final JulianDay point = points.get(random.nextInt(points.size()));
+            final int[] stabbed = index.stab(point);
+            Arrays.sort(stabbed);
+            assertArrayEquals(IntStream.range(0, intervals.size()).filter(i -> intervals.get(i).contains(point)).toArray(), stabbed, "Failed at " + q);
+
+            final JulianDay other = points.get(random.nextInt(points.size()));
+            final JulianDayInterval range = point.compareTo(other) <= 0 ? JulianDayInterval.of(point, other) : JulianDayInterval.of(other, point);
+            final int[] overlapping = index.overlapping(range);
+            Arrays.sort(overlapping);
+            assertArrayEquals(bruteForce(intervals, range), overlapping, "Failed at " + q);
+        }
+    }
+}
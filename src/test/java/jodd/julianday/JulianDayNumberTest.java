@@ -2,12 +2,20 @@ package jodd.julianday;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.ChronoField;
+import java.time.temporal.IsoFields;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class JulianDayNumberTest {
 
+    /**
+     * Difference between JDN and the epoch day used by {@code java.time}.
+     */
+    private static final long JDN_1970_01_01 = 2440588;
+
     @Test
     void test_2023_5_23() {
         final JulianDay jd = JulianDay.ofGregorianDate(LocalDate.of(2023,5,23));
@@ -15,4 +23,78 @@ class JulianDayNumberTest {
         assertEquals(0.5, jd.time());
         assertEquals(2460088, jd.julianDayNumber());
     }
+
+    @Test
+    void test_fields_denseRange() {
+        for (int jdn = 2_000_000; jdn < 2_800_000; jdn++) {
+            assertFields(jdn);
+        }
+    }
+
+    @Test
+    void test_fields_fullRange() {
+        for (long jdn = Integer.MIN_VALUE; jdn <= Integer.MAX_VALUE; jdn += 8191) {
+            assertFields((int) jdn);
+        }
+        assertFields(Integer.MIN_VALUE);
+        assertFields(Integer.MAX_VALUE);
+        assertFields(0);
+        assertFields(-1);
+    }
+
+    private static void assertFields(final int jdn) {
+        final LocalDate ld = LocalDate.ofEpochDay(jdn - JDN_1970_01_01);
+
+        assertEquals(ld.getDayOfWeek().getValue(), JulianDayNumber.dayOfWeek(jdn), "Failed at " + jdn);
+        assertEquals(ld.getYear(), JulianDayNumber.gregorianYear(jdn), "Failed at " + jdn);
+        assertEquals(ld.getDayOfYear(), JulianDayNumber.dayOfYear(jdn), "Failed at " + jdn);
+        assertEquals(ld.get(IsoFields.WEEK_BASED_YEAR), JulianDayNumber.isoWeekBasedYear(jdn), "Failed at " + jdn);
+        assertEquals(ld.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), JulianDayNumber.isoWeekOfWeekBasedYear(jdn), "Failed at " + jdn);
+        assertEquals(ld.withDayOfYear(1).getLong(ChronoField.EPOCH_DAY) + JDN_1970_01_01, JulianDayNumber.yearStart(ld.getYear()), "Failed at " + jdn);
+    }
+
+    @Test
+    void test_bulk() {
+        final int[] days = {2451544, 2451544, 2460087, -10, 0};
+        final double[] times = {0.49, 0.5, 0.75, 0.1, 0.9};
+        final int[] jdns = new int[days.length];
+        final int[] out = new int[days.length];
+
+        JulianDayNumber.of(days, times, jdns);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(JulianDay.of(days[i], times[i]).julianDayNumber(), jdns[i]);
+        }
+
+        JulianDayNumber.dayOfWeek(jdns, out);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(JulianDayNumber.dayOfWeek(jdns[i]), out[i]);
+        }
+        JulianDayNumber.gregorianYear(jdns, out);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(JulianDayNumber.gregorianYear(jdns[i]), out[i]);
+        }
+        JulianDayNumber.dayOfYear(jdns, out);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(JulianDayNumber.dayOfYear(jdns[i]), out[i]);
+        }
+        JulianDayNumber.isoWeekBasedYear(jdns, out);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(JulianDayNumber.isoWeekBasedYear(jdns[i]), out[i]);
+        }
+        JulianDayNumber.isoWeekOfWeekBasedYear(jdns, out);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(JulianDayNumber.isoWeekOfWeekBasedYear(jdns[i]), out[i]);
+        }
+    }
+
+    @Test
+    void test_julianDayAccessors() {
+        // 2021-01-03 is a Sunday, in the week 53 of 2020
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDate.of(2021, 1, 3).atTime(18, 0));
+
+        assertEquals(DayOfWeek.SUNDAY, jd.dayOfWeek());
+        assertEquals(3, jd.dayOfYear());
+        assertEquals(2020, jd.isoWeekBasedYear());
+        assertEquals(53, jd.isoWeekOfWeekBasedYear());
+    }
 }
@@ -0,0 +1,112 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDayRangeTest {
+
+    @Test
+    void test_size() {
+        assertEquals(10, JulianDay.range(JulianDay.of(0, 0), JulianDay.of(10, 0), 1).size());
+        assertEquals(10, JulianDay.range(JulianDay.of(0, 0), JulianDay.of(1, 0), 0.1).size());
+        assertEquals(11, JulianDay.range(JulianDay.of(0, 0), JulianDay.of(1, 0.01), 0.1).size());
+        assertEquals(1, JulianDay.range(JulianDay.of(5, 0.5), JulianDay.of(5, 0.6), 7).size());
+        assertTrue(JulianDay.range(JulianDay.of(5, 0.5), JulianDay.of(5, 0.5), 1).isEmpty());
+        assertTrue(JulianDay.range(JulianDay.of(6, 0.5), JulianDay.of(5, 0.5), 1).isEmpty());
+    }
+
+    @Test
+    void test_exactStep_noDrift() {
+        final long startMillis = 946_684_800_000L;
+        final JulianDay start = JulianDay.ofUnixMilliseconds(startMillis);
+        final JulianDay end = JulianDay.ofUnixMilliseconds(startMillis + 10 * 365 * 86_400_000L);
+        final JulianDayRange range = JulianDay.range(start, end, new DayValue(0, 1 / 16.0));
+
+        assertEquals(10 * 365 * 16, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            final JulianDay expected = JulianDay.ofUnixMilliseconds(startMillis + i * 5_400_000L);
+            final JulianDay jd = range.get(i);
+            assertEquals(expected.day(), jd.day(), "Failed at " + i);
+            assertEquals(expected.time(), jd.time(), "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_hourly_noDrift() {
+        final long startMillis = 946_684_800_000L;
+        final JulianDay start = JulianDay.ofUnixMilliseconds(startMillis);
+        final JulianDay end = JulianDay.ofUnixMilliseconds(startMillis + 10 * 365 * 86_400_000L - 1_800_000L);
+        final JulianDayRange range = JulianDay.range(start, end, new DayValue(0, 1 / 24.0));
+
+        assertEquals(10 * 365 * 24, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            final JulianDay expected = JulianDay.ofUnixMilliseconds(startMillis + i * 3_600_000L);
+            final JulianDay jd = range.get(i);
+            final double difference = (jd.day() - expected.day()) + (jd.time() - expected.time());
+            assertTrue(Math.abs(difference) < 1e-12, "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_stepOverDays() {
+        final JulianDayRange range = JulianDay.range(JulianDay.of(2451545, 0.75), JulianDay.of(2452545, 0), new DayValue(2, 0.5));
+
+        assertEquals(400, range.size());
+        assertEquals(JulianDay.of(2451545, 0.75), range.get(0));
+        assertEquals(JulianDay.of(2451548, 0.25), range.get(1));
+        assertEquals(JulianDay.of(2452543, 0.25), range.get(399));
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(400));
+    }
+
+    @Test
+    void test_forEach_and_iterators() {
+        final JulianDayRange range = JulianDay.range(JulianDay.of(2460000, 0.1), JulianDay.of(2460100, 0.1), 0.37);
+
+        final List<JulianDay> list = new ArrayList<>();
+        range.forEach(list::add);
+        assertEquals(range.size(), list.size());
+
+        final List<JulianDay> primitive = new ArrayList<>();
+        range.forEachDayTime((day, time) -> primitive.add(JulianDay.of(day, time)));
+        assertEquals(list, primitive);
+
+        final JulianDayRange.DayTimeIterator iterator = range.dayTimeIterator();
+        int index = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            final JulianDay jd = list.get(index++);
+            assertEquals(jd.day(), iterator.day());
+            assertEquals(jd.time(), iterator.time());
+        }
+        assertEquals(list.size(), index);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void test_parallelStream() {
+        final JulianDayRange range = JulianDay.range(JulianDay.of(2400000, 0), JulianDay.of(2500000, 0), 0.25);
+
+        final List<JulianDay> sequential = range.stream().collect(Collectors.toList());
+        final List<JulianDay> parallel = range.parallelStream().collect(Collectors.toList());
+
+        assertEquals(400_000, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(range.size(), range.parallelStream().filter(jd -> jd.time() < 1).count());
+    }
+
+    @Test
+    void test_invalidStep() {
+        final JulianDay start = JulianDay.of(2460000, 0);
+        final JulianDay end = JulianDay.of(2460001, 0);
+        assertThrows(IllegalArgumentException.class, () -> JulianDay.range(start, end, 0));
+        assertThrows(IllegalArgumentException.class, () -> JulianDay.range(start, end, -0.5));
+    }
+}
@@ -0,0 +1,181 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JulianDayServerTest {
+
+    private static final class Reply {
+        final int status;
+        final String contentType;
+        final byte[] body;
+
+        Reply(final int status, final String contentType, final byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        String text() {
+            return new String(this.body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static JulianDayServer start() throws IOException {
+        return JulianDayServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    private static Reply post(final JulianDayServer server, final String pathAndQuery, final String contentType, final byte[] body) throws IOException {
+        final URL url = new URL("http", "127.0.0.1", server.address().getPort(), pathAndQuery);
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(8192);
+        connection.setRequestProperty("Content-Type", contentType);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        final int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return new Reply(status, connection.getContentType(), readAll(in));
+        }
+        finally {
+            connection.disconnect();
+        }
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void test_text() throws IOException {
+        try (JulianDayServer server = start()) {
+            final Reply reply = post(server, "/convert?from=unix&to=iso", JulianDayServer.TEXT,
+                    "1483759440000\n\n0\n-1".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(200, reply.status);
+            assertEquals(JulianDayServer.TEXT, reply.contentType);
+            assertEquals("2017-01-07T03:24:00.000\n\n1970-01-01T00:00:00.000\n1969-12-31T23:59:59.999\n", reply.text());
+        }
+    }
+
+    @Test
+    void test_largeTextIsStreamed() throws IOException {
+        final StringBuilder input = new StringBuilder();
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            final long millis = i * 1_000_003L;
+            input.append(millis).append('\n');
+            ColumnFormat.JD.format(JulianDay.ofUnixMilliseconds(millis), expected);
+            expected.append('\n');
+        }
+
+        try (JulianDayServer server = start()) {
+            final Reply reply = post(server, "/convert?from=unix&to=jd", JulianDayServer.TEXT, input.toString().getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(200, reply.status);
+            assertEquals(expected.toString(), reply.text());
+        }
+    }
+
+    @Test
+    void test_binary() throws IOException {
+        final Random random = new Random(2451545);
+        final int count = 100_000;
+        final ByteBuffer input = ByteBuffer.allocate(count * 8);
+        final long[] millis = new long[count];
+        for (int i = 0; i < count; i++) {
+            millis[i] = (long) ((random.nextDouble() - 0.5) * 1e13);
+            input.putLong(millis[i]);
+        }
+
+        try (JulianDayServer server = start()) {
+            final Reply jd = post(server, "/convert?from=unix&to=jd", JulianDayServer.BINARY, input.array());
+            assertEquals(200, jd.status);
+            assertEquals(JulianDayServer.BINARY, jd.contentType);
+            assertEquals(count * 12, jd.body.length);
+
+            final ByteBuffer days = ByteBuffer.wrap(jd.body);
+            for (int i = 0; i < count; i++) {
+                final JulianDay expected = JulianDay.ofUnixMilliseconds(millis[i]);
+                assertEquals(expected.day(), days.getInt(), "Failed at " + i);
+                assertEquals(expected.time(), days.getDouble(), "Failed at " + i);
+            }
+
+            final Reply julian = post(server, "/convert?from=jd&to=julian", JulianDayServer.BINARY, jd.body);
+            final Reply back = post(server, "/convert?from=julian&to=unix", JulianDayServer.BINARY, julian.body);
+            assertEquals(200, back.status);
+            assertArrayEquals(input.array(), back.body);
+        }
+    }
+
+    @Test
+    void test_errors() throws IOException {
+        try (JulianDayServer server = start()) {
+            final byte[] body = "0\n".getBytes(StandardCharsets.UTF_8);
+
+            assertEquals(400, post(server, "/convert?from=unix&to=foo", JulianDayServer.TEXT, body).status);
+            assertEquals(400, post(server, "/convert", JulianDayServer.TEXT, body).status);
+
+            final Reply invalid = post(server, "/convert?from=iso&to=jd", JulianDayServer.TEXT, "2017-02-28\n2017-02-30\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals(400, invalid.status);
+            assertEquals("Line 2: Invalid date time: 2017-02-30\n", invalid.text());
+
+            final Reply incomplete = post(server, "/convert?from=unix&to=jd", JulianDayServer.BINARY, new byte[12]);
+            assertEquals(400, incomplete.status);
+            assertEquals("Incomplete record of 4 bytes, expected 8\n", incomplete.text());
+
+            final double[] fractions = {Double.NaN, Double.POSITIVE_INFINITY, -0.25, 1.0};
+            for (int i = 0; i < fractions.length; i++) {
+                final ByteBuffer records = ByteBuffer.allocate(24);
+                records.putInt(2451545).putDouble(0.5).putInt(2451545).putDouble(fractions[i]);
+                final Reply fraction = post(server, "/convert?from=jd&to=unix", JulianDayServer.BINARY, records.array());
+                assertEquals(400, fraction.status, "Failed at " + i);
+                assertEquals("Record 2: Fraction must be in [0, 1): " + fractions[i] + "\n", fraction.text(), "Failed at " + i);
+            }
+            assertEquals(400, post(server, "/convert?from=mjd&to=unix", JulianDayServer.BINARY,
+                    ByteBuffer.allocate(12).putInt(0).putDouble(Double.NaN).array()).status);
+
+            final HttpURLConnection get = (HttpURLConnection) new URL("http", "127.0.0.1", server.address().getPort(), "/convert?from=unix&to=jd").openConnection();
+            assertEquals(405, get.getResponseCode());
+            assertEquals("POST", get.getHeaderField("Allow"));
+            get.disconnect();
+        }
+    }
+
+    @Test
+    void test_invalidValueAfterFirstChunkAbortsResponse() throws IOException {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            input.append(i).append('\n');
+        }
+        input.append("x\n");
+
+        try (JulianDayServer server = start()) {
+            assertThrows(IOException.class, () ->
+                    post(server, "/convert?from=unix&to=iso", JulianDayServer.TEXT, input.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDaySortTest {
+
+    private final Random random = new Random(2451545);
+
+    @Test
+    void test_sortDayAndTime_againstArraysSort() {
+        for (final int n : new int[] {0, 1, 2, 100, 10_000, 300_000}) {
+            final JulianDay[] jds = randomJulianDays(n);
+            final int[] days = new int[n];
+            final double[] times = new double[n];
+            split(jds, days, times);
+
+            Arrays.sort(jds);
+            JulianDaySort.sort(days, times);
+
+            for (int i = 0; i < n; i++) {
+                assertEquals(jds[i].day(), days[i], "Failed at " + i);
+                assertEquals(jds[i].time(), times[i], "Failed at " + i);
+            }
+        }
+    }
+
+    @Test
+    void test_sortOrder_isStable_andReordersPayload() {
+        final int n = 50_000;
+        final int[] days = new int[n];
+        final double[] times = new double[n];
+        final String[] payload = new String[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = 2460000 + this.random.nextInt(10);
+            times[i] = this.random.nextInt(4) / 4.0;
+            payload[i] = days[i] + "/" + times[i];
+        }
+
+        final int[] order = JulianDaySort.sortOrder(days, times);
+
+        for (int i = 1; i < n; i++) {
+            final int previous = order[i - 1];
+            final int current = order[i];
+            final int c = JulianDay.of(days[previous], times[previous]).compareTo(JulianDay.of(days[current], times[current]));
+            assertTrue(c < 0 || (c == 0 && previous < current), "Failed at " + i);
+            assertEquals(days[current] + "/" + times[current], payload[current]);
+        }
+    }
+
+    @Test
+    void test_sortLongs_againstArraysSort() {
+        for (final int n : new int[] {0, 1, 7, 1000, 200_000}) {
+            final long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = i % 3 == 0 ? this.random.nextLong() : this.random.nextInt(1000) - 500;
+            }
+            final long[] expected = keys.clone();
+            Arrays.sort(expected);
+
+            final long[] sorted = keys.clone();
+            JulianDaySort.sort(sorted);
+            assertArrayEquals(expected, sorted);
+
+            final int[] order = JulianDaySort.sortOrder(keys);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i], keys[order[i]]);
+            }
+
+            final long[] parallel = keys.clone();
+            JulianDaySort.parallelSort(parallel);
+            assertArrayEquals(expected, parallel);
+        }
+    }
+
+    @Test
+    void test_parallelSortDayAndTime() {
+        final int n = 500_000;
+        final JulianDay[] jds = randomJulianDays(n);
+        final int[] days = new int[n];
+        final double[] times = new double[n];
+        split(jds, days, times);
+
+        Arrays.sort(jds);
+        JulianDaySort.parallelSort(days, times);
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(jds[i].day(), days[i], "Failed at " + i);
+            assertEquals(jds[i].time(), times[i], "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_merge() {
+        final long[] merged = JulianDaySort.merge(new long[] {1, 4, 9}, new long[0], new long[] {-3, 4, 5, 100}, new long[] {2});
+        assertArrayEquals(new long[] {-3, 1, 2, 4, 4, 5, 9, 100}, merged);
+
+        final int[] days = new int[5];
+        final double[] times = new double[5];
+        JulianDaySort.merge(
+                new int[][] {{10, 11}, {10, 10, 12}},
+                new double[][] {{0.5, 0.1}, {0.25, 0.75, 0}},
+                days, times);
+        assertArrayEquals(new int[] {10, 10, 10, 11, 12}, days);
+        assertArrayEquals(new double[] {0.25, 0.5, 0.75, 0.1, 0}, times);
+    }
+
+    @Test
+    void test_compareTo() {
+        assertTrue(JulianDay.of(2460000, 0.5).compareTo(JulianDay.of(2460000, 0.6)) < 0);
+        assertTrue(JulianDay.of(2460001, 0.1).compareTo(JulianDay.of(2460000, 0.9)) > 0);
+        assertEquals(0, JulianDay.of(2460000, 0.5).compareTo(JulianDay.of(2459999, 1.5)));
+    }
+
+    @Test
+    void test_differentLengths() {
+        assertThrows(IllegalArgumentException.class, () -> JulianDaySort.sort(new int[2], new double[3]));
+    }
+
+    private JulianDay[] randomJulianDays(final int n) {
+        final JulianDay[] jds = new JulianDay[n];
+        for (int i = 0; i < n; i++) {
+            final int day = i % 5 == 0 ? this.random.nextInt() : 2_400_000 + this.random.nextInt(100_000);
+            final double time = i % 7 == 0 ? this.random.nextInt(24) / 24.0 : this.random.nextDouble();
+            jds[i] = JulianDay.of(day, time);
+        }
+        return jds;
+    }
+
+    private static void split(final JulianDay[] jds, final int[] days, final double[] times) {
+        for (int i = 0; i < jds.length; i++) {
+            days[i] = jds[i].day();
+            times[i] = jds[i].time();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDurationTest {
+
+    @Test
+    void test_between() {
+        final JulianDay start = JulianDay.ofUnixMicros(1_483_759_440_000_001L);
+        final JulianDay end = JulianDay.ofUnixMicros(1_483_845_840_000_000L);
+
+        assertEquals(86_399_999_999L, JulianDuration.between(start, end).toMicros());
+        assertEquals(-86_399_999_999L, JulianDuration.between(end, start).toMicros());
+        assertEquals(JulianDuration.between(start, end), start.until(end));
+        assertSame(JulianDuration.ZERO, JulianDuration.between(start, start));
+
+        // far away from the epochs, the precision is the same
+        final double microsecond = 1 / 86_400_000_000.0;
+        assertEquals(2L, JulianDuration.microsBetween(5_000_000, 1 - microsecond, 5_000_001, microsecond));
+    }
+
+    @Test
+    void test_plusCarriesExactly() {
+        final Random random = new Random(2451545);
+        for (int i = 0; i < 100_000; i++) {
+            final long unixMicros = (random.nextLong() % 10_000_000_000_000_000L);
+            final long micros = (random.nextLong() % 1_000_000_000_000_000L);
+            final JulianDay jd = JulianDay.ofUnixMicros(unixMicros);
+
+            final JulianDay sum = jd.plus(JulianDuration.ofMicros(micros));
+            assertEquals(unixMicros + micros, sum.toUnixMicros(), "Failed at " + i);
+            assertEquals(JulianDay.ofUnixMicros(unixMicros + micros).day(), sum.day(), "Failed at " + i);
+            assertEquals(JulianDay.ofUnixMicros(unixMicros + micros).time(), sum.time(), "Failed at " + i);
+            assertEquals(unixMicros - micros, jd.minus(JulianDuration.ofMicros(micros)).toUnixMicros(), "Failed at " + i);
+            assertEquals(micros, JulianDuration.between(jd, sum).toMicros(), "Failed at " + i);
+
+            assertEquals(sum.day(), JulianDuration.dayPlus(jd.day(), jd.time(), micros), "Failed at " + i);
+            assertEquals(sum.time(), JulianDuration.timePlus(jd.day(), jd.time(), micros), "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_repeatedAddingDoesNotDrift() {
+        final JulianDuration step = JulianDuration.ofMillis(100);
+        JulianDay jd = JulianDay.of(2451545, 0.0);
+        JulianDay drifting = jd;
+        for (int i = 0; i < 864_000; i++) {
+            jd = jd.plus(step);
+            drifting = drifting.add(0.1 / 86_400);
+        }
+        assertEquals(JulianDay.of(2451546, 0.0), jd);
+        assertEquals(0, jd.time());
+        assertTrue(drifting.time() != 0);
+    }
+
+    @Test
+    void test_bulkPlus() {
+        final int[] days = {2451545, 2451545, -10, 0};
+        final double[] times = {0.0, 0.75, 0.5, 0.999_999_999};
+        final int[] outDays = new int[4];
+        final double[] outTimes = new double[4];
+
+        JulianDuration.plus(days, times, JulianDuration.ofSeconds(6 * 3600).toMicros(), outDays, outTimes);
+
+        for (int i = 0; i < days.length; i++) {
+            final JulianDay expected = JulianDay.of(days[i], times[i]).plus(JulianDuration.ofSeconds(6 * 3600));
+            assertEquals(expected.day(), outDays[i], "Failed at " + i);
+            assertEquals(expected.time(), outTimes[i], "Failed at " + i);
+        }
+        assertEquals(2451546, outDays[1]);
+        assertEquals(0.0, outTimes[1]);
+    }
+
+    @Test
+    void test_arithmetic() {
+        final JulianDuration hour = JulianDuration.ofSeconds(3600);
+
+        assertEquals(JulianDuration.ofDays(1), hour.multipliedBy(24));
+        assertEquals(JulianDuration.ofMillis(150_000), hour.dividedBy(24));
+        assertEquals(JulianDuration.ofMicros(-1), JulianDuration.ofMicros(-7).dividedBy(4));
+        assertEquals(JulianDuration.ZERO, hour.minus(hour));
+        assertEquals(JulianDuration.ofSeconds(7200), hour.plus(hour));
+        assertEquals(hour, hour.negated().abs());
+        assertTrue(hour.negated().isNegative());
+        assertTrue(hour.compareTo(hour.plus(JulianDuration.ofMicros(1))) < 0);
+        assertEquals(new DayValue(0, 1 / 24.0), hour.toDayValue());
+        assertEquals(new DayValue(-1, 23 / 24.0), hour.negated().toDayValue());
+        assertEquals(JulianDuration.ofDays(new DayValue(0, 1 / 24.0)), hour);
+
+        assertThrows(ArithmeticException.class, () -> hour.dividedBy(0));
+        assertThrows(ArithmeticException.class, () -> JulianDuration.ofMicros(Long.MAX_VALUE).plus(JulianDuration.ofMicros(1)));
+        assertThrows(ArithmeticException.class, () -> JulianDuration.ofDays(Long.MAX_VALUE / 1000));
+    }
+
+    @Test
+    void test_javaDuration() {
+        assertEquals(Duration.ofMillis(1500), JulianDuration.ofMillis(1500).toDuration());
+        assertEquals(Duration.ofNanos(-1000), JulianDuration.ofMicros(-1).toDuration());
+        assertEquals(JulianDuration.ofMicros(-2), JulianDuration.of(Duration.ofNanos(-1001)));
+        assertEquals(JulianDuration.ofMicros(1), JulianDuration.of(Duration.ofNanos(1999)));
+        assertEquals(-1, JulianDuration.ofMicros(-1).toMillis());
+        assertEquals("PT1H0.000001S", JulianDuration.ofMicros(3_600_000_001L).toString());
+
+        final Random random = new Random(2451545);
+        for (int i = 0; i < 10_000; i++) {
+            final JulianDuration duration = JulianDuration.ofMicros(random.nextLong() / 16);
+            assertEquals(duration, JulianDuration.of(duration.toDuration()), "Failed at " + i);
+        }
+    }
+}
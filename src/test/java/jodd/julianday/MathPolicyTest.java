@@ -0,0 +1,102 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.util.Random;
+
+import static jodd.julianday.JulianDayFunctions.MILLIS_IN_DAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MathPolicyTest {
+
+    @Test
+    void test_roundAllMillisecondsOfDay() {
+        int failures = 0;
+        for (long i = 0; i < MILLIS_IN_DAY; i++) {
+            final double time = i / (double) MILLIS_IN_DAY;
+            // the millisecond, and the nearest fractions around it
+            for (final double t : new double[]{time, Math.nextUp(time), Math.nextDown(time), (i + 0.5) / MILLIS_IN_DAY}) {
+                final double millis = t * MILLIS_IN_DAY;
+                if (MathPolicy.STRICT.round(millis) != MathPolicy.FAST.round(millis)) {
+                    failures++;
+                }
+            }
+        }
+        assertEquals(0, failures);
+    }
+
+    @Test
+    void test_floorAndCeil() {
+        final double[] values = {
+                0.0, -0.0, 0.5, -0.5, 1.0, -1.0, Math.nextDown(1.0), Math.nextUp(-1.0),
+                0x1p52, 0x1p52 + 1, -0x1p52 - 1, 0x1p63, Double.MIN_VALUE, -Double.MIN_VALUE,
+                Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN
+        };
+        for (final double value : values) {
+            assertEquals(Double.doubleToRawLongBits(MathPolicy.STRICT.floor(value)), Double.doubleToRawLongBits(MathPolicy.FAST.floor(value)), "Failed at " + value);
+            assertEquals(Double.doubleToRawLongBits(MathPolicy.STRICT.ceil(value)), Double.doubleToRawLongBits(MathPolicy.FAST.ceil(value)), "Failed at " + value);
+            assertEquals(MathPolicy.STRICT.round(value), MathPolicy.FAST.round(value), "Failed at " + value);
+        }
+
+        final Random random = new Random(2451545);
+        for (int i = 0; i < 1_000_000; i++) {
+            final double value = (random.nextDouble() - 0.5) * Math.scalb(1.0, random.nextInt(64));
+            assertEquals(MathPolicy.STRICT.floor(value), MathPolicy.FAST.floor(value), "Failed at " + i);
+            assertEquals(MathPolicy.STRICT.ceil(value), MathPolicy.FAST.ceil(value), "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_sameCalendarResults() {
+        final ZoneId zone = ZoneId.of("Europe/Berlin");
+        final ZoneConverter strict = new ZoneConverter(zone, 1990, 2030, MathPolicy.STRICT);
+        final ZoneConverter fast = new ZoneConverter(zone, 1990, 2030, MathPolicy.FAST);
+        assertSame(MathPolicy.FAST, fast.math());
+
+        // every minute of two years with transitions, and a second later
+        final int start = 2458850;
+        for (int i = 0; i < 2 * 366 * 1440; i++) {
+            final int day = start + i / 1440;
+            final double time = (i % 1440) / 1440.0;
+            assertEquals(strict.toLocalFields(day, time), fast.toLocalFields(day, time), "Failed at " + i);
+            final double later = time + 1 / 86_400.0;
+            assertEquals(strict.toLocalFields(day, later), fast.toLocalFields(day, later), "Failed at " + i);
+        }
+
+        final Random random = new Random(2451545);
+        final int[] days = new int[100_000];
+        final double[] times = new double[days.length];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = 2_000_000 + random.nextInt(1_000_000);
+            times[i] = random.nextDouble();
+        }
+        final long[] strictFields = new long[days.length];
+        final long[] fastFields = new long[days.length];
+        strict.toLocalFields(days, times, strictFields);
+        fast.toLocalFields(days, times, fastFields);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(strictFields[i], fastFields[i], "Failed at " + i);
+            assertEquals(
+                    JulianDayFunctions.julianMillis(days[i], times[i], MathPolicy.STRICT),
+                    JulianDayFunctions.julianMillis(days[i], times[i], MathPolicy.FAST), "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_policyNames() {
+        assertSame(MathPolicy.STRICT, MathPolicy.of("strict"));
+        assertSame(MathPolicy.FAST, MathPolicy.of("FAST"));
+        assertSame(MathPolicy.ofProperty(System.getProperty(MathPolicy.PROPERTY)), MathPolicy.defaultPolicy());
+        assertSame(MathPolicy.defaultPolicy(), ZoneConverter.of(ZoneId.of("UTC")).math());
+        assertThrows(IllegalArgumentException.class, () -> MathPolicy.of("exact"));
+
+        // the system property never fails
+        assertSame(MathPolicy.FAST, MathPolicy.ofProperty(" Fast"));
+        assertSame(MathPolicy.STRICT, MathPolicy.ofProperty("strict"));
+        assertSame(MathPolicy.STRICT, MathPolicy.ofProperty("intrinsic"));
+        assertSame(MathPolicy.STRICT, MathPolicy.ofProperty(null));
+    }
+}
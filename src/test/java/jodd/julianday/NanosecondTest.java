@@ -0,0 +1,138 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NanosecondTest {
+
+    private static final long NANOS_IN_200_YEARS = 200L * 365 * 86_400_000_000_000L;
+
+    private final Random random = new Random(2451545);
+
+    @Test
+    void test_unixEpoch() {
+        final JulianDay jd = JulianDay.ofUnixNanos(0);
+        assertEquals(2440587, jd.day());
+        assertEquals(0.5, jd.time());
+        assertEquals(jd, JulianDay.ofUnixMicros(0));
+        assertEquals(jd, JulianDay.ofEpochSecond(0, 0));
+        assertEquals(jd, JulianDay.ofUnixMilliseconds(0));
+
+        final JulianDay beforeEpoch = JulianDay.ofUnixNanos(-1);
+        assertEquals(-1, beforeEpoch.toUnixNanos());
+        assertEquals(Instant.ofEpochSecond(0, -1), beforeEpoch.toInstant());
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999), beforeEpoch.toLocalDateTime());
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0), beforeEpoch.toGregorianDate());
+    }
+
+    @Test
+    void test_unixNanosRoundTrip() {
+        for (int i = 0; i < 1_000_000; i++) {
+            final long nanos = (long) ((this.random.nextDouble() * 2 - 1) * NANOS_IN_200_YEARS);
+            final JulianDay jd = JulianDay.ofUnixNanos(nanos);
+
+            assertEquals(nanos, jd.toUnixNanos(), "Failed at " + nanos);
+            assertTrue(Math.abs(jd.toUnixMicros() * 1_000 - nanos) <= 500, "Failed at " + nanos);
+            assertEquals(Instant.ofEpochSecond(0, nanos), jd.toInstant(), "Failed at " + nanos);
+        }
+    }
+
+    @Test
+    void test_unixMicrosRoundTrip() {
+        for (int i = 0; i < 1_000_000; i++) {
+            // about 10000 years around 1970
+            final long micros = (long) ((this.random.nextDouble() * 2 - 1) * 3.2e17);
+            final JulianDay jd = JulianDay.ofUnixMicros(micros);
+
+            assertEquals(micros, jd.toUnixMicros(), "Failed at " + micros);
+            assertEquals(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), jd.toInstant(), "Failed at " + micros);
+        }
+    }
+
+    @Test
+    void test_instantAndLocalDateTimeRoundTrip() {
+        for (int i = 0; i < 300_000; i++) {
+            // about 100000 years around 1970
+            final long epochSecond = (long) ((this.random.nextDouble() * 2 - 1) * 3.2e12);
+            final int nano = this.random.nextInt(1_000_000_000);
+            final Instant instant = Instant.ofEpochSecond(epochSecond, nano);
+            final LocalDateTime ldt = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+
+            final JulianDay jd = JulianDay.ofInstant(instant);
+            assertEquals(instant, jd.toInstant(), "Failed at " + instant);
+            assertEquals(epochSecond, jd.toEpochSecond(), "Failed at " + instant);
+            assertEquals(ldt, jd.toLocalDateTime(), "Failed at " + instant);
+            assertEquals(jd, JulianDay.ofGregorianDate(ldt), "Failed at " + instant);
+        }
+    }
+
+    @Test
+    void test_ofEpochSecondAdjustment() {
+        final long[] adjustments = {-2_000_000_000L, -1, 0, 999_999_999, 1_000_000_000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (final long adjustment : adjustments) {
+            final Instant instant = Instant.ofEpochSecond(86_399, adjustment);
+            assertEquals(instant, JulianDay.ofEpochSecond(86_399, (int) adjustment).toInstant(), "Failed at " + adjustment);
+        }
+    }
+
+    @Test
+    void test_overflow() {
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDateTime.of(2300, 1, 1, 0, 0));
+        assertThrows(ArithmeticException.class, jd::toUnixNanos);
+        assertEquals(10_413_792_000_000_000L, jd.toUnixMicros());
+    }
+
+    @Test
+    void test_bulk() {
+        final int size = 10_000;
+        final long[] nanos = new long[size];
+        final long[] micros = new long[size];
+        final long[] seconds = new long[size];
+        final int[] nanoAdjustments = new int[size];
+        for (int i = 0; i < size; i++) {
+            nanos[i] = (long) ((this.random.nextDouble() * 2 - 1) * NANOS_IN_200_YEARS);
+            micros[i] = nanos[i] / 1_000;
+            seconds[i] = Math.floorDiv(nanos[i], 1_000_000_000L);
+            nanoAdjustments[i] = (int) Math.floorMod(nanos[i], 1_000_000_000L);
+        }
+
+        final int[] days = new int[size];
+        final double[] times = new double[size];
+        final long[] outLongs = new long[size];
+        final int[] outInts = new int[size];
+
+        JulianDays.ofUnixNanos(nanos, days, times);
+        JulianDays.toUnixNanos(days, times, outLongs);
+        for (int i = 0; i < size; i++) {
+            assertEquals(JulianDay.ofUnixNanos(nanos[i]), new JulianDay(days[i], times[i]), "Failed at " + i);
+            assertEquals(nanos[i], outLongs[i], "Failed at " + i);
+        }
+
+        JulianDays.toEpochSecond(days, times, outLongs, outInts);
+        for (int i = 0; i < size; i++) {
+            assertEquals(seconds[i], outLongs[i], "Failed at " + i);
+            assertEquals(nanoAdjustments[i], outInts[i], "Failed at " + i);
+        }
+
+        JulianDays.ofEpochSecond(seconds, nanoAdjustments, days, times);
+        for (int i = 0; i < size; i++) {
+            assertEquals(JulianDay.ofUnixNanos(nanos[i]), new JulianDay(days[i], times[i]), "Failed at " + i);
+        }
+
+        JulianDays.ofUnixMicros(micros, days, times);
+        JulianDays.toUnixMicros(days, times, outLongs);
+        for (int i = 0; i < size; i++) {
+            assertEquals(JulianDay.ofUnixMicros(micros[i]), new JulianDay(days[i], times[i]), "Failed at " + i);
+            assertEquals(micros[i], outLongs[i], "Failed at " + i);
+        }
+    }
+}
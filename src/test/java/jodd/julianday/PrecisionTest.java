@@ -179,11 +179,11 @@ class PrecisionTest {
     @Test
     void test_halfMilliseconds() {
         for (double i = 0.0; i < 1; i += 0.1) {
-            final int[] a = JulianDayFunctions.jhms(JulianDay.of(2457754, i + 0.00000000578));
-            assertEquals(0, a[3]);
+            final long a = JulianDayFunctions.jhms(JulianDay.of(2457754, i + 0.00000000578));
+            assertEquals(0, PackedDateTime.millisecond(a));
 
-            final int[] b = JulianDayFunctions.jhms(JulianDay.of(2457754, i + 0.00000000579));
-            assertEquals(1, b[3]);
+            final long b = JulianDayFunctions.jhms(JulianDay.of(2457754, i + 0.00000000579));
+            assertEquals(1, PackedDateTime.millisecond(b));
         }
     }
 
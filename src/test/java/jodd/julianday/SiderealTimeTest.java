@@ -0,0 +1,90 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SiderealTimeTest {
+
+    @Test
+    void test_era() {
+        // reference value of the IAU SOFA library, for 2400000.5 + 54388.0
+        assertEquals(0.4022837240028158102, SiderealTime.era(2454388, 0.5), 1e-12);
+        assertEquals(0.4022837240028158102, SiderealTime.era(JulianDay.of(2454388, 0.5)), 1e-12);
+    }
+
+    @Test
+    void test_gmst() {
+        // reference value of the IAU SOFA library, for 2400000.5 + 53736.0
+        assertEquals(1.754174971870091203, SiderealTime.gmst(2453736, 0.5), 1e-12);
+        assertEquals(1.754174971870091203, SiderealTime.gmst(new DayValue(2453736, 0.5)), 1e-12);
+
+        // 1987-04-10 00:00 UT, 13h10m46.3668s by the IAU 1982 expression, that differs by a few milliseconds
+        assertEquals(13 + 10 / 60.0 + 46.3668 / 3600, SiderealTime.toHours(SiderealTime.gmst(2446895, 0.5)), 0.005 / 3600);
+        // 1987-04-10 19:21 UT, 8h34m57.0896s
+        final JulianDay jd = JulianDay.ofGregorianDate(LocalDateTime.of(1987, 4, 10, 19, 21));
+        assertEquals(8 + 34 / 60.0 + 57.0896 / 3600, SiderealTime.toHours(SiderealTime.gmst(jd)), 0.005 / 3600);
+    }
+
+    @Test
+    void test_gast() {
+        // reference value of the IAU SOFA library, with the full nutation model
+        assertEquals(1.754166137675019159, SiderealTime.gast(2453736, 0.5), 0.5 / 206265);
+
+        // 1987-04-10 00:00 UT, 13h10m46.1351s
+        assertEquals(13 + 10 / 60.0 + 46.1351 / 3600, SiderealTime.toHours(SiderealTime.gast(2446895, 0.5)), 0.03 / 3600);
+    }
+
+    @Test
+    void test_precisionDoesNotDependOnDate() {
+        final Random random = new Random(2451545);
+        final MathContext mc = MathContext.DECIMAL128;
+        final BigDecimal eraJ2000 = new BigDecimal("0.7790572732640");
+        final BigDecimal eraRate = new BigDecimal("1.00273781191135448");
+
+        for (int i = 0; i < 10_000; i++) {
+            final int day = random.nextInt(5_000_000);
+            final double time = random.nextDouble();
+
+            final BigDecimal revolutions = new BigDecimal(day - SiderealTime.J2000_DAY).add(new BigDecimal(time))
+                    .multiply(eraRate, mc).add(eraJ2000);
+            final double expected = revolutions.subtract(new BigDecimal(revolutions.toBigInteger())).doubleValue() * 2 * Math.PI;
+            final double delta = Math.abs(SiderealTime.era(day, time) - expected);
+
+            assertTrue(delta < 1e-11 || Math.abs(delta - 2 * Math.PI) < 1e-11, "Failed at " + i);
+        }
+    }
+
+    @Test
+    void test_bulkMatchesSingleValues() {
+        final Random random = new Random(2451545);
+        final int count = 10_000;
+        final int[] days = new int[count];
+        final double[] times = new double[count];
+        for (int i = 0; i < count; i++) {
+            // dense samples over a few days
+            days[i] = 2458000 + i / 3000;
+            times[i] = random.nextDouble();
+        }
+        final double[] era = new double[count];
+        final double[] gmst = new double[count];
+        final double[] gast = new double[count];
+
+        SiderealTime.era(days, times, era);
+        SiderealTime.gmst(days, times, gmst);
+        SiderealTime.gast(days, times, gast);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(SiderealTime.era(days[i], times[i]), era[i], "Failed at " + i);
+            assertEquals(SiderealTime.gmst(days[i], times[i]), gmst[i], "Failed at " + i);
+            assertEquals(SiderealTime.gast(days[i], times[i]), gast[i], "Failed at " + i);
+            assertTrue(gast[i] >= 0 && gast[i] < 2 * Math.PI, "Failed at " + i);
+        }
+    }
+}
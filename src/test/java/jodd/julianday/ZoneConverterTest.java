@@ -0,0 +1,123 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ZoneConverterTest {
+
+    private static final String[] ZONES = {
+            "UTC", "Europe/Belgrade", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata", "Europe/Amsterdam", "Pacific/Apia"
+    };
+
+    @Test
+    void test_hourly_againstZonedDateTime() {
+        final long from = LocalDateTime.of(1900, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        final long to = LocalDateTime.of(2100, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        for (final String zoneName : ZONES) {
+            final ZoneId zone = ZoneId.of(zoneName);
+            final ZoneConverter converter = ZoneConverter.of(zone);
+
+            for (long millis = from; millis < to; millis += 7 * 3_599_999L) {
+                final JulianDay jd = JulianDay.ofUnixMilliseconds(millis);
+                final LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+
+                assertEquals(expected, converter.toLocalDateTime(jd), zoneName + " failed at " + millis);
+                assertEquals(zone.getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds(), converter.offsetSeconds(jd));
+            }
+        }
+    }
+
+    @Test
+    void test_atTransitions() {
+        final ZoneId zone = ZoneId.of("Europe/Belgrade");
+        final ZoneConverter converter = ZoneConverter.of(zone);
+
+        // 2023-03-26 01:00 UTC, clocks jump from 02:00 to 03:00
+        final long millis = 1_679_792_400_000L;
+        assertEquals(LocalDateTime.of(2023, 3, 26, 1, 59, 59, 999_000_000), converter.toLocalDateTime(JulianDay.ofUnixMilliseconds(millis - 1)));
+        assertEquals(LocalDateTime.of(2023, 3, 26, 3, 0, 0, 0), converter.toLocalDateTime(JulianDay.ofUnixMilliseconds(millis)));
+    }
+
+    @Test
+    void test_outOfRange() {
+        final ZoneId zone = ZoneId.of("America/New_York");
+        final ZoneConverter converter = new ZoneConverter(zone, 2000, 2010);
+
+        for (final long millis : new long[] {-9_000_000_000_000L, 946_684_800_000L, 1_300_000_000_000L, 9_000_000_000_000L}) {
+            final LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+            assertEquals(expected, converter.toLocalDateTime(JulianDay.ofUnixMilliseconds(millis)));
+        }
+    }
+
+    @Test
+    void test_bulk_sortedAndShuffled() {
+        final ZoneId zone = ZoneId.of("Europe/Belgrade");
+        final ZoneConverter converter = ZoneConverter.of(zone);
+        final Random random = new Random(42);
+
+        final int count = 100_000;
+        final long[] millis = new long[count];
+        long value = -2_000_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            value += random.nextInt(86_400_000);
+            millis[i] = value;
+        }
+        assertBulk(converter, zone, millis);
+
+        for (int i = count - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final long tmp = millis[i];
+            millis[i] = millis[j];
+            millis[j] = tmp;
+        }
+        assertBulk(converter, zone, millis);
+    }
+
+    private static void assertBulk(final ZoneConverter converter, final ZoneId zone, final long[] millis) {
+        final int[] days = new int[millis.length];
+        final double[] times = new double[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            final JulianDay jd = JulianDay.ofUnixMilliseconds(millis[i]);
+            days[i] = jd.day();
+            times[i] = jd.time();
+        }
+
+        final long[] out = new long[millis.length];
+        converter.toLocalFields(days, times, out);
+
+        for (int i = 0; i < millis.length; i++) {
+            final LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis[i]), zone);
+            assertEquals(PackedDateTime.of(expected), out[i], "Failed at " + millis[i]);
+        }
+    }
+
+    @Test
+    void test_sharedConverter() {
+        assertSame(ZoneConverter.of(ZoneId.of("Asia/Tokyo")), ZoneConverter.of(ZoneId.of("Asia/Tokyo")));
+        assertEquals(0, ZoneConverter.of(ZoneOffset.ofHours(2)).transitionsCount());
+    }
+
+    @Test
+    void test_packedDateTime() {
+        final long packed = PackedDateTime.of(-4712, 1, 1, 12, 30, 59, 999);
+
+        assertEquals(-4712, PackedDateTime.year(packed));
+        assertEquals(1, PackedDateTime.month(packed));
+        assertEquals(1, PackedDateTime.dayOfMonth(packed));
+        assertEquals(12, PackedDateTime.hour(packed));
+        assertEquals(30, PackedDateTime.minute(packed));
+        assertEquals(59, PackedDateTime.second(packed));
+        assertEquals(999, PackedDateTime.millisecond(packed));
+        assertEquals("-4712-01-01T12:30:59.999", PackedDateTime.toString(packed));
+        assertEquals(packed, PackedDateTime.of(PackedDateTime.toJulianDateTime(packed)));
+    }
+}
@@ -0,0 +1,205 @@
+package jodd.julianday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JulianDayProcessorTest {
+
+    /**
+     * Subscriber that collects batches and requests them one by one, or only when asked to.
+     */
+    static class Collector implements Flow.Subscriber<JulianDayBatch> {
+        final List<JulianDayBatch> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final boolean autoRequest;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        Collector(final boolean autoRequest) {
+            this.autoRequest = autoRequest;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (this.autoRequest) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(final JulianDayBatch batch) {
+            this.batches.add(batch);
+            if (this.autoRequest) {
+                this.subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+            this.done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.done.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return this.done.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void waitFor(final Collector collector, final int batches) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (collector.batches.size() < batches && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void test_batchesMatchSingleConversions() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final Random random = new Random(2451545);
+        final JulianDayProcessor processor = JulianDayProcessor.of(1000, Duration.ofSeconds(10), executor);
+        final Collector collector = new Collector(true);
+        processor.subscribe(collector);
+
+        final long[] all = new long[100_000];
+        try (SubmissionPublisher<long[]> publisher = new SubmissionPublisher<>(executor, 4)) {
+            publisher.subscribe(processor);
+            int offset = 0;
+            while (offset < all.length) {
+                final long[] chunk = new long[Math.min(random.nextInt(3000), all.length - offset)];
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = (long) ((random.nextDouble() - 0.5) * 1e13);
+                    all[offset + i] = chunk[i];
+                }
+                offset += chunk.length;
+                publisher.submit(chunk);
+            }
+        }
+        assertTrue(collector.await());
+        executor.shutdown();
+
+        assertEquals(null, collector.error);
+        assertEquals(100, collector.batches.size());
+        int index = 0;
+        for (final JulianDayBatch batch : collector.batches) {
+            assertEquals(1000, batch.size());
+            for (int i = 0; i < batch.size(); i++, index++) {
+                final JulianDay jd = JulianDay.ofUnixMilliseconds(all[index]);
+                assertEquals(jd, batch.julianDay(i), "Failed at " + index);
+                assertEquals(jd.toGregorianFields(), batch.gregorianFields()[i], "Failed at " + index);
+                assertEquals(all[index], batch.julianDay(i).toUnixMilliseconds(), "Failed at " + index);
+            }
+        }
+    }
+
+    @Test
+    void test_backpressure() throws InterruptedException {
+        final AtomicInteger upstreamRequests = new AtomicInteger();
+        final JulianDayProcessor processor = JulianDayProcessor.of(10, Duration.ofSeconds(10), Runnable::run);
+        final Collector collector = new Collector(false);
+        processor.subscribe(collector);
+
+        // upstream that emits 7 timestamps on each request, forever
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                for (long i = 0; i < n; i++) {
+                    final int request = upstreamRequests.incrementAndGet();
+                    processor.onNext(new long[]{request, request, request, request, request, request, request});
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        // buffer is full and there is no demand
+        assertEquals(0, collector.batches.size());
+        assertEquals(2, upstreamRequests.get());
+
+        collector.subscription.request(3);
+        assertEquals(3, collector.batches.size());
+        assertTrue(upstreamRequests.get() <= 6);
+        assertEquals(PackedDateTime.of(1970, 1, 1, 0, 0, 0, 1), collector.batches.get(0).gregorianFields()[0]);
+        assertEquals(10, collector.batches.get(2).size());
+
+        collector.subscription.cancel();
+        collector.subscription.request(1);
+        assertEquals(3, collector.batches.size());
+    }
+
+    @Test
+    void test_lingerAndCompletion() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final JulianDayProcessor processor = JulianDayProcessor.of(1000, Duration.ofMillis(50), executor);
+        final Collector collector = new Collector(true);
+        processor.subscribe(collector);
+
+        final SubmissionPublisher<long[]> publisher = new SubmissionPublisher<>(executor, 4);
+        publisher.subscribe(processor);
+        publisher.submit(new long[]{0, 1, 2});
+
+        // partial batch is published after the linger time
+        waitFor(collector, 1);
+        assertEquals(1, collector.batches.size());
+        assertEquals(3, collector.batches.get(0).size());
+
+        // and the rest on completion
+        publisher.submit(new long[]{3, 4});
+        publisher.close();
+        assertTrue(collector.await());
+        executor.shutdown();
+
+        assertEquals(null, collector.error);
+        assertEquals(2, collector.batches.size());
+        assertEquals(2, collector.batches.get(1).size());
+        assertEquals(4, collector.batches.get(1).julianDay(1).toUnixMilliseconds());
+    }
+
+    @Test
+    void test_errors() throws InterruptedException {
+        final JulianDayProcessor processor = JulianDayProcessor.of(10, Duration.ZERO, Runnable::run);
+        final Collector collector = new Collector(true);
+        processor.subscribe(collector);
+
+        final Collector second = new Collector(true);
+        processor.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+
+        final SubmissionPublisher<long[]> publisher = new SubmissionPublisher<>(Runnable::run, 4);
+        publisher.subscribe(processor);
+        publisher.submit(new long[]{1, 2, 3});
+        publisher.closeExceptionally(new IllegalArgumentException("boom"));
+
+        assertTrue(collector.await());
+        assertEquals("boom", collector.error.getMessage());
+        // linger time is zero, so the partial batch went out before the error
+        assertEquals(1, collector.batches.size());
+
+        final JulianDayProcessor invalidRequest = JulianDayProcessor.of(10, Duration.ZERO, Runnable::run);
+        final Collector third = new Collector(false);
+        invalidRequest.subscribe(third);
+        third.subscription.request(0);
+        assertTrue(third.error instanceof IllegalArgumentException);
+    }
+}